@@ -199,6 +199,8 @@ export default function App() {
       ? "Chooses lowest f = g + h using Manhattan; optimal with fewer expansions."
       : algorithm === "bfs"
       ? "Expands states by depth; guaranteed shortest path but more expansions."
+      : algorithm === "auto"
+      ? "The server picks the engine measured fastest for boards like this one; still optimal."
       : "Explores one branch deeply; path may be longer. We cap depth for responsiveness.";
 
   return (
@@ -243,9 +245,7 @@ export default function App() {
 
             {coach && (
               <div className="absolute right-4 bottom-12 text-[11px] text-black/60 z-30">
-                {algorithm === "astar" && "A*: hints lower Manhattan (heuristic-guided)"}
-                {algorithm === "bfs"   && "BFS: even exploration (layer-by-layer)"}
-                {algorithm === "dfs"   && "DFS: follows a fixed deep order (capped)"}
+                Hints are always an optimal next move, whichever algorithm is selected
               </div>
             )}
 
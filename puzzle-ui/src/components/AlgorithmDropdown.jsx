@@ -4,6 +4,7 @@ const OPTIONS = [
   { key: "astar", title: "A*",  desc: "Heuristic-guided, optimal" },
   { key: "bfs",   title: "BFS",  desc: "Layer-by-layer, optimal" },
   { key: "dfs",   title: "DFS",  desc: "Deep dives; non-optimal (capped)" },
+  { key: "auto",  title: "Auto", desc: "Server picks the fastest engine per board" },
 ];
 
 export default function AlgorithmDropdown({ open, anchorRef, value, onChange, onClose }) {
@@ -1,7 +1,7 @@
 import { useEffect, useMemo, useRef, useState, useCallback } from 'react';
 import { DIR_TO_DELTA, GOAL } from '../utils/constants';
 import { deepEq, manhattan } from '../utils/heuristics';
-import { shuffleRemote, solveRemote } from '../services/puzzleService';
+import { shuffleRemote, hintRemote } from '../services/puzzleService';
 
 export function usePuzzle() {
   const [algorithm, setAlgorithm] = useState('astar');
@@ -142,8 +142,9 @@ export function usePuzzle() {
     if (hintBusyRef.current) return;
     setHintBusy(true);
     try {
-      const data = await solveRemote(board, algorithm);
-      const first = Array.isArray(data.moves) && data.moves[0];
+      // /hint answers from a precomputed distance index, so no search runs per keystroke.
+      const data = await hintRemote(board);
+      const first = data?.nextMoves?.[0] ?? data?.bestMoves?.[0];
       if (!first) return;
       const map = { U: 'up', D: 'down', L: 'left', R: 'right' };
       const dir = map[String(first).toUpperCase()];
@@ -154,7 +155,7 @@ export function usePuzzle() {
     } finally {
       setHintBusy(false);
     }
-  }, [board, algorithm]);
+  }, [board]);
 
   // ---- Derived labels
   const distance = useMemo(() => manhattan(board), [board]);
@@ -8,6 +8,9 @@ export const shuffleRemote = (steps = 80, opts) =>
 export const solveRemote = (startState, selectedAlgorithm, opts) =>
   post("/solve", { startState, selectedAlgorithm }, opts);
 
+export const hintRemote = (state, lookahead = 1, opts) =>
+  post("/hint", { state, lookahead }, opts);
+
 // --- helpers ---
 const toNum = (v) => {
   const n = typeof v === "number" ? v : Number(v);
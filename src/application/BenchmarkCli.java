@@ -0,0 +1,134 @@
+package application;
+
+import benchmark.BenchmarkCorpus;
+import benchmark.BenchmarkInstance;
+import benchmark.BenchmarkResult;
+import benchmark.BenchmarkRunner;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import heuristic.DistanceIndex;
+import heuristic.HeuristicFactory;
+import heuristic.ManhattanHeuristic;
+import heuristic.WalkingDistanceHeuristic;
+import solver.AStarSolver;
+import solver.BFSSolver;
+import solver.BidirectionalBFSSolver;
+import solver.DFSSolver;
+import solver.DistanceIndexSolver;
+import solver.EngineFactory;
+import solver.GoalPerimeters;
+import solver.IDAStarSolver;
+import solver.ParallelBFSSolver;
+import solver.ReductionSolver;
+import solver.SMAStarSolver;
+import solver.SolverFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Regression benchmark: solves the checked-in corpus with every solver and gates on the stored baseline.
+ *
+ * Usage:
+ *   java -cp ... application.BenchmarkCli [--corpus=benchmark/corpus.ndjson] [--baseline=benchmark/baseline.json]
+ *        [--repeats=3] [--max-expansion-regression=0.10] [--max-time-regression=1.0] [--update-baseline=true]
+ *   java -cp ... application.BenchmarkCli --generate=2:30:6,3:10:8,... [--seed=42] [--corpus=...]
+ *
+ * Exits with status 1 if any solution is invalid or non-optimal, or if expansions or time regressed
+ * beyond the thresholds (see {@link BenchmarkRunner#regressions}). Timing baselines are machine-specific:
+ * refresh them with --update-baseline=true on the machine that runs the gate.
+ */
+public final class BenchmarkCli {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BenchmarkCli() { /* no instances */ }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        Path corpusPath = Paths.get(options.getOrDefault("corpus", "benchmark/corpus.ndjson"));
+        Path baselinePath = Paths.get(options.getOrDefault("baseline", "benchmark/baseline.json"));
+
+        ManhattanHeuristic manhattanHeuristic = new ManhattanHeuristic();
+        HeuristicFactory heuristicFactory = new HeuristicFactory(manhattanHeuristic, new WalkingDistanceHeuristic());
+        AStarSolver aStarSolver = new AStarSolver(manhattanHeuristic);
+        ReductionSolver reductionSolver = new ReductionSolver(aStarSolver);
+        SolverFactory solverFactory = new SolverFactory(
+                aStarSolver, new BFSSolver(), new DFSSolver(), reductionSolver);
+        ParallelBFSSolver parallelBFSSolver = new ParallelBFSSolver();
+        EngineFactory engineFactory = new EngineFactory(solverFactory, heuristicFactory,
+                new DistanceIndexSolver(new DistanceIndex(parallelBFSSolver.distancesByRank(DistanceIndex.WIDTH))),
+                new IDAStarSolver(manhattanHeuristic), new BidirectionalBFSSolver(), parallelBFSSolver,
+                new GoalPerimeters(GoalPerimeters.DEFAULT_DEPTH));
+
+        if (options.containsKey("generate")) {
+            List<BenchmarkInstance> corpus = BenchmarkCorpus.generate(options.get("generate"),
+                    Long.parseLong(options.getOrDefault("seed", "42")), engineFactory);
+            BenchmarkCorpus.write(corpusPath, corpus);
+            System.err.println("Wrote " + corpus.size() + " instances to " + corpusPath + ".");
+            return;
+        }
+
+        List<BenchmarkInstance> corpus = BenchmarkCorpus.read(corpusPath);
+        BenchmarkRunner runner = new BenchmarkRunner(engineFactory, new DFSSolver(), reductionSolver,
+                new SMAStarSolver(manhattanHeuristic));
+        List<BenchmarkResult> results = runner.run(corpus, Integer.parseInt(options.getOrDefault("repeats", "3")));
+        printSummary(results);
+
+        if (Boolean.parseBoolean(options.getOrDefault("update-baseline", "false"))) {
+            JSON.writeValue(baselinePath.toFile(), results);
+            System.err.println("Wrote baseline with " + results.size() + " results to " + baselinePath + ".");
+        }
+
+        List<String> failures = new ArrayList<>(BenchmarkRunner.correctnessFailures(results));
+        if (Files.exists(baselinePath)) {
+            List<BenchmarkResult> baseline = JSON.readValue(baselinePath.toFile(), new TypeReference<List<BenchmarkResult>>() {});
+            failures.addAll(BenchmarkRunner.regressions(baseline, results,
+                    Double.parseDouble(options.getOrDefault("max-expansion-regression", "0.10")),
+                    Double.parseDouble(options.getOrDefault("max-time-regression", "1.0"))));
+        } else {
+            System.err.println("No baseline at " + baselinePath + "; only correctness was checked.");
+        }
+
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.err.println("FAIL " + failure));
+            System.exit(1);
+        }
+        System.err.println("Benchmark passed: " + results.size() + " results over " + corpus.size() + " instances.");
+    }
+
+    /** Per engine: instances, total expansions and total time. */
+    private static void printSummary(List<BenchmarkResult> results) {
+        Map<String, long[]> totals = new LinkedHashMap<>();
+        for (BenchmarkResult result : results) {
+            long[] total = totals.computeIfAbsent(result.getEngine(), key -> new long[3]);
+            total[0]++;
+            total[1] += result.getExpandedNodeCount();
+            total[2] += result.getTimeMicros();
+        }
+        System.err.printf("%-26s %9s %14s %11s%n", "engine", "instances", "expanded", "time (ms)");
+        totals.forEach((engine, total) -> System.err.printf("%-26s %9d %14d %11.1f%n",
+                engine, total[0], total[1], total[2] / 1000.0));
+    }
+
+    /** Parse "--key=value" arguments. */
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,109 @@
+package application;
+
+import dto.DatasetExportRequest;
+import dto.DatasetExportRequest.DifficultyBucket;
+import heuristic.HeuristicFactory;
+import heuristic.ManhattanHeuristic;
+import heuristic.WalkingDistanceHeuristic;
+import model.Algorithm;
+import model.HeuristicType;
+import service.DatasetExportService;
+import service.SolverService;
+import service.ShuffleService;
+import solver.AStarSolver;
+import solver.BFSSolver;
+import solver.DFSSolver;
+import solver.IDAStarSolver;
+import solver.ReductionSolver;
+import solver.SolverFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line entry point for dataset exports (same generator as POST /api/puzzle/export).
+ *
+ * Usage:
+ *   java -cp ... application.DatasetExportCli --seed=42 --count=1000000 [--size=3]
+ *        [--difficulty=20:1,80:3] [--algorithm=astar] [--heuristic=walking-distance]
+ *        [--format=ndjson|binary] [--out=dataset.ndjson]
+ *
+ * Without --out the dataset is written to stdout; progress/summary goes to stderr.
+ * Services are wired by hand so the CLI starts instantly without a Spring context.
+ */
+public final class DatasetExportCli {
+
+    private DatasetExportCli() { /* no instances */ }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+
+        DatasetExportRequest request = new DatasetExportRequest();
+        request.setSeed(Long.parseLong(options.getOrDefault("seed", "0")));
+        request.setCount(Integer.parseInt(options.getOrDefault("count", "1000")));
+        request.setSize(Integer.parseInt(options.getOrDefault("size", "3")));
+        request.setFormat(options.get("format"));
+        if (options.containsKey("algorithm")) {
+            request.setSelectedAlgorithm(Algorithm.fromString(options.get("algorithm")));
+        }
+        if (options.containsKey("heuristic")) {
+            request.setHeuristic(HeuristicType.fromString(options.get("heuristic")));
+        }
+        if (options.containsKey("difficulty")) {
+            request.setDifficulty(parseDifficulty(options.get("difficulty")));
+        }
+
+        ManhattanHeuristic manhattanHeuristic = new ManhattanHeuristic();
+        HeuristicFactory heuristicFactory = new HeuristicFactory(manhattanHeuristic, new WalkingDistanceHeuristic());
+        AStarSolver aStarSolver = new AStarSolver(manhattanHeuristic);
+        SolverFactory solverFactory = new SolverFactory(
+                aStarSolver, new BFSSolver(), new DFSSolver(), new ReductionSolver(aStarSolver));
+        DatasetExportService exportService =
+                new DatasetExportService(new ShuffleService(), solverFactory, heuristicFactory,
+                        new IDAStarSolver(manhattanHeuristic), SolverService.DEFAULT_MAX_SEARCH_NODES);
+
+        long t0 = System.nanoTime();
+        long written;
+        String outPath = options.get("out");
+        try (OutputStream out = new BufferedOutputStream(
+                outPath == null ? System.out : Files.newOutputStream(Paths.get(outPath)), 1 << 16)) {
+            written = exportService.write(exportService.prepare(request), out);
+        } finally {
+            exportService.shutdown();
+        }
+        long elapsedMs = (System.nanoTime() - t0) / 1_000_000L;
+        System.err.println("Exported " + written + " records in " + elapsedMs + " ms.");
+    }
+
+    /** Parse "--key=value" arguments. */
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    /** Parse "steps:weight,steps:weight" (weight defaults to 1). */
+    private static List<DifficultyBucket> parseDifficulty(String spec) {
+        List<DifficultyBucket> buckets = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] fields = part.trim().split(":");
+            int steps = Integer.parseInt(fields[0]);
+            int weight = fields.length > 1 ? Integer.parseInt(fields[1]) : 1;
+            buckets.add(new DifficultyBucket(steps, weight));
+        }
+        return buckets;
+    }
+}
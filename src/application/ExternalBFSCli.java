@@ -0,0 +1,71 @@
+package application;
+
+import solver.ExternalMemoryBFS;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Disk-backed breadth-first enumeration of a board's state space or of a pattern abstraction.
+ *
+ * Usage:
+ *   java -cp ... application.ExternalBFSCli --dir=bfs-4x4-p1-7 --width=4 [--pattern=1,2,3,4,5,6,7]
+ *        [--buffer-states=16777216] [--max-depth=1000] [--lookup=1,2,3,...,0]
+ *
+ * Layers end up in --dir as sorted files of packed boards (see {@link ExternalMemoryBFS}). Rerunning with
+ * the same --dir resumes after the last finished layer. With --lookup the depth of one board is printed
+ * instead (after enumeration, if layers are still missing).
+ */
+public final class ExternalBFSCli {
+
+    private ExternalBFSCli() { /* no instances */ }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        if (!options.containsKey("dir") || !options.containsKey("width")) {
+            throw new IllegalArgumentException("--dir and --width are required.");
+        }
+        ExternalMemoryBFS bfs = new ExternalMemoryBFS(Paths.get(options.get("dir")),
+                Integer.parseInt(options.get("width")),
+                options.containsKey("pattern") ? parseTiles(options.get("pattern")) : null,
+                Integer.parseInt(options.getOrDefault("buffer-states", Integer.toString(1 << 24))));
+
+        long t0 = System.nanoTime();
+        List<Long> layerSizes = bfs.run(Integer.parseInt(options.getOrDefault("max-depth", "1000")));
+        long elapsedMs = (System.nanoTime() - t0) / 1_000_000L;
+
+        if (options.containsKey("lookup")) {
+            int[] tiles = parseTiles(options.get("lookup"));
+            System.out.println(Arrays.toString(tiles) + " depth " + bfs.depthOf(tiles));
+            return;
+        }
+        long total = 0;
+        for (int depth = 0; depth < layerSizes.size(); depth++) {
+            if (layerSizes.get(depth) == 0) continue;
+            System.out.println(depth + "\t" + layerSizes.get(depth));
+            total += layerSizes.get(depth);
+        }
+        System.err.println("Enumerated " + total + " states in " + elapsedMs + " ms.");
+    }
+
+    /** Parse "--key=value" arguments. */
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static int[] parseTiles(String spec) {
+        return Arrays.stream(spec.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+}
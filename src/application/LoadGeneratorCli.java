@@ -0,0 +1,119 @@
+package application;
+
+import dto.DatasetExportRequest.DifficultyBucket;
+import loadgen.LoadGenerator;
+import loadgen.LoadPlan;
+import loadgen.LoadReport;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line load generator for a running puzzle service (see {@link LoadGenerator}).
+ *
+ * Usage:
+ *   java -cp ... application.LoadGeneratorCli [--url=http://localhost:8080] [--rps=25,50,100,200]
+ *        [--duration=30] [--warmup=5] [--mix=solve:8,shuffle:1,validate:1] [--algorithms=astar:3,auto:1]
+ *        [--difficulty=20:1,200:1] [--size=3] [--seed=0] [--timeout-ms=30000] [--max-in-flight=2000]
+ *        [--client-id=loadgen] [--out=report.json|report.csv]
+ *
+ * Each --rps value is one step of --duration seconds; the report's saturation curve is one point per step.
+ * Without --out the JSON report goes to stdout; per-step progress goes to stderr. The format follows the
+ * --out extension (.csv, anything else JSON).
+ */
+public final class LoadGeneratorCli {
+
+    private LoadGeneratorCli() { /* no instances */ }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+
+        LoadPlan plan = new LoadPlan();
+        plan.setBaseUrl(options.getOrDefault("url", plan.getBaseUrl()));
+        plan.setSize(Integer.parseInt(options.getOrDefault("size", "3")));
+        plan.setSeed(Long.parseLong(options.getOrDefault("seed", "0")));
+        plan.setStepSeconds(Integer.parseInt(options.getOrDefault("duration", String.valueOf(plan.getStepSeconds()))));
+        plan.setWarmupSeconds(Integer.parseInt(options.getOrDefault("warmup", String.valueOf(plan.getWarmupSeconds()))));
+        plan.setTimeoutMs(Integer.parseInt(options.getOrDefault("timeout-ms", String.valueOf(plan.getTimeoutMs()))));
+        plan.setMaxInFlight(Integer.parseInt(options.getOrDefault("max-in-flight", String.valueOf(plan.getMaxInFlight()))));
+        plan.setClientId(options.getOrDefault("client-id", plan.getClientId()));
+        if (options.containsKey("rps")) {
+            List<Integer> steps = new ArrayList<>();
+            for (String part : options.get("rps").split(",")) {
+                steps.add(Integer.parseInt(part.trim()));
+            }
+            plan.setRpsSteps(steps);
+        }
+        if (options.containsKey("mix")) {
+            plan.setEndpointMix(parseWeights(options.get("mix")));
+        }
+        if (options.containsKey("algorithms")) {
+            plan.setAlgorithmMix(parseWeights(options.get("algorithms")));
+        }
+        if (options.containsKey("difficulty")) {
+            plan.setDifficulty(parseDifficulty(options.get("difficulty")));
+        }
+
+        System.err.println("Load plan: " + plan);
+        LoadReport report = new LoadGenerator(plan).run(step -> {
+            LoadReport.Stats all = step.getEndpoints().get("all");
+            System.err.printf("target %d rps: achieved %.1f rps, p50 %.1f ms, p99 %.1f ms, p999 %.1f ms, errors %.2f%%%s%n",
+                    step.getTargetRps(), step.getAchievedRps(), all.getP50Ms(), all.getP99Ms(), all.getP999Ms(),
+                    all.getErrorRate() * 100, step.isSaturated() ? " (saturated)" : "");
+        });
+        System.err.println("Sustained throughput before saturation: " + report.getSaturationRps() + " rps.");
+
+        String outPath = options.get("out");
+        try (OutputStream out = new BufferedOutputStream(
+                outPath == null ? System.out : Files.newOutputStream(Paths.get(outPath)), 1 << 16)) {
+            if (outPath != null && outPath.endsWith(".csv")) {
+                report.writeCsv(out);
+            } else {
+                report.writeJson(out);
+            }
+        }
+    }
+
+    /** Parse "--key=value" arguments. */
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    /** Parse "name:weight,name:weight" (weight defaults to 1), keeping the given order. */
+    private static Map<String, Integer> parseWeights(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] fields = part.trim().split(":");
+            weights.put(fields[0].trim().toLowerCase(), fields.length > 1 ? Integer.parseInt(fields[1]) : 1);
+        }
+        return weights;
+    }
+
+    /** Parse "steps:weight,steps:weight" (weight defaults to 1). */
+    private static List<DifficultyBucket> parseDifficulty(String spec) {
+        List<DifficultyBucket> buckets = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] fields = part.trim().split(":");
+            int steps = Integer.parseInt(fields[0]);
+            int weight = fields.length > 1 ? Integer.parseInt(fields[1]) : 1;
+            buckets.add(new DifficultyBucket(steps, weight));
+        }
+        return buckets;
+    }
+}
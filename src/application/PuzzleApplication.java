@@ -2,6 +2,7 @@ package application;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Bootstraps the Spring application and scans subpackages:
@@ -14,8 +15,10 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
         "dto",          // request/response records
         "util",
         "model",
-        "heuristic"
+        "heuristic",
+        "store"         // SolveStore (persistent solve log)
 })
+@EnableScheduling
 
 public class PuzzleApplication {
     public static void main(String[] args) {
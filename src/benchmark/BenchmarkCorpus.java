@@ -0,0 +1,104 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import model.Engine;
+import model.PuzzleState;
+import service.ShuffleService;
+import solver.EngineFactory;
+import solver.SolveOptions;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The checked-in regression corpus (benchmark/corpus.ndjson): one {@link BenchmarkInstance} per line.
+ *
+ * Generation draws boards with the seeded shuffle and proves each optimal length with two independent
+ * optimal engines, refusing to write the corpus if they ever disagree:
+ *  - 2×2: BFS and bidirectional BFS.
+ *  - 3×3: the distance index (an exhaustive BFS table) and bidirectional BFS.
+ *  - 4×4: IDA* + walking distance and A* + Manhattan.
+ */
+public final class BenchmarkCorpus {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private BenchmarkCorpus() { /* no instances */ }
+
+    public static List<BenchmarkInstance> read(Path path) throws IOException {
+        List<BenchmarkInstance> corpus = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                corpus.add(JSON.readValue(line, BenchmarkInstance.class));
+            }
+        }
+        return corpus;
+    }
+
+    public static void write(Path path, List<BenchmarkInstance> corpus) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (BenchmarkInstance instance : corpus) {
+                writer.write(JSON.writeValueAsString(instance));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * @param spec buckets as "size:shuffleSteps:count,..." (e.g. "3:30:8,4:40:6")
+     * @param seed the same seed and spec always produce the same corpus
+     * @throws IllegalStateException if the two proving engines disagree on a board
+     */
+    public static List<BenchmarkInstance> generate(String spec, long seed, EngineFactory engineFactory) {
+        ShuffleService shuffleService = new ShuffleService();
+        SplittableRandom random = new SplittableRandom(seed);
+        List<BenchmarkInstance> corpus = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] fields = part.trim().split(":");
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("Expected size:shuffleSteps:count, got: " + part);
+            }
+            int size = Integer.parseInt(fields[0]);
+            int shuffleSteps = Integer.parseInt(fields[1]);
+            int count = Integer.parseInt(fields[2]);
+            for (int index = 0; index < count; index++) {
+                int[] tiles = shuffleService.shuffle(shuffleSteps, size, random).getShuffledState();
+                String id = String.format("%dx%d-s%d-%02d", size, size, shuffleSteps, index);
+                corpus.add(new BenchmarkInstance(id, size, shuffleSteps, tiles, proveOptimalLength(id, tiles, engineFactory)));
+            }
+        }
+        return corpus;
+    }
+
+    private static int proveOptimalLength(String id, int[] tiles, EngineFactory engineFactory) {
+        PuzzleState start = new PuzzleState(tiles);
+        int width = start.width();
+        Engine primary = engineFactory.supportsWidth(Engine.INDEX, width) ? Engine.INDEX
+                : engineFactory.supportsWidth(Engine.BFS, width) ? Engine.BFS
+                : Engine.IDASTAR_WALKING_DISTANCE;
+        Engine check = engineFactory.supportsWidth(Engine.BIDIRECTIONAL_BFS, width)
+                ? Engine.BIDIRECTIONAL_BFS : Engine.ASTAR_MANHATTAN;
+        int length = lengthBy(primary, start, engineFactory);
+        int checkLength = lengthBy(check, start, engineFactory);
+        if (length != checkLength) {
+            throw new IllegalStateException(id + ": " + primary.getWireName() + " found " + length + " moves but "
+                    + check.getWireName() + " found " + checkLength + ".");
+        }
+        return length;
+    }
+
+    private static int lengthBy(Engine engine, PuzzleState start, EngineFactory engineFactory) {
+        return engineFactory.getSolver(engine)
+                .solve(start, engineFactory.optionsFor(engine, SolveOptions.defaults()))
+                .getMoves().size();
+    }
+}
@@ -0,0 +1,83 @@
+package benchmark;
+
+import java.util.Arrays;
+
+/**
+ * One corpus board with its proven optimal solution length.
+ *
+ * Fields:
+ *  - id: stable name, e.g. "3x3-s30-04" (width, shuffle steps, index within the bucket).
+ *  - size / shuffleSteps: board width and the random-walk length it was generated with.
+ *  - startState: row-major tiles, 0 = blank.
+ *  - optimalLength: shortest solution, agreed on by two independent optimal engines at generation time.
+ */
+public class BenchmarkInstance {
+
+    private String id;
+    private int size;
+    private int shuffleSteps;
+    private int[] startState;
+    private int optimalLength;
+
+    /** No-args constructor for JSON serialization/deserialization. */
+    public BenchmarkInstance() {}
+
+    public BenchmarkInstance(String id, int size, int shuffleSteps, int[] startState, int optimalLength) {
+        this.id = id;
+        this.size = size;
+        this.shuffleSteps = shuffleSteps;
+        this.startState = startState;
+        this.optimalLength = optimalLength;
+    }
+
+    // Getters / Setters
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getShuffleSteps() {
+        return shuffleSteps;
+    }
+
+    public void setShuffleSteps(int shuffleSteps) {
+        this.shuffleSteps = shuffleSteps;
+    }
+
+    public int[] getStartState() {
+        return startState;
+    }
+
+    public void setStartState(int[] startState) {
+        this.startState = startState;
+    }
+
+    public int getOptimalLength() {
+        return optimalLength;
+    }
+
+    public void setOptimalLength(int optimalLength) {
+        this.optimalLength = optimalLength;
+    }
+
+    @Override
+    public String toString() {
+        return "BenchmarkInstance{" +
+                "id='" + id + '\'' +
+                ", startState=" + Arrays.toString(startState) +
+                ", optimalLength=" + optimalLength +
+                '}';
+    }
+}
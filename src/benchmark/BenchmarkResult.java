@@ -0,0 +1,130 @@
+package benchmark;
+
+/**
+ * Outcome of one engine on one corpus instance. The baseline file is a list of these.
+ *
+ * Fields:
+ *  - engine / instance: what ran on what (engine wire names, plus "dfs" and "sma*").
+ *  - length: moves returned; -1 if the engine threw.
+ *  - valid: the moves are legal and end in the goal.
+ *  - optimal: length equals the instance's optimal length (always true for engines that are not
+ *    expected to be optimal, i.e. DFS).
+ *  - gaveUp: returned no solution, which only DFS may do (its depth cap makes it incomplete).
+ *  - expandedNodeCount: deterministic work measure, compared exactly against the baseline.
+ *  - timeMicros: fastest of the timed repetitions.
+ *  - error: exception message when the engine threw, otherwise null.
+ */
+public class BenchmarkResult {
+
+    private String engine;
+    private String instance;
+    private int length;
+    private boolean valid;
+    private boolean optimal;
+    private boolean gaveUp;
+    private long expandedNodeCount;
+    private long timeMicros;
+    private String error;
+
+    /** No-args constructor for JSON serialization/deserialization. */
+    public BenchmarkResult() {}
+
+    public BenchmarkResult(String engine, String instance) {
+        this.engine = engine;
+        this.instance = instance;
+    }
+
+    /** @return "engine/instance", the key results are matched against the baseline by. */
+    public String key() {
+        return engine + "/" + instance;
+    }
+
+    // Getters / Setters
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public String getInstance() {
+        return instance;
+    }
+
+    public void setInstance(String instance) {
+        this.instance = instance;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public void setLength(int length) {
+        this.length = length;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public void setValid(boolean valid) {
+        this.valid = valid;
+    }
+
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    public void setOptimal(boolean optimal) {
+        this.optimal = optimal;
+    }
+
+    public boolean isGaveUp() {
+        return gaveUp;
+    }
+
+    public void setGaveUp(boolean gaveUp) {
+        this.gaveUp = gaveUp;
+    }
+
+    public long getExpandedNodeCount() {
+        return expandedNodeCount;
+    }
+
+    public void setExpandedNodeCount(long expandedNodeCount) {
+        this.expandedNodeCount = expandedNodeCount;
+    }
+
+    public long getTimeMicros() {
+        return timeMicros;
+    }
+
+    public void setTimeMicros(long timeMicros) {
+        this.timeMicros = timeMicros;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "BenchmarkResult{" +
+                "engine='" + engine + '\'' +
+                ", instance='" + instance + '\'' +
+                ", length=" + length +
+                ", valid=" + valid +
+                ", optimal=" + optimal +
+                ", gaveUp=" + gaveUp +
+                ", expandedNodeCount=" + expandedNodeCount +
+                ", timeMicros=" + timeMicros +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,216 @@
+package benchmark;
+
+import model.Engine;
+import model.Move;
+import model.PuzzleState;
+import solver.DFSSolver;
+import solver.EngineFactory;
+import solver.ReductionSolver;
+import solver.SMAStarSolver;
+import solver.SolveOptions;
+import solver.SolveResult;
+import solver.Solver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Solves the corpus with every solver and compares the outcome against a stored baseline.
+ *
+ * Contenders: every {@link Engine} on the widths {@link EngineFactory#supportsWidth} allows, plus DFS
+ * (up to 3×3), the reduction solver and SMA*. DFS is neither optimal nor complete (it has a depth cap),
+ * so it is only checked for legal moves, and it may give up on a board. The reduction solver is complete
+ * but not optimal, so it too is checked for legal moves, and its lengths are held to the baseline.
+ *
+ * Checks:
+ *  - Correctness (no baseline needed): moves are legal, end in the goal, and match the optimal length.
+ *  - Giving up: a board the baseline solved but this run gave up on fails.
+ *  - Expansions: deterministic, so each instance is compared on its own; more than
+ *    {@code maxExpansionRegression} above the baseline fails.
+ *  - Length: a solution longer than the baseline's fails (only non-optimal contenders can drift).
+ *  - Time: noisy per instance, so each engine's total over the corpus is compared; more than
+ *    {@code maxTimeRegression} above the baseline fails. Totals under {@value #TIME_NOISE_FLOOR_MICROS} µs
+ *    are too short to judge and are skipped.
+ */
+public class BenchmarkRunner {
+
+    static final long TIME_NOISE_FLOOR_MICROS = 50_000;
+
+    /** Widest board DFS is run on; beyond 3×3 its visited set grows without bound. */
+    private static final int DFS_MAX_WIDTH = 3;
+
+    private final List<Contender> contenders = new ArrayList<>();
+
+    public BenchmarkRunner(EngineFactory engineFactory, DFSSolver dfsSolver, ReductionSolver reductionSolver,
+                           SMAStarSolver smaStarSolver) {
+        for (Engine engine : Engine.values()) {
+            contenders.add(new Contender(engine.getWireName(), engineFactory.getSolver(engine),
+                    engineFactory.optionsFor(engine, SolveOptions.defaults()), true) {
+                @Override
+                boolean supportsWidth(int width) {
+                    return engineFactory.supportsWidth(engine, width);
+                }
+            });
+        }
+        contenders.add(new Contender("dfs", dfsSolver, SolveOptions.defaults(), false) {
+            @Override
+            boolean supportsWidth(int width) {
+                return width <= DFS_MAX_WIDTH;
+            }
+        });
+        contenders.add(new Contender("reduction", reductionSolver, SolveOptions.defaults(), false));
+        contenders.add(new Contender("sma*", smaStarSolver, SolveOptions.defaults(), true));
+    }
+
+    /** @return contender names, in run order. */
+    public List<String> getContenderNames() {
+        List<String> names = new ArrayList<>();
+        for (Contender contender : contenders) names.add(contender.name);
+        return names;
+    }
+
+    /**
+     * Solve every instance with every contender that supports its width.
+     *
+     * @param repeats timed runs per instance after one untimed warm-up run; the fastest is kept
+     */
+    public List<BenchmarkResult> run(List<BenchmarkInstance> corpus, int repeats) {
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (Contender contender : contenders) {
+            for (BenchmarkInstance instance : corpus) {
+                if (!contender.supportsWidth(instance.getSize())) continue;
+                results.add(runOne(contender, instance, Math.max(1, repeats)));
+            }
+        }
+        return results;
+    }
+
+    /** @return one message per result that is not a valid (and, where expected, optimal) solution. */
+    public static List<String> correctnessFailures(List<BenchmarkResult> results) {
+        List<String> failures = new ArrayList<>();
+        for (BenchmarkResult result : results) {
+            if (result.getError() != null) {
+                failures.add(result.key() + ": threw " + result.getError());
+            } else if (result.isGaveUp()) {
+                continue;
+            } else if (!result.isValid()) {
+                failures.add(result.key() + ": moves do not solve the board");
+            } else if (!result.isOptimal()) {
+                failures.add(result.key() + ": " + result.getLength() + " moves is not optimal");
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * @param maxExpansionRegression allowed relative growth in expansions per instance (0.10 = +10%)
+     * @param maxTimeRegression allowed relative growth in an engine's total time (1.0 = twice as slow)
+     * @return one message per regression; results missing from the baseline are not compared
+     */
+    public static List<String> regressions(List<BenchmarkResult> baseline, List<BenchmarkResult> results,
+                                           double maxExpansionRegression, double maxTimeRegression) {
+        Map<String, BenchmarkResult> baselineByKey = new HashMap<>();
+        for (BenchmarkResult result : baseline) baselineByKey.put(result.key(), result);
+
+        List<String> regressions = new ArrayList<>();
+        Map<String, long[]> timeByEngine = new LinkedHashMap<>();
+        for (BenchmarkResult result : results) {
+            BenchmarkResult before = baselineByKey.get(result.key());
+            if (before == null || before.getError() != null || result.getError() != null) continue;
+            if (result.isGaveUp() && !before.isGaveUp()) {
+                regressions.add(result.key() + ": gave up, baseline solved it");
+            }
+            if (!result.isGaveUp() && !before.isGaveUp() && result.getLength() > before.getLength()) {
+                regressions.add(String.format("%s: %d moves, baseline %d", result.key(),
+                        result.getLength(), before.getLength()));
+            }
+            if (result.getExpandedNodeCount() > before.getExpandedNodeCount() * (1 + maxExpansionRegression)) {
+                regressions.add(String.format("%s: expanded %d nodes, baseline %d", result.key(),
+                        result.getExpandedNodeCount(), before.getExpandedNodeCount()));
+            }
+            long[] times = timeByEngine.computeIfAbsent(result.getEngine(), key -> new long[2]);
+            times[0] += before.getTimeMicros();
+            times[1] += result.getTimeMicros();
+        }
+        for (Map.Entry<String, long[]> entry : timeByEngine.entrySet()) {
+            long before = entry.getValue()[0];
+            long now = entry.getValue()[1];
+            if (before >= TIME_NOISE_FLOOR_MICROS && now > before * (1 + maxTimeRegression)) {
+                regressions.add(String.format("%s: corpus took %.1f ms, baseline %.1f ms", entry.getKey(),
+                        now / 1000.0, before / 1000.0));
+            }
+        }
+        return regressions;
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    private static BenchmarkResult runOne(Contender contender, BenchmarkInstance instance, int repeats) {
+        BenchmarkResult result = new BenchmarkResult(contender.name, instance.getId());
+        PuzzleState start = new PuzzleState(instance.getStartState());
+        try {
+            SolveResult solveResult = null;
+            long fastest = Long.MAX_VALUE;
+            for (int run = 0; run <= repeats; run++) {
+                long t0 = System.nanoTime();
+                solveResult = contender.solver.solve(start, contender.options);
+                long elapsed = System.nanoTime() - t0;
+                if (run > 0) fastest = Math.min(fastest, elapsed);
+            }
+            List<Move> moves = solveResult.getMoves();
+            result.setLength(moves.size());
+            result.setGaveUp(!contender.optimal && moves.isEmpty() && !start.isGoal());
+            result.setValid(!result.isGaveUp() && solves(start, moves));
+            result.setOptimal(!contender.optimal || moves.size() == instance.getOptimalLength());
+            result.setExpandedNodeCount(solveResult.getExpandedNodeCount() == null ? 0 : solveResult.getExpandedNodeCount());
+            result.setTimeMicros(fastest / 1_000L);
+        } catch (RuntimeException e) {
+            result.setLength(-1);
+            result.setError(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        return result;
+    }
+
+    /** Replay {@code moves} from {@code start}; true if every move is legal and the last board is the goal. */
+    private static boolean solves(PuzzleState start, List<Move> moves) {
+        PuzzleState state = start;
+        for (Move move : moves) {
+            PuzzleState next = null;
+            for (PuzzleState.Neighbor neighbor : state.neighbors()) {
+                if (neighbor.move() == move) {
+                    next = neighbor.state();
+                    break;
+                }
+            }
+            if (next == null) return false;
+            state = next;
+        }
+        return state.isGoal();
+    }
+
+    /** A named solver with the options it runs under. */
+    private static class Contender {
+
+        final String name;
+        final Solver solver;
+        final SolveOptions options;
+        /** Expected to always find an optimal solution (everything but DFS and reduction). */
+        final boolean optimal;
+
+        Contender(String name, Solver solver, SolveOptions options, boolean optimal) {
+            this.name = name;
+            this.solver = solver;
+            this.options = options;
+            this.optimal = optimal;
+        }
+
+        boolean supportsWidth(int width) {
+            return true;
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import service.AdmissionService;
+import service.ClusterService;
+import service.DatasetExportService;
+import service.HintService;
+import service.ResponseBytesCache;
+import service.SolveJobService;
 import service.ShuffleService;
 import service.SolvabilityService;
-import service.SolverService;
 import dto.*;
 
+import java.io.IOException;
 
 
 /**
@@ -14,6 +23,10 @@ import dto.*;
  *  - /solve:   Compute a solution path using a selected algorithm (A*, BFS, or DFS).
  *  - /shuffle: Generate a guaranteed-solvable scrambled state.
  *  - /validate:Validate that a provided state is well-formed and solvable.
+ *  - /validate/batch: Validate many states in one call with per-item results.
+ *  - /hint:    Optimal next move(s) and remaining distance for interactive play.
+ *  - /jobs:    Asynchronous solves (submit, poll, cancel) for long-running boards.
+ *  - /export:  Stream a reproducible dataset of (start state, solution) records.
  *
  * Notes:
  *  - All APIs are JSON-based and kept minimal to match the front-end needs.
@@ -24,19 +37,34 @@ import dto.*;
 public class PuzzleController {
 
     // Services are named explicitly for readability.
-    private final SolverService puzzleSolverService;
     private final ShuffleService puzzleShuffleService;
     private final SolvabilityService puzzleSolvabilityService;
+    private final DatasetExportService datasetExportService;
+    private final HintService puzzleHintService;
+    private final SolveJobService solveJobService;
+    private final AdmissionService admissionService;
+    private final ClusterService clusterService;
+    private final ResponseBytesCache responseBytesCache;
 
     /**
      * Single-constructor injection (Spring will autowire these).
      */
-    public PuzzleController(SolverService puzzleSolverService,
-                            ShuffleService puzzleShuffleService,
-                            SolvabilityService puzzleSolvabilityService) {
-        this.puzzleSolverService = puzzleSolverService;
+    public PuzzleController(ShuffleService puzzleShuffleService,
+                            SolvabilityService puzzleSolvabilityService,
+                            DatasetExportService datasetExportService,
+                            HintService puzzleHintService,
+                            SolveJobService solveJobService,
+                            AdmissionService admissionService,
+                            ClusterService clusterService,
+                            ResponseBytesCache responseBytesCache) {
         this.puzzleShuffleService = puzzleShuffleService;
         this.puzzleSolvabilityService = puzzleSolvabilityService;
+        this.datasetExportService = datasetExportService;
+        this.puzzleHintService = puzzleHintService;
+        this.solveJobService = solveJobService;
+        this.admissionService = admissionService;
+        this.clusterService = clusterService;
+        this.responseBytesCache = responseBytesCache;
     }
 
     /**
@@ -45,7 +73,8 @@ public class PuzzleController {
      * Request body example:
      * {
      *   "start": [1,2,3,4,5,6,7,0,8],
-     *   "algorithm": "astar" // or "bfs" | "dfs"
+     *   "algorithm": "astar", // or "bfs" | "dfs"
+     *   "heuristic": "manhattan" // optional; "walking-distance" for 4×4 boards
      * }
      *
      * Response example:
@@ -57,17 +86,42 @@ public class PuzzleController {
      * }
      */
     @PostMapping("/solve")
-    public ResponseEntity<SolveResponse> solve(@RequestBody SolveRequest solveRequest) {
-        // Delegate to service that selects the correct solver and packages the response DTO.
-        SolveResponse solveResponse = puzzleSolverService.solve(solveRequest);
+    public ResponseEntity<SolveResponse> solve(@RequestBody SolveRequest solveRequest,
+                                               @RequestHeader(name = "X-Client-Id", required = false) String clientId,
+                                               @RequestHeader(name = ClusterService.FORWARDED_HEADER, required = false) String forwardedBy,
+                                               HttpServletRequest httpRequest,
+                                               HttpServletResponse httpResponse) throws IOException {
+        String caller = (clientId != null && !clientId.isBlank()) ? clientId : httpRequest.getRemoteAddr();
+
+        // Cluster mode: boards owned by another node are solved (and cached) there.
+        ClusterService.RemoteSolve remote = clusterService.route(solveRequest, caller, forwardedBy);
+        if (remote != null) {
+            return ResponseEntity.ok().header(ClusterService.NODE_HEADER, remote.getNode()).body(remote.getResponse());
+        }
+        if (clusterService.isEnabled()) {
+            httpResponse.setHeader(ClusterService.NODE_HEADER, clusterService.getSelf());
+        }
+
+        // Hot boards: the serialized body is copied out as is (null tells Spring the response is written).
+        if (responseBytesCache.writeIfCached(solveRequest, httpResponse)) {
+            return null;
+        }
+
+        // Admission estimates the cost first: cheap solves run inline, expensive ones are queued fairly
+        // per client, and overload is shed with 429 + Retry-After.
+        SolveResponse solveResponse = admissionService.solve(solveRequest, caller);
+        if (responseBytesCache.storeAndWrite(solveRequest, solveResponse, httpResponse)) {
+            return null;
+        }
         return ResponseEntity.ok(solveResponse);
     }
 
     /**
-     * GET /api/puzzle/shuffle?steps=100
+     * GET /api/puzzle/shuffle?steps=100&size=3
      *
-     * Query param:
+     * Query params:
      *  - steps: number of random valid moves applied from the goal state to generate a solvable scramble.
+     *  - size:  board width (3 = 8-puzzle, 4 = 15-puzzle); defaults to 3.
      *
      * Response example:
      * {
@@ -77,10 +131,11 @@ public class PuzzleController {
      */
     @GetMapping("/shuffle")
     public ResponseEntity<ShuffleResponse> shuffle(
-            @RequestParam(name = "steps", defaultValue = "100") int shuffleStepsCount) {
+            @RequestParam(name = "steps", defaultValue = "100") int shuffleStepsCount,
+            @RequestParam(name = "size", defaultValue = "3") int boardSize) {
 
         // Generate a guaranteed-solvable scrambled state by applying valid random moves.
-        ShuffleResponse shuffleResponse = puzzleShuffleService.shuffle(shuffleStepsCount);
+        ShuffleResponse shuffleResponse = puzzleShuffleService.shuffle(shuffleStepsCount, boardSize);
         return ResponseEntity.ok(shuffleResponse);
     }
 
@@ -105,4 +160,113 @@ public class PuzzleController {
         ValidateResponse validateResponse = puzzleSolvabilityService.validate(validateRequest);
         return ResponseEntity.ok(validateResponse);
     }
+
+    /**
+     * POST /api/puzzle/validate/batch
+     *
+     * Request body example:
+     * {
+     *   "puzzleStates": [[1,2,3,4,5,6,7,8,0], [2,1,3,4,5,6,7,8,0]]
+     * }
+     *
+     * Response example:
+     * {
+     *   "results": [ { "valid": true, "solvable": true, "status": "OK" },
+     *                { "valid": true, "solvable": false, "status": "UNSOLVABLE" } ],
+     *   "validCount": 2,
+     *   "solvableCount": 1
+     * }
+     */
+    @PostMapping("/validate/batch")
+    public ResponseEntity<BatchValidateResponse> validateBatch(@RequestBody BatchValidateRequest batchRequest) {
+        return ResponseEntity.ok(puzzleSolvabilityService.validateBatch(batchRequest));
+    }
+
+    /**
+     * POST /api/puzzle/hint
+     *
+     * Request body example:
+     * {
+     *   "state": [1,2,3,4,5,6,0,7,8],
+     *   "lookahead": 2          // optional; number of upcoming moves (default 1, max 64)
+     * }
+     *
+     * Response example:
+     * {
+     *   "bestMoves": ["R"],     // every optimal next move
+     *   "distance": 2,          // remaining optimal number of moves
+     *   "nextMoves": ["R","R"], // the next `lookahead` moves of one optimal path
+     *   "source": "index"       // "index" (3×3 lookup) or "search" (larger boards)
+     * }
+     */
+    @PostMapping("/hint")
+    public ResponseEntity<HintResponse> hint(@RequestBody HintRequest hintRequest) {
+        return ResponseEntity.ok(puzzleHintService.hint(hintRequest));
+    }
+
+    /**
+     * POST /api/puzzle/jobs
+     *
+     * Request body: same as /solve plus an optional "priority" (higher runs first, default 0).
+     * Responds 202 Accepted with the queued job (and a Location header); 429 when the queue is full.
+     * {
+     *   "jobId": "5f0c…",
+     *   "status": "QUEUED",
+     *   "priority": 0,
+     *   "submittedAt": 1718000000000
+     * }
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<SolveJobResponse> submitJob(@RequestBody SolveJobRequest jobRequest) {
+        SolveJobResponse job = solveJobService.submit(jobRequest);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header("Location", "/api/puzzle/jobs/" + job.getJobId())
+                .body(job);
+    }
+
+    /**
+     * GET /api/puzzle/jobs/{jobId}
+     *
+     * Returns the job's status; once DONE, "result" holds the same payload /solve returns.
+     * 404 for unknown or expired jobs.
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<SolveJobResponse> getJob(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok(solveJobService.get(jobId));
+    }
+
+    /**
+     * DELETE /api/puzzle/jobs/{jobId}
+     *
+     * Cancels a queued or running job and returns its snapshot (finished jobs are left unchanged).
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<SolveJobResponse> cancelJob(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok(solveJobService.cancel(jobId));
+    }
+
+    /**
+     * POST /api/puzzle/export
+     *
+     * Request body example:
+     * {
+     *   "seed": 42,
+     *   "count": 100000,
+     *   "size": 3,
+     *   "difficulty": [ { "shuffleSteps": 20, "weight": 1 }, { "shuffleSteps": 80, "weight": 3 } ],
+     *   "format": "ndjson" // or "binary"
+     * }
+     *
+     * The response is written incrementally (application/x-ndjson or application/octet-stream);
+     * the same seed and parameters always produce byte-identical output.
+     */
+    @PostMapping("/export")
+    public void export(@RequestBody DatasetExportRequest exportRequest,
+                       HttpServletResponse httpResponse) throws IOException {
+        // Validate up front so bad parameters still get a proper 400 before the stream starts.
+        DatasetExportService.ExportPlan plan = datasetExportService.prepare(exportRequest);
+
+        httpResponse.setContentType(plan.isBinary() ? "application/octet-stream" : "application/x-ndjson");
+        datasetExportService.write(plan, httpResponse.getOutputStream());
+    }
 }
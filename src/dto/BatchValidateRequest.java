@@ -0,0 +1,39 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Request payload for /api/puzzle/validate/batch.
+ *
+ * Carries many boards (each a flat row-major int[w×w], 0 = blank) to be checked in one pass.
+ */
+public class BatchValidateRequest {
+
+    /** Boards to validate; results are returned in the same order. */
+    private List<int[]> puzzleStates;
+
+    /** No-args constructor for JSON deserialization. */
+    public BatchValidateRequest() {}
+
+    /** Convenience constructor. */
+    public BatchValidateRequest(List<int[]> puzzleStates) {
+        this.puzzleStates = puzzleStates;
+    }
+
+    // Getters / Setters
+
+    public List<int[]> getPuzzleStates() {
+        return puzzleStates;
+    }
+
+    public void setPuzzleStates(List<int[]> puzzleStates) {
+        this.puzzleStates = puzzleStates;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchValidateRequest{" +
+                "puzzleStates=" + (puzzleStates == null ? null : ("count=" + puzzleStates.size())) +
+                '}';
+    }
+}
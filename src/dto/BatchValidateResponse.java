@@ -0,0 +1,111 @@
+package dto;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response payload for /api/puzzle/validate/batch.
+ *
+ * Fields:
+ *  - results: one entry per submitted board, in request order.
+ *  - validCount / solvableCount: summary counters for quick filtering.
+ */
+public class BatchValidateResponse {
+
+    /** Per-item results (same order as the request). */
+    private List<Result> results;
+
+    /** Number of structurally valid boards. */
+    private int validCount;
+
+    /** Number of valid and solvable boards. */
+    private int solvableCount;
+
+    /** No-args constructor for JSON serialization/deserialization. */
+    public BatchValidateResponse() {}
+
+    /** Convenience constructor. */
+    public BatchValidateResponse(List<Result> results, int validCount, int solvableCount) {
+        this.results = results;
+        this.validCount = validCount;
+        this.solvableCount = solvableCount;
+    }
+
+    // Getters / Setters
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Result> results) {
+        this.results = results;
+    }
+
+    public int getValidCount() {
+        return validCount;
+    }
+
+    public void setValidCount(int validCount) {
+        this.validCount = validCount;
+    }
+
+    public int getSolvableCount() {
+        return solvableCount;
+    }
+
+    public void setSolvableCount(int solvableCount) {
+        this.solvableCount = solvableCount;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchValidateResponse{" +
+                "results=" + (results == null ? null : ("count=" + results.size())) +
+                ", validCount=" + validCount +
+                ", solvableCount=" + solvableCount +
+                '}';
+    }
+
+    /**
+     * Immutable per-item result. One shared instance exists per {@link ValidationStatus}, so large
+     * batches do not allocate a result object per board.
+     */
+    public static final class Result {
+
+        private static final Map<ValidationStatus, Result> BY_STATUS = new EnumMap<>(ValidationStatus.class);
+        static {
+            for (ValidationStatus status : ValidationStatus.values()) {
+                BY_STATUS.put(status, new Result(status));
+            }
+        }
+
+        private final ValidationStatus status;
+
+        private Result(ValidationStatus status) {
+            this.status = status;
+        }
+
+        /** @return the shared result for {@code status}. */
+        public static Result of(ValidationStatus status) {
+            return BY_STATUS.get(status);
+        }
+
+        public boolean isValid() {
+            return status.isValid();
+        }
+
+        public boolean isSolvable() {
+            return status.isSolvable();
+        }
+
+        public ValidationStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public String toString() {
+            return status.name();
+        }
+    }
+}
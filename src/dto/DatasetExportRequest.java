@@ -0,0 +1,157 @@
+package dto;
+
+import model.Algorithm;
+import model.HeuristicType;
+
+import java.util.List;
+
+/**
+ * Request payload for /api/puzzle/export (and the matching CLI).
+ *
+ * Fields:
+ *  - seed: master seed; the same seed + parameters always reproduce the same dataset.
+ *  - count: number of (start state, solution) records to generate.
+ *  - size: board width (3 = 8-puzzle, 4 = 15-puzzle).
+ *  - difficulty: weighted shuffle-depth buckets; each record picks one bucket by weight.
+ *  - selectedAlgorithm: solver used for the solutions (defaults to A*, which is optimal).
+ *  - heuristic: optional A* heuristic (defaults to Manhattan on 3×3, walking distance on 4×4).
+ *  - format: "ndjson" (one JSON object per line) or "binary" (compact fixed-layout records).
+ */
+public class DatasetExportRequest {
+
+    /** Master seed for the whole dataset. */
+    private long seed;
+
+    /** Number of records to produce. */
+    private int count;
+
+    /** Board width; the board has size × size tiles. */
+    private int size = 3;
+
+    /** Weighted shuffle-depth distribution (null/empty = a single bucket of 100 moves). */
+    private List<DifficultyBucket> difficulty;
+
+    /** Algorithm used to solve each generated start state (null = A*). */
+    private Algorithm selectedAlgorithm;
+
+    /** A* heuristic override (null = size-based default). */
+    private HeuristicType heuristic;
+
+    /** Output encoding: "ndjson" (default) or "binary". */
+    private String format;
+
+    /** No-args constructor for JSON deserialization. */
+    public DatasetExportRequest() {}
+
+    // Getters / Setters
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public List<DifficultyBucket> getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(List<DifficultyBucket> difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public Algorithm getSelectedAlgorithm() {
+        return selectedAlgorithm;
+    }
+
+    public void setSelectedAlgorithm(Algorithm selectedAlgorithm) {
+        this.selectedAlgorithm = selectedAlgorithm;
+    }
+
+    public HeuristicType getHeuristic() {
+        return heuristic;
+    }
+
+    public void setHeuristic(HeuristicType heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    @Override
+    public String toString() {
+        return "DatasetExportRequest{" +
+                "seed=" + seed +
+                ", count=" + count +
+                ", size=" + size +
+                ", difficulty=" + difficulty +
+                ", selectedAlgorithm=" + selectedAlgorithm +
+                ", heuristic=" + heuristic +
+                ", format='" + format + '\'' +
+                '}';
+    }
+
+    /**
+     * One entry of the difficulty distribution: scramble with {@code shuffleSteps} random moves,
+     * chosen with probability weight / (sum of weights).
+     */
+    public static class DifficultyBucket {
+
+        /** Number of random legal moves applied from the goal. */
+        private int shuffleSteps;
+
+        /** Relative weight of this bucket (must be positive). */
+        private int weight = 1;
+
+        public DifficultyBucket() {}
+
+        public DifficultyBucket(int shuffleSteps, int weight) {
+            this.shuffleSteps = shuffleSteps;
+            this.weight = weight;
+        }
+
+        public int getShuffleSteps() {
+            return shuffleSteps;
+        }
+
+        public void setShuffleSteps(int shuffleSteps) {
+            this.shuffleSteps = shuffleSteps;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+
+        @Override
+        public String toString() {
+            return shuffleSteps + ":" + weight;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package dto;
+
+/**
+ * Request payload for /api/puzzle/hint.
+ * - state: current board, flat row-major int[w×w] (0 = blank).
+ * - lookahead: how many upcoming optimal moves to return (default 1).
+ * - goalState: optional custom goal layout (same rules as {@link SolveRequest#getGoalState()}).
+ */
+public class HintRequest {
+
+    /** The current board in row-major order; 0 represents the blank tile. */
+    private int[] state;
+
+    /** Number of upcoming moves wanted (values < 1 are treated as 1). */
+    private int lookahead = 1;
+
+    /** Optional custom goal layout; null = canonical goal. */
+    private int[] goalState;
+
+    /** No-args constructor for JSON deserialization. */
+    public HintRequest() {}
+
+    /** Convenience constructor. */
+    public HintRequest(int[] state, int lookahead) {
+        this.state = state;
+        this.lookahead = lookahead;
+    }
+
+    // Getters / Setters
+
+    public int[] getState() {
+        return state;
+    }
+
+    public void setState(int[] state) {
+        this.state = state;
+    }
+
+    public int getLookahead() {
+        return lookahead;
+    }
+
+    public void setLookahead(int lookahead) {
+        this.lookahead = lookahead;
+    }
+
+    public int[] getGoalState() {
+        return goalState;
+    }
+
+    public void setGoalState(int[] goalState) {
+        this.goalState = goalState;
+    }
+
+    @Override
+    public String toString() {
+        return "HintRequest{" +
+                "state=" + (state == null ? null : java.util.Arrays.toString(state)) +
+                ", lookahead=" + lookahead +
+                ", goalState=" + (goalState == null ? null : java.util.Arrays.toString(goalState)) +
+                '}';
+    }
+}
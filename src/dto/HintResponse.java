@@ -0,0 +1,82 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Response payload for /api/puzzle/hint.
+ *
+ * Fields:
+ *  - bestMoves: every move from the current board that stays on an optimal path (e.g., ["L","U"]).
+ *  - distance: remaining optimal number of moves (0 when solved).
+ *  - nextMoves: the next {@code lookahead} moves of one optimal path (the first is always in bestMoves).
+ *  - source: "index" when answered from the precomputed distance index, "search" when a solver ran.
+ */
+public class HintResponse {
+
+    /** All optimal next moves. */
+    private List<String> bestMoves;
+
+    /** Remaining optimal distance to the goal. */
+    private int distance;
+
+    /** Upcoming moves of one optimal path (length = min(lookahead, distance)). */
+    private List<String> nextMoves;
+
+    /** How the hint was produced ("index" or "search"). */
+    private String source;
+
+    /** No-args constructor for JSON serialization/deserialization. */
+    public HintResponse() {}
+
+    /** Convenience constructor. */
+    public HintResponse(List<String> bestMoves, int distance, List<String> nextMoves, String source) {
+        this.bestMoves = bestMoves;
+        this.distance = distance;
+        this.nextMoves = nextMoves;
+        this.source = source;
+    }
+
+    // Getters / Setters
+
+    public List<String> getBestMoves() {
+        return bestMoves;
+    }
+
+    public void setBestMoves(List<String> bestMoves) {
+        this.bestMoves = bestMoves;
+    }
+
+    public int getDistance() {
+        return distance;
+    }
+
+    public void setDistance(int distance) {
+        this.distance = distance;
+    }
+
+    public List<String> getNextMoves() {
+        return nextMoves;
+    }
+
+    public void setNextMoves(List<String> nextMoves) {
+        this.nextMoves = nextMoves;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    @Override
+    public String toString() {
+        return "HintResponse{" +
+                "bestMoves=" + bestMoves +
+                ", distance=" + distance +
+                ", nextMoves=" + nextMoves +
+                ", source='" + source + '\'' +
+                '}';
+    }
+}
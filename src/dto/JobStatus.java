@@ -0,0 +1,30 @@
+package dto;
+
+/**
+ * Lifecycle of an asynchronous solve job (/api/puzzle/jobs).
+ *
+ * QUEUED → RUNNING → DONE | FAILED; QUEUED or RUNNING → CANCELLED via DELETE.
+ */
+public enum JobStatus {
+    /** Waiting in the priority queue. */
+    QUEUED(false),
+    /** Picked up by a solver worker. */
+    RUNNING(false),
+    /** Finished; the result is available until the job expires. */
+    DONE(true),
+    /** The solve raised an error; see the job's error message. */
+    FAILED(true),
+    /** Cancelled by the client before finishing. */
+    CANCELLED(true);
+
+    private final boolean terminal;
+
+    JobStatus(boolean terminal) {
+        this.terminal = terminal;
+    }
+
+    /** @return true once the job can no longer change state. */
+    public boolean isTerminal() {
+        return terminal;
+    }
+}
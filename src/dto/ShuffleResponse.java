@@ -5,12 +5,12 @@ package dto;
  * Response payload for /api/puzzle/shuffle.
  *
  * Fields:
- *  - shuffledState: a guaranteed-solvable 3×3 board encoded as a flat int[9] (0 = blank).
+ *  - shuffledState: a guaranteed-solvable board encoded as a flat int[w×w] (0 = blank).
  *  - movesAppliedCount: how many random legal moves were applied from the goal state to produce this scramble.
  */
 public class ShuffleResponse {
 
-    /** The scrambled, solvable puzzle state (row-major int[9], values 0..8; 0 is the blank). */
+    /** The scrambled, solvable puzzle state (row-major int[w×w], values 0..w²-1; 0 is the blank). */
     private int[] shuffledState;
 
     /** Number of valid moves used to generate the scramble (useful for difficulty/replication). */
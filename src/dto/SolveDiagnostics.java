@@ -0,0 +1,151 @@
+package dto;
+
+import java.util.Map;
+
+/**
+ * Search profile of one solve, returned in SolveResponse.diagnostics when the request sets
+ * {@code "diagnostics": true}.
+ *
+ * Fields:
+ *  - generatedNodeCount / expandedNodeCount: boards created vs boards expanded.
+ *  - duplicateCount: boards dropped because they were already seen (graph searches; 0 for IDA* and SMA*).
+ *  - peakOpenSize / peakClosedSize: largest frontier and visited set (IDA*: the path stack as "open").
+ *  - layerKind + expandedByLayer: expansions per f-value ("f", A*-family) or per depth ("depth", BFS/DFS),
+ *    only layers with expansions are listed.
+ *  - effectiveBranchingFactor: b* with 1 + b* + … + b*^d = generated + 1 for solution length d.
+ *  - heuristic / startHeuristic / solutionLength / heuristicAccuracy: h(start) with the heuristic the search
+ *    used (Manhattan for uninformed searches) against the solution length; 1.0 means a perfect estimate.
+ */
+public class SolveDiagnostics {
+
+    private long generatedNodeCount;
+    private long expandedNodeCount;
+    private long duplicateCount;
+    private long peakOpenSize;
+    private long peakClosedSize;
+    private String layerKind;
+    private Map<Integer, Long> expandedByLayer;
+    private Double effectiveBranchingFactor;
+    private String heuristic;
+    private int startHeuristic;
+    private int solutionLength;
+    private Double heuristicAccuracy;
+
+    /** No-args constructor for JSON serialization/deserialization. */
+    public SolveDiagnostics() {}
+
+    // Getters / Setters
+
+    public long getGeneratedNodeCount() {
+        return generatedNodeCount;
+    }
+
+    public void setGeneratedNodeCount(long generatedNodeCount) {
+        this.generatedNodeCount = generatedNodeCount;
+    }
+
+    public long getExpandedNodeCount() {
+        return expandedNodeCount;
+    }
+
+    public void setExpandedNodeCount(long expandedNodeCount) {
+        this.expandedNodeCount = expandedNodeCount;
+    }
+
+    public long getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    public void setDuplicateCount(long duplicateCount) {
+        this.duplicateCount = duplicateCount;
+    }
+
+    public long getPeakOpenSize() {
+        return peakOpenSize;
+    }
+
+    public void setPeakOpenSize(long peakOpenSize) {
+        this.peakOpenSize = peakOpenSize;
+    }
+
+    public long getPeakClosedSize() {
+        return peakClosedSize;
+    }
+
+    public void setPeakClosedSize(long peakClosedSize) {
+        this.peakClosedSize = peakClosedSize;
+    }
+
+    public String getLayerKind() {
+        return layerKind;
+    }
+
+    public void setLayerKind(String layerKind) {
+        this.layerKind = layerKind;
+    }
+
+    public Map<Integer, Long> getExpandedByLayer() {
+        return expandedByLayer;
+    }
+
+    public void setExpandedByLayer(Map<Integer, Long> expandedByLayer) {
+        this.expandedByLayer = expandedByLayer;
+    }
+
+    public Double getEffectiveBranchingFactor() {
+        return effectiveBranchingFactor;
+    }
+
+    public void setEffectiveBranchingFactor(Double effectiveBranchingFactor) {
+        this.effectiveBranchingFactor = effectiveBranchingFactor;
+    }
+
+    public String getHeuristic() {
+        return heuristic;
+    }
+
+    public void setHeuristic(String heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    public int getStartHeuristic() {
+        return startHeuristic;
+    }
+
+    public void setStartHeuristic(int startHeuristic) {
+        this.startHeuristic = startHeuristic;
+    }
+
+    public int getSolutionLength() {
+        return solutionLength;
+    }
+
+    public void setSolutionLength(int solutionLength) {
+        this.solutionLength = solutionLength;
+    }
+
+    public Double getHeuristicAccuracy() {
+        return heuristicAccuracy;
+    }
+
+    public void setHeuristicAccuracy(Double heuristicAccuracy) {
+        this.heuristicAccuracy = heuristicAccuracy;
+    }
+
+    @Override
+    public String toString() {
+        return "SolveDiagnostics{" +
+                "generatedNodeCount=" + generatedNodeCount +
+                ", expandedNodeCount=" + expandedNodeCount +
+                ", duplicateCount=" + duplicateCount +
+                ", peakOpenSize=" + peakOpenSize +
+                ", peakClosedSize=" + peakClosedSize +
+                ", layerKind='" + layerKind + '\'' +
+                ", effectiveBranchingFactor=" + effectiveBranchingFactor +
+                ", heuristic='" + heuristic + '\'' +
+                ", startHeuristic=" + startHeuristic +
+                ", solutionLength=" + solutionLength +
+                ", heuristicAccuracy=" + heuristicAccuracy +
+                '}';
+    }
+}
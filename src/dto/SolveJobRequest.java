@@ -0,0 +1,30 @@
+package dto;
+
+/**
+ * Request payload for POST /api/puzzle/jobs: a regular {@link SolveRequest} plus a queue priority.
+ * - priority: higher runs first; jobs of equal priority run in submission order (default 0).
+ */
+public class SolveJobRequest extends SolveRequest {
+
+    /** Queue priority; larger values are picked up sooner. */
+    private int priority;
+
+    /** No-args constructor for JSON deserialization. */
+    public SolveJobRequest() {}
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    @Override
+    public String toString() {
+        return "SolveJobRequest{" +
+                "priority=" + priority +
+                ", " + super.toString() +
+                '}';
+    }
+}
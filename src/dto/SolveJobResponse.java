@@ -0,0 +1,117 @@
+package dto;
+
+/**
+ * Snapshot of an asynchronous solve job returned by /api/puzzle/jobs endpoints.
+ *
+ * Fields:
+ *  - jobId: opaque id used in GET/DELETE /api/puzzle/jobs/{jobId}.
+ *  - status: QUEUED, RUNNING, DONE, FAILED or CANCELLED.
+ *  - priority: the priority the job was submitted with.
+ *  - submittedAt / startedAt / finishedAt: epoch milliseconds (null until reached).
+ *  - expiresAt: epoch milliseconds after which a finished job is forgotten (null while unfinished).
+ *  - result: the SolveResponse once status is DONE.
+ *  - error: failure message once status is FAILED.
+ */
+public class SolveJobResponse {
+
+    private String jobId;
+    private JobStatus status;
+    private int priority;
+    private Long submittedAt;
+    private Long startedAt;
+    private Long finishedAt;
+    private Long expiresAt;
+    private SolveResponse result;
+    private String error;
+
+    /** No-args constructor for JSON serialization/deserialization. */
+    public SolveJobResponse() {}
+
+    // Getters / Setters
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public Long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Long submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Long finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public SolveResponse getResult() {
+        return result;
+    }
+
+    public void setResult(SolveResponse result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "SolveJobResponse{" +
+                "jobId='" + jobId + '\'' +
+                ", status=" + status +
+                ", priority=" + priority +
+                ", submittedAt=" + submittedAt +
+                ", startedAt=" + startedAt +
+                ", finishedAt=" + finishedAt +
+                ", result=" + result +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -1,11 +1,16 @@
 package dto;
 
 import model.Algorithm;
+import model.HeuristicType;
 
 /**
- * Request payload for solving the 8-puzzle from a given start state using a selected algorithm.
- * - startState: flat int[9] board, values 0..8 (0 = blank), row-major order.
+ * Request payload for solving a sliding puzzle from a given start state using a selected algorithm.
+ * - startState: flat int[w×w] board (9 for 3×3, 16 for 4×4), values 0..w²-1 (0 = blank), row-major order.
  * - selectedAlgorithm: ASTAR, BFS, or DFS (A* uses a heuristic; BFS/DFS do not).
+ * - heuristic: optional A* heuristic ("manhattan" by default, "walking-distance" for 4×4 boards).
+ * - goalState: optional custom target layout (same size as startState, blank in a corner);
+ *   defaults to the canonical goal [1..n-1, 0].
+ * - diagnostics: opt-in search profile in the response (forces a fresh search: no store or coalescing).
  */
 public class SolveRequest {
 
@@ -15,6 +20,15 @@ public class SolveRequest {
     /** The algorithm to use for solving (ASTAR, BFS, DFS). */
     private Algorithm selectedAlgorithm;
 
+    /** Optional heuristic for informed search; null = server default (Manhattan). */
+    private HeuristicType heuristic;
+
+    /** Optional custom goal layout; null = canonical goal. */
+    private int[] goalState;
+
+    /** True = collect search counters and return them in SolveResponse.diagnostics. */
+    private boolean diagnostics;
+
     /** No-args constructor for JSON deserialization. */
     public SolveRequest() {}
 
@@ -42,11 +56,38 @@ public class SolveRequest {
         this.selectedAlgorithm = selectedAlgorithm;
     }
 
+    public HeuristicType getHeuristic() {
+        return heuristic;
+    }
+
+    public void setHeuristic(HeuristicType heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    public int[] getGoalState() {
+        return goalState;
+    }
+
+    public void setGoalState(int[] goalState) {
+        this.goalState = goalState;
+    }
+
+    public boolean isDiagnostics() {
+        return diagnostics;
+    }
+
+    public void setDiagnostics(boolean diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
     @Override
     public String toString() {
         return "SolveRequest{" +
                 "startState=" + (startState == null ? null : java.util.Arrays.toString(startState)) +
                 ", selectedAlgorithm=" + selectedAlgorithm +
+                ", heuristic=" + heuristic +
+                ", goalState=" + (goalState == null ? null : java.util.Arrays.toString(goalState)) +
+                ", diagnostics=" + diagnostics +
                 '}';
     }
 }
@@ -1,6 +1,8 @@
 // src/main/java/com/example/puzzle/dto/SolveResponse.java
 package dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 /**
@@ -8,15 +10,22 @@ import java.util.List;
  *
  * Fields:
  *  - moves: ordered list of legal moves from the start state to the goal (e.g., "L","U","R","D").
+ *  - solutionLength: number of moves (optimal for every algorithm except "reduction").
  *  - solveTimeMs: server-side time taken to compute the solution (milliseconds).
  *  - expandedNodeCount: number of states expanded during the search (useful for comparing algorithms).
  *  - pathStates: optional list of intermediate board states (int[9]) along the returned path (start → goal).
+ *  - engine: what produced the answer (e.g., "astar+manhattan", "index", "bfs", "sma*", or "store"
+ *    when served from the persistent solve store); useful with "auto", which picks the engine itself.
+ *  - diagnostics: search profile, only present when the request asked for it.
  */
 public class SolveResponse {
 
     /** Ordered sequence of moves that transform the start state into the goal state. */
     private List<String> moves;
 
+    /** Length of {@link #moves}, so clients of large-board solves need not count a long list. */
+    private int solutionLength;
+
     /** Wall-clock time spent solving on the server, in milliseconds. */
     private long solveTimeMs;
 
@@ -26,12 +35,20 @@ public class SolveResponse {
     /** Optional list of intermediate states corresponding to the returned path (start → goal). */
     private List<int[]> pathStates;
 
+    /** Engine that produced this answer. */
+    private String engine;
+
+    /** Search profile; omitted from the JSON unless diagnostics were requested. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SolveDiagnostics diagnostics;
+
     /** No-args constructor for JSON serialization/deserialization. */
     public SolveResponse() {}
 
     /** Convenience constructor. */
     public SolveResponse(List<String> moves, long solveTimeMs, Integer expandedNodeCount, List<int[]> pathStates) {
         this.moves = moves;
+        this.solutionLength = moves == null ? 0 : moves.size();
         this.solveTimeMs = solveTimeMs;
         this.expandedNodeCount = expandedNodeCount;
         this.pathStates = pathStates;
@@ -47,6 +64,14 @@ public class SolveResponse {
         this.moves = moves;
     }
 
+    public int getSolutionLength() {
+        return solutionLength;
+    }
+
+    public void setSolutionLength(int solutionLength) {
+        this.solutionLength = solutionLength;
+    }
+
     public long getSolveTimeMs() {
         return solveTimeMs;
     }
@@ -71,13 +96,32 @@ public class SolveResponse {
         this.pathStates = pathStates;
     }
 
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public SolveDiagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    public void setDiagnostics(SolveDiagnostics diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
     @Override
     public String toString() {
         return "SolveResponse{" +
                 "moves=" + (moves == null ? null : moves.toString()) +
+                ", solutionLength=" + solutionLength +
                 ", solveTimeMs=" + solveTimeMs +
                 ", expandedNodeCount=" + expandedNodeCount +
                 ", pathStates=" + (pathStates == null ? null : ("count=" + pathStates.size())) +
+                ", engine='" + engine + '\'' +
+                ", diagnostics=" + diagnostics +
                 '}';
     }
 }
@@ -0,0 +1,37 @@
+package dto;
+
+/**
+ * Machine-readable outcome of validating a single board (used by /api/puzzle/validate/batch).
+ *
+ * Serialized by name (e.g., "OK", "UNSOLVABLE") so clients can branch without parsing messages.
+ */
+public enum ValidationStatus {
+    /** Well-formed and solvable. */
+    OK(true, true),
+    /** The state array itself was null. */
+    NULL_STATE(false, false),
+    /** Length is not a supported square (w×w). */
+    INVALID_SHAPE(false, false),
+    /** A tile value is outside 0..w²-1. */
+    INVALID_VALUE(false, false),
+    /** A tile value appears more than once. */
+    DUPLICATE_VALUE(false, false),
+    /** Well-formed but cannot reach the goal (parity mismatch). */
+    UNSOLVABLE(true, false);
+
+    private final boolean valid;
+    private final boolean solvable;
+
+    ValidationStatus(boolean valid, boolean solvable) {
+        this.valid = valid;
+        this.solvable = solvable;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public boolean isSolvable() {
+        return solvable;
+    }
+}
@@ -0,0 +1,156 @@
+package heuristic;
+
+import model.Move;
+import model.PuzzleState;
+import util.PermutationRank;
+
+import java.util.Arrays;
+
+/**
+ * Exact distance-to-goal for every 3×3 state, precomputed once by BFS from the goal (the parallel
+ * enumeration in {@code solver.ParallelBFSSolver}, see {@code solver.DistanceIndexConfig}).
+ *
+ * Layout:
+ *  - One byte per reachable state (181,440 entries, ~177 KB). A solvable board's index is its blank
+ *    cell times 8!/2 plus half the {@link PermutationRank} of its eight tiles: solvable boards all have
+ *    an even tile permutation, and within one parity the halved rank is dense.
+ *  - Odd tile permutations (unsolvable boards) are detected from the same pass over the tiles.
+ *  - Built at startup in a fraction of a second; afterwards a lookup is one rank computation plus
+ *    one array read, which makes optimal next-move hints constant time.
+ */
+public class DistanceIndex {
+
+    /** Only the 8-puzzle state space (181,440 reachable states) is small enough to index fully. */
+    public static final int WIDTH = 3;
+
+    private static final int TILE_COUNT = WIDTH * WIDTH;
+    /** Even permutations of the eight tiles: entries per blank cell. */
+    private static final int HALF_ARRANGEMENTS = (int) (PermutationRank.factorial(TILE_COUNT - 1) / 2);
+    private static final int[] LEHMER_WEIGHTS = new int[TILE_COUNT - 1];
+    private static final byte UNREACHABLE = -1;
+
+    static {
+        for (int position = 0; position < LEHMER_WEIGHTS.length; position++) {
+            LEHMER_WEIGHTS[position] = (int) PermutationRank.factorial(LEHMER_WEIGHTS.length - 1 - position);
+        }
+    }
+
+    private final byte[] distancesByIndex;
+    private final int reachableCount;
+    private final int maxDistance;
+
+    /**
+     * @param distancesByRank distance of every 3×3 permutation indexed by {@link PermutationRank#rank(int[])},
+     *                        -1 where unreachable (as produced by {@code solver.ParallelBFSSolver#distancesByRank})
+     */
+    public DistanceIndex(byte[] distancesByRank) {
+        if (distancesByRank.length != PermutationRank.factorial(TILE_COUNT)) {
+            throw new IllegalArgumentException("Expected " + PermutationRank.factorial(TILE_COUNT)
+                    + " distances (one per 3×3 permutation), got " + distancesByRank.length + ".");
+        }
+        this.distancesByIndex = new byte[TILE_COUNT * HALF_ARRANGEMENTS];
+        Arrays.fill(distancesByIndex, UNREACHABLE);
+
+        int reachable = 0;
+        int deepest = 0;
+        for (int rank = 0; rank < distancesByRank.length; rank++) {
+            byte distance = distancesByRank[rank];
+            if (distance == UNREACHABLE) continue;
+            distancesByIndex[reachableIndex(PermutationRank.unrank(rank, TILE_COUNT))] = distance;
+            reachable++;
+            deepest = Math.max(deepest, distance);
+        }
+        this.reachableCount = reachable;
+        this.maxDistance = deepest;
+    }
+
+    /** @return true if boards of this width are indexed. */
+    public boolean supportsWidth(int width) {
+        return width == WIDTH;
+    }
+
+    /**
+     * @param tiles structurally valid 3×3 board (values 0..8 each once); not modified
+     * @return exact optimal distance to the canonical goal, or -1 if the board is unsolvable
+     */
+    public int distance(int[] tiles) {
+        int index = reachableIndex(tiles);
+        return index < 0 ? -1 : distancesByIndex[index];
+    }
+
+    /** @see #distance(int[]) */
+    public int distance(PuzzleState state) {
+        return distance(state.toArray());
+    }
+
+    /** @return number of reachable states (181,440 for 3×3). */
+    public int getReachableCount() {
+        return reachableCount;
+    }
+
+    /** @return the largest optimal distance in the state space (31 for 3×3). */
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    /** @return bytes held by the distance table. */
+    public long getTableBytes() {
+        return distancesByIndex.length;
+    }
+
+    /**
+     * Dense index over solvable boards: blank cell, then the Lehmer rank of the eight tiles (blank
+     * skipped) halved. Within one permutation parity the last free Lehmer digit is implied, so halving
+     * loses nothing.
+     *
+     * @return the table index, or -1 if the tiles form an odd permutation (unsolvable on 3×3)
+     */
+    private static int reachableIndex(int[] tiles) {
+        int blank = 0;
+        int rank = 0;
+        int inversions = 0;
+        int position = 0;
+        for (int i = 0; i < TILE_COUNT; i++) {
+            int tile = tiles[i];
+            if (tile == 0) {
+                blank = i;
+                continue;
+            }
+            int smaller = 0;
+            for (int j = i + 1; j < TILE_COUNT; j++) {
+                if (tiles[j] != 0 && tiles[j] < tile) smaller++;
+            }
+            inversions += smaller;
+            rank += smaller * LEHMER_WEIGHTS[position++];
+        }
+        if ((inversions & 1) != 0) return -1;
+        return blank * HALF_ARRANGEMENTS + (rank >>> 1);
+    }
+
+    // ---------------------------------------------------------------------
+    // Board helpers (flat int[9], blank-centric moves as in Move)
+    // ---------------------------------------------------------------------
+
+    /**
+     * @return the cell the blank moves into for {@code move}, or -1 if the move leaves the board.
+     */
+    public static int targetIndex(int blankIndex, Move move) {
+        int row = blankIndex / WIDTH + move.getRowDelta();
+        int col = blankIndex % WIDTH + move.getColDelta();
+        if (row < 0 || row >= WIDTH || col < 0 || col >= WIDTH) return -1;
+        return row * WIDTH + col;
+    }
+
+    public static int indexOfBlank(int[] tiles) {
+        for (int index = 0; index < tiles.length; index++) {
+            if (tiles[index] == 0) return index;
+        }
+        throw new IllegalArgumentException("Blank tile (0) not found.");
+    }
+
+    public static void swap(int[] tiles, int a, int b) {
+        int tmp = tiles[a];
+        tiles[a] = tiles[b];
+        tiles[b] = tmp;
+    }
+}
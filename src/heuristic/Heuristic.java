@@ -20,4 +20,22 @@ public interface Heuristic {
      * @return a non-negative integer estimate of the distance-to-goal
      */
     int estimate(PuzzleState state);
+
+    /** @return true if boards of this width can be scored; by default every width. */
+    default boolean supportsWidth(int width) {
+        return true;
+    }
+
+    /**
+     * Estimate several states at once, e.g. all successors of an expanded node. The default scores them
+     * one by one; implementations with a batch kernel override it.
+     *
+     * @param states    states to score; only the first {@code count} are read
+     * @param estimates receives {@code estimate(states[i])} at index i
+     */
+    default void estimateAll(PuzzleState[] states, int count, int[] estimates) {
+        for (int i = 0; i < count; i++) {
+            estimates[i] = estimate(states[i]);
+        }
+    }
 }
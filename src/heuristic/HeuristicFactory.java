@@ -0,0 +1,49 @@
+package heuristic;
+
+import model.HeuristicType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Factory that maps a {@link HeuristicType} selection to a concrete {@link Heuristic} bean
+ * (same shape as {@code solver.SolverFactory}).
+ */
+@Component
+public class HeuristicFactory {
+
+    /** Lookup table from heuristic enum → heuristic instance. */
+    private final Map<HeuristicType, Heuristic> typeToHeuristicMap = new EnumMap<>(HeuristicType.class);
+
+    public HeuristicFactory(ManhattanHeuristic manhattanHeuristic,
+                            WalkingDistanceHeuristic walkingDistanceHeuristic) {
+        this(manhattanHeuristic, walkingDistanceHeuristic, Optional.empty());
+    }
+
+    /** @param patternDatabase present only when {@code puzzle.heuristic.pattern-db.dir} is configured */
+    @Autowired
+    public HeuristicFactory(ManhattanHeuristic manhattanHeuristic,
+                            WalkingDistanceHeuristic walkingDistanceHeuristic,
+                            Optional<PatternDatabaseHeuristic> patternDatabase) {
+        typeToHeuristicMap.put(HeuristicType.MANHATTAN, manhattanHeuristic);
+        typeToHeuristicMap.put(HeuristicType.WALKING_DISTANCE, walkingDistanceHeuristic);
+        patternDatabase.ifPresent(heuristic -> typeToHeuristicMap.put(HeuristicType.PATTERN_DATABASE, heuristic));
+    }
+
+    /**
+     * Returns the heuristic for the requested type, or {@code null} if unsupported.
+     */
+    public Heuristic getHeuristic(HeuristicType type) {
+        if (type == null) return null;
+        return typeToHeuristicMap.get(type);
+    }
+
+    /** @return the set of heuristics currently supported by this backend. */
+    public Set<HeuristicType> getSupportedHeuristics() {
+        return typeToHeuristicMap.keySet();
+    }
+}
@@ -0,0 +1,130 @@
+package heuristic;
+
+import model.PuzzleState;
+
+/**
+ * Manhattan distance for a batch of boards, laid out in one flat array.
+ *
+ * Layout:
+ *  - Board i occupies {@code tiles[i·stride .. i·stride + n)}; the rest of its stride is zero padding
+ *    (padding reads as blanks, which score nothing). The stride lets a vector kernel load whole
+ *    registers without masks.
+ *  - Per width, tables give the goal row/column of every tile and the row/column of every cell, so
+ *    no division is left in the inner loop.
+ *
+ * Kernels:
+ *  - {@link VectorManhattanBatch} (jdk.incubator.vector): one register per board, looking up goal
+ *    rows/columns by tile with an in-register permute, with lane-wise abs/add and one reduction.
+ *  - The scalar kernel here is the fallback when the JVM runs without
+ *    {@code --add-modules jdk.incubator.vector}.
+ */
+abstract class ManhattanBatch {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /** Tables by width; index = width. */
+    private static final Tables[] TABLES = new Tables[PuzzleState.MAX_WIDTH + 1];
+
+    static {
+        for (int width = PuzzleState.MIN_WIDTH; width <= PuzzleState.MAX_WIDTH; width++) {
+            TABLES[width] = new Tables(width);
+        }
+    }
+
+    /** @return the vector kernel when the incubator module is present, otherwise the scalar one. */
+    static ManhattanBatch create() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            return VectorManhattanBatch.create();
+        }
+        return scalar();
+    }
+
+    static ManhattanBatch scalar() {
+        return new Scalar();
+    }
+
+    /** @return ints per board in the flat array (padded up to whole registers by the vector kernel). */
+    abstract int stride(int tileCount);
+
+    /**
+     * @param tiles     flat boards (see class notes), all of width {@code width}
+     * @param estimates receives the Manhattan distance of board i at index i
+     */
+    abstract void estimate(int[] tiles, int width, int count, int[] estimates);
+
+    /** @return "vector" or "scalar". */
+    abstract String kind();
+
+    /** Copy {@code count} boards of one width into a zero-padded flat array and score them. */
+    final void estimate(PuzzleState[] states, int count, int[] estimates) {
+        int width = states[0].width();
+        int stride = stride(width * width);
+        int[] tiles = new int[count * stride];
+        for (int i = 0; i < count; i++) {
+            states[i].copyTiles(tiles, i * stride);
+        }
+        estimate(tiles, width, count, estimates);
+    }
+
+    static Tables tables(int width) {
+        return TABLES[width];
+    }
+
+    /** Per-width lookup tables, padded so vector kernels can load a full register past n. */
+    static final class Tables {
+
+        /** The widest register (512 bits) holds 16 ints. */
+        private static final int CELL_PADDING = 16;
+
+        final int[] goalRowOfTile;
+        final int[] goalColOfTile;
+        final int[] rowOfCell;
+        final int[] colOfCell;
+
+        Tables(int width) {
+            int tileCount = width * width;
+            goalRowOfTile = new int[tileCount + CELL_PADDING];
+            goalColOfTile = new int[tileCount + CELL_PADDING];
+            for (int tile = 1; tile < tileCount; tile++) {
+                goalRowOfTile[tile] = (tile - 1) / width;
+                goalColOfTile[tile] = (tile - 1) % width;
+            }
+            rowOfCell = new int[tileCount + CELL_PADDING];
+            colOfCell = new int[tileCount + CELL_PADDING];
+            for (int cell = 0; cell < tileCount; cell++) {
+                rowOfCell[cell] = cell / width;
+                colOfCell[cell] = cell % width;
+            }
+        }
+    }
+
+    private static final class Scalar extends ManhattanBatch {
+
+        @Override
+        int stride(int tileCount) {
+            return tileCount;
+        }
+
+        @Override
+        void estimate(int[] tiles, int width, int count, int[] estimates) {
+            Tables tables = tables(width);
+            int tileCount = width * width;
+            for (int board = 0; board < count; board++) {
+                int base = board * tileCount;
+                int sum = 0;
+                for (int cell = 0; cell < tileCount; cell++) {
+                    int tile = tiles[base + cell];
+                    if (tile == 0) continue;
+                    sum += Math.abs(tables.rowOfCell[cell] - tables.goalRowOfTile[tile])
+                            + Math.abs(tables.colOfCell[cell] - tables.goalColOfTile[tile]);
+                }
+                estimates[board] = sum;
+            }
+        }
+
+        @Override
+        String kind() {
+            return "scalar";
+        }
+    }
+}
@@ -1,24 +1,32 @@
 package heuristic;
 
 import model.PuzzleState;
+import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
 /**
- * Manhattan-distance heuristic for the 8-puzzle.
+ * Manhattan-distance heuristic for square sliding puzzles (any width).
  *
  * Definition:
- *  - For each tile 1..8, add the Manhattan distance between its current (row, col)
+ *  - For each tile 1..n-1, add the Manhattan distance between its current (row, col)
  *    and its goal (row, col); ignore the blank (0).
  *  - Admissible (never overestimates) and consistent for unit-cost moves,
  *    so A* with this heuristic is optimal and efficient.
+ *  - {@code @Primary}: this is the default heuristic wherever a single {@link Heuristic} is injected.
+ *  - {@link #estimateAll} scores whole batches with a SIMD kernel when the JVM runs with
+ *    {@code --add-modules jdk.incubator.vector}, and with a table-driven scalar loop otherwise
+ *    (see {@link ManhattanBatch}).
  */
+@Primary
 @Component
 public class ManhattanHeuristic implements Heuristic {
 
+    private final ManhattanBatch batch = ManhattanBatch.create();
+
     /**
-     * Estimate remaining moves to the goal by summing |Δrow| + |Δcol| for tiles 1..8.
+     * Estimate remaining moves to the goal by summing |Δrow| + |Δcol| for tiles 1..n-1.
      *
-     * @param state non-null 3×3 puzzle state
+     * @param state non-null puzzle state
      * @return non-negative heuristic value (0 for the goal state)
      * @throws IllegalArgumentException if state is null
      */
@@ -28,23 +36,23 @@ public class ManhattanHeuristic implements Heuristic {
             throw new IllegalArgumentException("state cannot be null.");
         }
 
-        int[] tiles = state.toArray(); // defensive copy from immutable value object
+        int width = state.width();
         int totalManhattan = 0;
 
-        for (int index = 0; index < tiles.length; index++) {
-            int tileValue = tiles[index];
+        for (int index = 0; index < state.size(); index++) {
+            int tileValue = state.tileAt(index);
             if (tileValue == 0) {
                 continue; // skip the blank
             }
 
             // Current (row, col) for this tile.
-            int currentRow = index / 3;
-            int currentCol = index % 3;
+            int currentRow = index / width;
+            int currentCol = index % width;
 
-            // Goal (row, col) for this tile value (1..8) in the canonical goal [1..8, 0].
+            // Goal (row, col) for this tile value (1..n-1) in the canonical goal [1..n-1, 0].
             int goalIndex = tileValue - 1;
-            int goalRow = goalIndex / 3;
-            int goalCol = goalIndex % 3;
+            int goalRow = goalIndex / width;
+            int goalCol = goalIndex % width;
 
             // |Δrow| + |Δcol|
             totalManhattan += Math.abs(currentRow - goalRow) + Math.abs(currentCol - goalCol);
@@ -52,4 +60,25 @@ public class ManhattanHeuristic implements Heuristic {
 
         return totalManhattan;
     }
+
+    /**
+     * Same values as {@link #estimate}, for boards of one width.
+     *
+     * @throws IllegalArgumentException if the boards do not all have the same width
+     */
+    @Override
+    public void estimateAll(PuzzleState[] states, int count, int[] estimates) {
+        if (count == 0) return;
+        for (int i = 1; i < count; i++) {
+            if (states[i].width() != states[0].width()) {
+                throw new IllegalArgumentException("A batch must hold boards of one width.");
+            }
+        }
+        batch.estimate(states, count, estimates);
+    }
+
+    /** @return "vector" if batches run on the SIMD kernel, otherwise "scalar". */
+    public String batchKernel() {
+        return batch.kind();
+    }
 }
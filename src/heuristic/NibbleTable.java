@@ -0,0 +1,85 @@
+package heuristic;
+
+/**
+ * Lower-bound table with 4-bit entries (16 per long), for heuristic tables such as pattern databases.
+ *
+ * Encoding:
+ *  - Values 0..14 are stored as is. Larger values saturate to 15, which keeps every entry a lower bound
+ *    of the true value (admissible for A* and IDA*).
+ *  - Negative source values (unreachable entries, never looked up) are stored as 15 so they do not
+ *    drag down a min-compressed group.
+ *
+ * Min-compression (lossy): {@link #minCompressed(int)} keeps one entry per group of 2^k consecutive
+ * indexes, holding the group's minimum. Lookups shift the index by k, so the smaller table is used
+ * through the same {@link #get(long)} and still returns lower bounds. Works best when nearby indexes
+ * hold similar values (ranks that differ only in the last positions).
+ *
+ * Lookups are a shift and a mask, with no branches.
+ */
+public final class NibbleTable {
+
+    /** Largest stored value; larger ones saturate to it. */
+    public static final int MAX_VALUE = 15;
+
+    private final long[] words;
+    private final long length;
+    /** log2 of the group size: index i is stored at i >>> groupShift. */
+    private final int groupShift;
+
+    private NibbleTable(long[] words, long length, int groupShift) {
+        this.words = words;
+        this.length = length;
+        this.groupShift = groupShift;
+    }
+
+    /** @param values one entry per index, e.g. a byte-per-entry distance table */
+    public static NibbleTable of(byte[] values) {
+        long[] words = new long[(values.length + 15) >>> 4];
+        for (int index = 0; index < values.length; index++) {
+            int value = values[index] < 0 ? MAX_VALUE : Math.min(values[index], MAX_VALUE);
+            words[index >>> 4] |= (long) value << ((index & 15) << 2);
+        }
+        return new NibbleTable(words, values.length, 0);
+    }
+
+    /** @return a lower bound of the value at {@code index} (exact if not saturated or compressed). */
+    public int get(long index) {
+        long slot = index >>> groupShift;
+        return (int) (words[(int) (slot >>> 4)] >>> ((slot & 15) << 2)) & 0xF;
+    }
+
+    /**
+     * @param groupShift log2 of the number of consecutive entries merged into one (1 halves the table)
+     * @return a table of the same length whose entries are group minimums
+     */
+    public NibbleTable minCompressed(int groupShift) {
+        if (groupShift < 1 || groupShift + this.groupShift > 30) {
+            throw new IllegalArgumentException("groupShift must be between 1 and " + (30 - this.groupShift) + ".");
+        }
+        long slots = storedSlots();
+        long groups = (slots + (1L << groupShift) - 1) >>> groupShift;
+        long[] compressed = new long[(int) ((groups + 15) >>> 4)];
+        for (long group = 0; group < groups; group++) {
+            int min = MAX_VALUE;
+            long end = Math.min(slots, (group + 1) << groupShift);
+            for (long slot = group << groupShift; slot < end; slot++) {
+                min = Math.min(min, (int) (words[(int) (slot >>> 4)] >>> ((slot & 15) << 2)) & 0xF);
+            }
+            compressed[(int) (group >>> 4)] |= (long) min << ((group & 15) << 2);
+        }
+        return new NibbleTable(compressed, length, this.groupShift + groupShift);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    /** @return bytes held by the table. */
+    public long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    private long storedSlots() {
+        return ((length - 1) >>> groupShift) + 1;
+    }
+}
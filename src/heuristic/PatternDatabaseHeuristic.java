@@ -0,0 +1,171 @@
+package heuristic;
+
+import model.PuzzleState;
+
+import java.util.Arrays;
+
+/**
+ * Pattern-database heuristic: the exact distance of a pattern abstraction (a few chosen tiles and the
+ * blank; every other tile is a "don't care"), combined with a base heuristic such as walking distance by
+ * taking the larger of the two (both are consistent, so the maximum is too).
+ *
+ * Storage:
+ *  - One {@link NibbleTable} entry per placement of the pattern tiles and the blank (4×4 with five
+ *    pattern tiles: 16·15·14·13·12·11 = 5,765,760 entries, ~2.8 MB instead of ~5.5 MB as bytes).
+ *  - An entry holds the abstract distance minus the pattern tiles' own Manhattan distance: the moves
+ *    spent on the blank and on tiles in the way. That remainder is small, so 4 bits lose little; larger
+ *    remainders saturate to 15, which keeps the estimate admissible and consistent.
+ *  - The blank's cell is the last (least significant) digit of the index, so a min-compressed table
+ *    ({@link NibbleTable#minCompressed(int)}) merges placements that differ only in where the blank is.
+ *    A compressed table is still admissible but no longer guaranteed consistent: IDA* stays optimal,
+ *    while A* (whose closed set assumes consistency) may return a slightly longer path.
+ *
+ * Built from the finished layers of a pattern enumeration ({@code solver.ExternalMemoryBFS#patternDatabase}).
+ */
+public class PatternDatabaseHeuristic implements Heuristic {
+
+    private final int width;
+    private final int tileCount;
+    private final int[] pattern;
+    /** Tile value → its slot in {@link #pattern}, or -1 for tiles outside the pattern. */
+    private final int[] slotOfTile;
+    private final NibbleTable residues;
+    private final Heuristic base;
+
+    /**
+     * @param residues  {@link #tableLength} entries indexed by {@link #index}, each the abstract distance
+     *                  minus {@link #patternManhattan}
+     * @param base      heuristic for the same width whose estimate is used when it is larger
+     */
+    public PatternDatabaseHeuristic(int width, int[] pattern, NibbleTable residues, Heuristic base) {
+        if (residues.length() != tableLength(width, pattern.length)) {
+            throw new IllegalArgumentException("Expected " + tableLength(width, pattern.length)
+                    + " entries for " + pattern.length + " pattern tiles on " + width + "×" + width
+                    + ", got " + residues.length() + ".");
+        }
+        this.width = width;
+        this.tileCount = width * width;
+        this.pattern = pattern.clone();
+        this.slotOfTile = new int[tileCount];
+        Arrays.fill(slotOfTile, -1);
+        for (int slot = 0; slot < pattern.length; slot++) {
+            slotOfTile[pattern[slot]] = slot;
+        }
+        this.residues = residues;
+        this.base = base;
+    }
+
+    /**
+     * @param state non-null board of this database's width
+     * @return max(base estimate, pattern tiles' Manhattan + stored remainder)
+     * @throws IllegalArgumentException if state is null or has another width
+     */
+    @Override
+    public int estimate(PuzzleState state) {
+        if (state == null) {
+            throw new IllegalArgumentException("state cannot be null.");
+        }
+        if (!supportsWidth(state.width())) {
+            throw new IllegalArgumentException("This pattern database covers " + width + "×" + width
+                    + " boards (got width " + state.width() + ").");
+        }
+        int[] cellOfSlot = new int[pattern.length];
+        int blankCell = 0;
+        for (int cell = 0; cell < tileCount; cell++) {
+            int tile = state.tileAt(cell);
+            if (tile == 0) {
+                blankCell = cell;
+            } else if (slotOfTile[tile] >= 0) {
+                cellOfSlot[slotOfTile[tile]] = cell;
+            }
+        }
+        int bound = manhattanOf(cellOfSlot, pattern, width) + residues.get(placementIndex(cellOfSlot, blankCell, tileCount));
+        return Math.max(bound, base.estimate(state));
+    }
+
+    /** @return true if boards of this width can be scored. */
+    @Override
+    public boolean supportsWidth(int width) {
+        return width == this.width;
+    }
+
+    /** @return the pattern tiles, in index order. */
+    public int[] getPattern() {
+        return pattern.clone();
+    }
+
+    /** @return bytes held by the table. */
+    public long getTableBytes() {
+        return residues.sizeInBytes();
+    }
+
+    // ---------------------------------------------------------------------
+    // Layout (shared with the builder)
+    // ---------------------------------------------------------------------
+
+    /** @return number of placements of {@code patternSize} tiles plus the blank: n!/(n-k-1)!. */
+    public static long tableLength(int width, int patternSize) {
+        int tileCount = width * width;
+        long length = 1;
+        for (int k = 0; k <= patternSize; k++) {
+            length *= tileCount - k;
+        }
+        return length;
+    }
+
+    /**
+     * @param tiles board or abstract board (tiles outside the pattern may carry any other value)
+     * @return the placement index: the cells of the pattern tiles in order, then the blank's, each counted
+     *         among the cells not yet taken
+     */
+    public static long index(int[] tiles, int width, int[] pattern) {
+        return placementIndex(cellsOf(tiles, pattern), indexOfBlank(tiles), width * width);
+    }
+
+    /** @return the Manhattan distance of the pattern tiles alone. */
+    public static int patternManhattan(int[] tiles, int width, int[] pattern) {
+        return manhattanOf(cellsOf(tiles, pattern), pattern, width);
+    }
+
+    private static long placementIndex(int[] cellOfSlot, int blankCell, int tileCount) {
+        long index = 0;
+        int taken = 0;
+        for (int slot = 0; slot < cellOfSlot.length; slot++) {
+            int cell = cellOfSlot[slot];
+            index = index * (tileCount - slot) + (cell - Integer.bitCount(taken & ((1 << cell) - 1)));
+            taken |= 1 << cell;
+        }
+        return index * (tileCount - cellOfSlot.length) + (blankCell - Integer.bitCount(taken & ((1 << blankCell) - 1)));
+    }
+
+    private static int manhattanOf(int[] cellOfSlot, int[] pattern, int width) {
+        int total = 0;
+        for (int slot = 0; slot < pattern.length; slot++) {
+            int cell = cellOfSlot[slot];
+            int goalCell = pattern[slot] - 1;
+            total += Math.abs(cell / width - goalCell / width) + Math.abs(cell % width - goalCell % width);
+        }
+        return total;
+    }
+
+    private static int[] cellsOf(int[] tiles, int[] pattern) {
+        int[] cellOfSlot = new int[pattern.length];
+        for (int slot = 0; slot < pattern.length; slot++) {
+            cellOfSlot[slot] = -1;
+            for (int cell = 0; cell < tiles.length; cell++) {
+                if (tiles[cell] == pattern[slot]) cellOfSlot[slot] = cell;
+            }
+            if (cellOfSlot[slot] < 0) {
+                throw new IllegalArgumentException("Pattern tile " + pattern[slot] + " is not on the board.");
+            }
+        }
+        return cellOfSlot;
+    }
+
+    private static int indexOfBlank(int[] tiles) {
+        for (int cell = 0; cell < tiles.length; cell++) {
+            if (tiles[cell] == 0) return cell;
+        }
+        throw new IllegalArgumentException("Blank tile (0) not found.");
+    }
+}
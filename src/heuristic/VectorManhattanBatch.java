@@ -0,0 +1,64 @@
+package heuristic;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernel for {@link ManhattanBatch}; only loaded when jdk.incubator.vector is in the boot layer.
+ *
+ * Per board: load the tiles into one register and look up their goal rows and columns with an
+ * in-register permute (the goal tables are registers too, indexed by the tile lanes), subtract from
+ * the cells' rows and columns, add the absolute values, zero the blank lanes and reduce.
+ *
+ * The lookup tables must fit in one register, so boards with more tiles than lanes (3×3 and 4×4 on
+ * 256-bit hardware, 5×5 and up everywhere) use the scalar kernel. Memory gathers
+ * ({@code fromArray} with an index map) would lift that limit but crash C2 on JDK 17 with AVX-512.
+ */
+final class VectorManhattanBatch extends ManhattanBatch {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    private final ManhattanBatch scalar = ManhattanBatch.scalar();
+
+    private VectorManhattanBatch() { }
+
+    static ManhattanBatch create() {
+        return new VectorManhattanBatch();
+    }
+
+    @Override
+    int stride(int tileCount) {
+        return tileCount <= LANES ? LANES : scalar.stride(tileCount);
+    }
+
+    @Override
+    void estimate(int[] tiles, int width, int count, int[] estimates) {
+        int tileCount = width * width;
+        if (tileCount > LANES) {
+            scalar.estimate(tiles, width, count, estimates);
+            return;
+        }
+        Tables tables = tables(width);
+        IntVector goalRowOfTile = IntVector.fromArray(SPECIES, tables.goalRowOfTile, 0);
+        IntVector goalColOfTile = IntVector.fromArray(SPECIES, tables.goalColOfTile, 0);
+        IntVector row = IntVector.fromArray(SPECIES, tables.rowOfCell, 0);
+        IntVector col = IntVector.fromArray(SPECIES, tables.colOfCell, 0);
+        IntVector zero = IntVector.zero(SPECIES);
+        for (int board = 0; board < count; board++) {
+            IntVector tile = IntVector.fromArray(SPECIES, tiles, board * LANES);
+            VectorMask<Integer> blank = tile.compare(VectorOperators.EQ, 0);
+            IntVector goalRow = tile.selectFrom(goalRowOfTile);
+            IntVector goalCol = tile.selectFrom(goalColOfTile);
+            IntVector distance = row.sub(goalRow).abs().add(col.sub(goalCol).abs()).blend(zero, blank);
+            estimates[board] = distance.reduceLanes(VectorOperators.ADD);
+        }
+    }
+
+    @Override
+    String kind() {
+        return "vector";
+    }
+}
@@ -0,0 +1,205 @@
+package heuristic;
+
+import model.PuzzleState;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Walking-distance (WD) heuristic for boards up to 4×4.
+ *
+ * Definition:
+ *  - Row view: describe the board by a w×w count matrix m[r][g] = number of tiles in row r whose
+ *    goal row is g (the blank is implied by the row holding w-1 tiles). Only vertical moves change
+ *    this matrix, and each changes it by moving one tile between adjacent rows.
+ *  - A BFS from the goal matrix over all reachable matrices gives the exact number of vertical moves
+ *    needed to fix the row distribution. The column view is the same problem transposed, so one
+ *    table serves both; h = rowWD + colWD.
+ *  - Admissible and much stronger than Manhattan on 4×4 because it accounts for tiles of the same
+ *    row/column group blocking each other.
+ *
+ * Cost:
+ *  - Tables are built once per width on first use (4×4: ~25k matrices, a few ms) and shared.
+ *  - A lookup packs both matrices into 64-bit keys (3 bits per count) from precomputed per-(cell, tile)
+ *    increments and probes an open-addressing table: O(w²) to pack, O(1) to look up.
+ */
+@Component
+public class WalkingDistanceHeuristic implements Heuristic {
+
+    /** Largest width supported; 5×5 tables grow past what is reasonable to build at runtime. */
+    public static final int MAX_WIDTH = 4;
+
+    /** Lazily built tables indexed by width. */
+    private final AtomicReferenceArray<Table> tablesByWidth = new AtomicReferenceArray<>(MAX_WIDTH + 1);
+
+    /**
+     * Estimate remaining moves as vertical WD + horizontal WD.
+     *
+     * @param state non-null puzzle state with width <= {@value #MAX_WIDTH}
+     * @return non-negative heuristic value (0 for the goal state)
+     * @throws IllegalArgumentException if state is null or the board is too wide
+     */
+    @Override
+    public int estimate(PuzzleState state) {
+        if (state == null) {
+            throw new IllegalArgumentException("state cannot be null.");
+        }
+        Table table = tableFor(state.width());
+
+        int tileCount = state.size();
+        long rowKey = 0L;
+        long colKey = 0L;
+        for (int index = 0; index < tileCount; index++) {
+            int cellTile = index * tileCount + state.tileAt(index);
+            rowKey += table.rowIncrement[cellTile];
+            colKey += table.colIncrement[cellTile];
+        }
+        return table.distance(rowKey) + table.distance(colKey);
+    }
+
+    /** @return true if this heuristic can score boards of the given width. */
+    @Override
+    public boolean supportsWidth(int width) {
+        return width >= PuzzleState.MIN_WIDTH && width <= MAX_WIDTH;
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    private Table tableFor(int width) {
+        if (!supportsWidth(width)) {
+            throw new IllegalArgumentException("Walking distance supports boards up to "
+                    + MAX_WIDTH + "×" + MAX_WIDTH + " (got width " + width + ").");
+        }
+        Table table = tablesByWidth.get(width);
+        if (table == null) {
+            synchronized (tablesByWidth) {
+                table = tablesByWidth.get(width);
+                if (table == null) {
+                    table = new Table(width);
+                    tablesByWidth.set(width, table);
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * WD distances for one width, stored in an open-addressing (key → distance) table.
+     */
+    private static final class Table {
+
+        private final int width;
+
+        /** Key contribution of tile t sitting at cell i, indexed by i * w² + t (0 for the blank). */
+        private final long[] rowIncrement;
+        private final long[] colIncrement;
+
+        /** Open-addressing slots; 0 marks an empty slot (no valid matrix packs to 0). */
+        private final long[] slotKeys;
+        private final byte[] slotDistances;
+        private final int slotMask;
+
+        Table(int width) {
+            this.width = width;
+            int tileCount = width * width;
+
+            this.rowIncrement = new long[tileCount * tileCount];
+            this.colIncrement = new long[tileCount * tileCount];
+            for (int index = 0; index < tileCount; index++) {
+                for (int tile = 1; tile < tileCount; tile++) {
+                    int goalIndex = tile - 1;
+                    rowIncrement[index * tileCount + tile] = 1L << shift(index / width, goalIndex / width);
+                    colIncrement[index * tileCount + tile] = 1L << shift(index % width, goalIndex % width);
+                }
+            }
+
+            Map<Long, Integer> distances = breadthFirstFromGoal();
+
+            int capacity = Integer.highestOneBit(distances.size() * 2 - 1) << 1;
+            this.slotKeys = new long[capacity];
+            this.slotDistances = new byte[capacity];
+            this.slotMask = capacity - 1;
+            for (Map.Entry<Long, Integer> entry : distances.entrySet()) {
+                int slot = slotOf(entry.getKey());
+                while (slotKeys[slot] != 0L) {
+                    slot = (slot + 1) & slotMask;
+                }
+                slotKeys[slot] = entry.getKey();
+                slotDistances[slot] = (byte) (int) entry.getValue();
+            }
+        }
+
+        int distance(long key) {
+            int slot = slotOf(key);
+            long probe;
+            while ((probe = slotKeys[slot]) != key) {
+                if (probe == 0L) {
+                    throw new IllegalStateException("Walking-distance key not found; invalid board?");
+                }
+                slot = (slot + 1) & slotMask;
+            }
+            return slotDistances[slot];
+        }
+
+        /** BFS over count matrices; each step moves one tile from a row adjacent to the blank's row into it. */
+        private Map<Long, Integer> breadthFirstFromGoal() {
+            long goalKey = 0L;
+            for (int row = 0; row < width; row++) {
+                int count = (row == width - 1) ? width - 1 : width;
+                goalKey += ((long) count) << shift(row, row);
+            }
+
+            Map<Long, Integer> distances = new HashMap<>();
+            ArrayDeque<Long> queue = new ArrayDeque<>();
+            distances.put(goalKey, 0);
+            queue.add(goalKey);
+
+            while (!queue.isEmpty()) {
+                long key = queue.removeFirst();
+                int nextDistance = distances.get(key) + 1;
+                int blankRow = blankRowOf(key);
+
+                for (int fromRow = blankRow - 1; fromRow <= blankRow + 1; fromRow += 2) {
+                    if (fromRow < 0 || fromRow >= width) continue;
+                    for (int group = 0; group < width; group++) {
+                        if (countAt(key, fromRow, group) == 0) continue;
+                        long next = key - (1L << shift(fromRow, group)) + (1L << shift(blankRow, group));
+                        if (distances.putIfAbsent(next, nextDistance) == null) {
+                            queue.addLast(next);
+                        }
+                    }
+                }
+            }
+            return distances;
+        }
+
+        /** The blank's row is the only row holding w-1 tiles. */
+        private int blankRowOf(long key) {
+            for (int row = 0; row < width; row++) {
+                int rowTotal = 0;
+                for (int group = 0; group < width; group++) {
+                    rowTotal += countAt(key, row, group);
+                }
+                if (rowTotal == width - 1) return row;
+            }
+            throw new IllegalStateException("No blank row in walking-distance key " + key);
+        }
+
+        private int countAt(long key, int row, int group) {
+            return (int) ((key >>> shift(row, group)) & 7L);
+        }
+
+        private int shift(int row, int group) {
+            return 3 * (row * width + group);
+        }
+
+        private int slotOf(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & slotMask;
+        }
+    }
+}
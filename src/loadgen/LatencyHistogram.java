@@ -0,0 +1,84 @@
+package loadgen;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HdrHistogram-style log-linear buckets.
+ *
+ * Layout:
+ *  - Values below 128 µs get one bucket each; above that, every power of two is split into 64
+ *    equal sub-buckets, so any recorded value is reported within 1/64 (~1.6%) of its true value.
+ *  - Values are microseconds; the table covers everything a long can hold in about 30 KB.
+ *
+ * Recording is safe from any number of threads (HttpClient completion threads record directly).
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int HALF_SUB_BUCKETS = 1 << (SUB_BUCKET_BITS - 1);
+
+    private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BUCKET_BITS + 2) * HALF_SUB_BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /** Record one latency in nanoseconds. */
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1_000L);
+        counts.incrementAndGet(indexOf(micros));
+        totalCount.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public double getMeanMillis() {
+        long count = totalCount.sum();
+        return count == 0 ? 0.0 : totalMicros.sum() / (count * 1_000.0);
+    }
+
+    public double getMaxMillis() {
+        return maxMicros.get() / 1_000.0;
+    }
+
+    /**
+     * @param quantile 0..1 (0.999 for p999)
+     * @return the smallest recorded latency, in ms, that at least {@code quantile} of samples do not exceed
+     *         (upper edge of its bucket, capped at the maximum); 0 when empty
+     */
+    public double percentileMillis(double quantile) {
+        long count = totalCount.sum();
+        if (count == 0) return 0.0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int index = 0; index < counts.length(); index++) {
+            seen += counts.get(index);
+            if (seen >= rank) {
+                return Math.min(highestEquivalent(index), maxMicros.get()) / 1_000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /** Bucket 0 holds 0..127 exactly; bucket b ≥ 1 holds [64·2^b, 128·2^b) in steps of 2^b. */
+    static int indexOf(long micros) {
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros | 1);
+        int bucket = Math.max(0, magnitude - (SUB_BUCKET_BITS - 1));
+        if (bucket == 0) return (int) micros;
+        int subBucket = (int) (micros >>> bucket);
+        return (bucket + 1) * HALF_SUB_BUCKETS + (subBucket - HALF_SUB_BUCKETS);
+    }
+
+    /** Largest value that lands in {@code index}. */
+    static long highestEquivalent(int index) {
+        if (index < 2 * HALF_SUB_BUCKETS) return index;
+        int bucket = index / HALF_SUB_BUCKETS - 1;
+        long subBucket = index % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << bucket) - 1;
+    }
+}
@@ -0,0 +1,265 @@
+package loadgen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dto.DatasetExportRequest.DifficultyBucket;
+import service.ShuffleService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Open-loop HTTP load generator for the puzzle API.
+ *
+ * How it drives load:
+ *  - One scheduler thread issues requests on a fixed timetable (1/rps apart) with
+ *    {@link HttpClient#sendAsync}, so a slow server does not slow the sender down. Responses complete
+ *    on the client's own threads; no thread is parked per request.
+ *  - Latency is measured from the request's scheduled time, not from when it was actually sent. If
+ *    the scheduler falls behind, the wait counts against the server ("coordinated omission" corrected).
+ *  - Boards come from a seeded local shuffle, one pool per difficulty bucket, so two runs with the
+ *    same plan send the same requests in the same order.
+ *
+ * Latencies are recorded for successful (2xx) responses only; everything else is counted by status.
+ */
+public class LoadGenerator {
+
+    /** Boards pre-shuffled per difficulty bucket. */
+    private static final int BOARDS_PER_BUCKET = 256;
+
+    private static final String ALL = "all";
+
+    private final LoadPlan plan;
+    private final HttpClient client;
+    private final ObjectMapper json = new ObjectMapper();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final SplittableRandom random;
+    private final WeightedChoice<String> endpoints;
+    private final WeightedChoice<String> algorithms;
+    private final WeightedChoice<Integer> buckets;
+    private final List<DifficultyBucket> difficulty;
+    private final int[][][] boards;
+
+    public LoadGenerator(LoadPlan plan) {
+        this.plan = plan;
+        for (String endpoint : plan.getEndpointMix().keySet()) {
+            if (!endpoint.equals(LoadPlan.SOLVE) && !endpoint.equals(LoadPlan.SHUFFLE) && !endpoint.equals(LoadPlan.VALIDATE)) {
+                throw new IllegalArgumentException("Unknown endpoint '" + endpoint + "' (expected solve, shuffle, validate).");
+            }
+        }
+        if (plan.getRpsSteps().isEmpty() || plan.getRpsSteps().stream().anyMatch(rps -> rps <= 0)) {
+            throw new IllegalArgumentException("rps steps must be positive.");
+        }
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(plan.getTimeoutMs()))
+                .build();
+        this.random = new SplittableRandom(plan.getSeed());
+        this.endpoints = new WeightedChoice<>(plan.getEndpointMix());
+        this.algorithms = new WeightedChoice<>(plan.getAlgorithmMix());
+
+        this.difficulty = plan.getDifficulty();
+        Map<Integer, Integer> bucketWeights = new LinkedHashMap<>();
+        for (int index = 0; index < difficulty.size(); index++) {
+            bucketWeights.put(index, difficulty.get(index).getWeight());
+        }
+        this.buckets = new WeightedChoice<>(bucketWeights);
+
+        ShuffleService shuffleService = new ShuffleService();
+        SplittableRandom boardRandom = random.split();
+        this.boards = new int[difficulty.size()][BOARDS_PER_BUCKET][];
+        for (int bucket = 0; bucket < difficulty.size(); bucket++) {
+            for (int index = 0; index < BOARDS_PER_BUCKET; index++) {
+                boards[bucket][index] = shuffleService.shuffle(
+                        difficulty.get(bucket).getShuffleSteps(), plan.getSize(), boardRandom).getShuffledState();
+            }
+        }
+    }
+
+    /**
+     * Warm up at the first step's rate (not recorded), then run every step in order.
+     *
+     * @param onStep called after each measured step (progress output)
+     */
+    public LoadReport run(Consumer<LoadReport.Step> onStep) {
+        LoadReport report = new LoadReport(plan);
+        if (plan.getWarmupSeconds() > 0) {
+            runStep(plan.getRpsSteps().get(0), plan.getWarmupSeconds());
+        }
+        for (int rps : plan.getRpsSteps()) {
+            LoadReport.Step step = runStep(rps, plan.getStepSeconds());
+            report.getSteps().add(step);
+            if (onStep != null) onStep.accept(step);
+        }
+        return report;
+    }
+
+    /** Send at {@code rps} for {@code seconds}, then wait (up to the request timeout) for stragglers. */
+    public LoadReport.Step runStep(int rps, int seconds) {
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        recorders.put(ALL, new Recorder());
+        for (String endpoint : plan.getEndpointMix().keySet()) {
+            recorders.put(endpoint, new Recorder());
+        }
+        Recorder all = recorders.get(ALL);
+
+        long intervalNanos = 1_000_000_000L / rps;
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        for (long sent = 0; ; sent++) {
+            long scheduled = start + sent * intervalNanos;
+            if (scheduled >= end) break;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+
+            String endpoint = endpoints.pick(random);
+            Recorder recorder = recorders.get(endpoint);
+            if (inFlight.incrementAndGet() > plan.getMaxInFlight()) {
+                inFlight.decrementAndGet();
+                recorder.fail("dropped");
+                all.fail("dropped");
+                continue;
+            }
+            client.sendAsync(buildRequest(endpoint), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long latency = System.nanoTime() - scheduled;
+                        inFlight.decrementAndGet();
+                        String outcome = outcomeOf(response, error);
+                        if (outcome == null) {
+                            recorder.succeed(latency);
+                            all.succeed(latency);
+                        } else {
+                            recorder.fail(outcome);
+                            all.fail(outcome);
+                        }
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + plan.getTimeoutMs() * 1_000_000L;
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(1_000_000L);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, LoadReport.Stats> stats = new LinkedHashMap<>();
+        for (Map.Entry<String, Recorder> entry : recorders.entrySet()) {
+            stats.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return new LoadReport.Step(rps, elapsedSeconds, stats);
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    private HttpRequest buildRequest(String endpoint) {
+        int bucket = buckets.pick(random);
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(Duration.ofMillis(plan.getTimeoutMs()))
+                .header("X-Client-Id", plan.getClientId());
+        switch (endpoint) {
+            case LoadPlan.SHUFFLE:
+                return builder.uri(URI.create(plan.getBaseUrl() + "/api/puzzle/shuffle?steps="
+                        + difficulty.get(bucket).getShuffleSteps() + "&size=" + plan.getSize())).GET().build();
+            case LoadPlan.VALIDATE:
+                return post(builder, "/api/puzzle/validate", Map.of("puzzleState", randomBoard(bucket)));
+            default:
+                return post(builder, "/api/puzzle/solve",
+                        Map.of("startState", randomBoard(bucket), "selectedAlgorithm", algorithms.pick(random)));
+        }
+    }
+
+    private HttpRequest post(HttpRequest.Builder builder, String path, Map<String, Object> body) {
+        try {
+            return builder.uri(URI.create(plan.getBaseUrl() + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int[] randomBoard(int bucket) {
+        return boards[bucket][random.nextInt(BOARDS_PER_BUCKET)];
+    }
+
+    /** @return null for a 2xx response, otherwise the status code, "timeout" or "io". */
+    private static String outcomeOf(HttpResponse<?> response, Throwable error) {
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            return (cause instanceof HttpTimeoutException) ? "timeout" : "io";
+        }
+        int status = response.statusCode();
+        return (status >= 200 && status < 300) ? null : String.valueOf(status);
+    }
+
+    /** Per-endpoint counters for one step; updated from HttpClient completion threads. */
+    private static final class Recorder {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder ok = new LongAdder();
+        private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+        void succeed(long latencyNanos) {
+            latency.recordNanos(latencyNanos);
+            ok.increment();
+        }
+
+        void fail(String outcome) {
+            failures.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+
+        LoadReport.Stats snapshot() {
+            Map<String, Long> statusCounts = new LinkedHashMap<>();
+            failures.forEach((outcome, count) -> statusCounts.put(outcome, count.sum()));
+            long rejected = statusCounts.getOrDefault("429", 0L);
+            long dropped = statusCounts.getOrDefault("dropped", 0L);
+            return new LoadReport.Stats(ok.sum(), rejected, dropped, statusCounts, latency);
+        }
+    }
+
+    /** Picks keys with probability proportional to their weights. */
+    private static final class WeightedChoice<T> {
+
+        private final List<T> values = new ArrayList<>();
+        private final int[] cumulative;
+
+        WeightedChoice(Map<T, Integer> weights) {
+            cumulative = new int[weights.size()];
+            int total = 0;
+            for (Map.Entry<T, Integer> entry : weights.entrySet()) {
+                if (entry.getValue() < 0) {
+                    throw new IllegalArgumentException("Negative weight for '" + entry.getKey() + "'.");
+                }
+                total += entry.getValue();
+                cumulative[values.size()] = total;
+                values.add(entry.getKey());
+            }
+            if (total == 0) {
+                throw new IllegalArgumentException("Weights " + weights + " must not all be zero.");
+            }
+        }
+
+        T pick(SplittableRandom random) {
+            int target = random.nextInt(cumulative[cumulative.length - 1]);
+            for (int index = 0; ; index++) {
+                if (target < cumulative[index]) return values.get(index);
+            }
+        }
+    }
+}
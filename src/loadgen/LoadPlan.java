@@ -0,0 +1,174 @@
+package loadgen;
+
+import dto.DatasetExportRequest.DifficultyBucket;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a load run sends and how fast.
+ *
+ * Fields:
+ *  - baseUrl: the running service, e.g. http://localhost:8080.
+ *  - endpointMix: relative weights of "solve", "shuffle" and "validate" requests.
+ *  - algorithmMix: relative weights of selectedAlgorithm values for /solve (wire names: astar, bfs, ...).
+ *  - difficulty: shuffle-step buckets the /solve and /validate boards are drawn from.
+ *  - rpsSteps: target request rates, run one after another; several steps give a saturation curve.
+ *  - stepSeconds / warmupSeconds: measured time per step, and unmeasured traffic before the first step.
+ *  - maxInFlight: requests outstanding at once; a due request beyond it is counted as dropped.
+ *  - clientId: sent as X-Client-Id, so admission control treats the run as one client.
+ */
+public class LoadPlan {
+
+    public static final String SOLVE = "solve";
+    public static final String SHUFFLE = "shuffle";
+    public static final String VALIDATE = "validate";
+
+    private String baseUrl = "http://localhost:8080";
+    private int size = 3;
+    private long seed;
+    private Map<String, Integer> endpointMix = defaultEndpointMix();
+    private Map<String, Integer> algorithmMix = Map.of("astar", 1);
+    private List<DifficultyBucket> difficulty = defaultDifficulty();
+    private List<Integer> rpsSteps = List.of(50);
+    private int stepSeconds = 30;
+    private int warmupSeconds = 5;
+    private int timeoutMs = 30_000;
+    private int maxInFlight = 2_000;
+    private String clientId = "loadgen";
+
+    public LoadPlan() {}
+
+    // Getters / Setters
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public Map<String, Integer> getEndpointMix() {
+        return endpointMix;
+    }
+
+    public void setEndpointMix(Map<String, Integer> endpointMix) {
+        this.endpointMix = endpointMix;
+    }
+
+    public Map<String, Integer> getAlgorithmMix() {
+        return algorithmMix;
+    }
+
+    public void setAlgorithmMix(Map<String, Integer> algorithmMix) {
+        this.algorithmMix = algorithmMix;
+    }
+
+    public List<DifficultyBucket> getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(List<DifficultyBucket> difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public List<Integer> getRpsSteps() {
+        return rpsSteps;
+    }
+
+    public void setRpsSteps(List<Integer> rpsSteps) {
+        this.rpsSteps = rpsSteps;
+    }
+
+    public int getStepSeconds() {
+        return stepSeconds;
+    }
+
+    public void setStepSeconds(int stepSeconds) {
+        this.stepSeconds = stepSeconds;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public void setWarmupSeconds(int warmupSeconds) {
+        this.warmupSeconds = warmupSeconds;
+    }
+
+    public int getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public void setTimeoutMs(int timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(String clientId) {
+        this.clientId = clientId;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadPlan{" +
+                "baseUrl='" + baseUrl + '\'' +
+                ", size=" + size +
+                ", seed=" + seed +
+                ", endpointMix=" + endpointMix +
+                ", algorithmMix=" + algorithmMix +
+                ", difficulty=" + difficulty +
+                ", rpsSteps=" + rpsSteps +
+                ", stepSeconds=" + stepSeconds +
+                ", warmupSeconds=" + warmupSeconds +
+                ", timeoutMs=" + timeoutMs +
+                ", maxInFlight=" + maxInFlight +
+                ", clientId='" + clientId + '\'' +
+                '}';
+    }
+
+    private static Map<String, Integer> defaultEndpointMix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        mix.put(SOLVE, 8);
+        mix.put(SHUFFLE, 1);
+        mix.put(VALIDATE, 1);
+        return mix;
+    }
+
+    private static List<DifficultyBucket> defaultDifficulty() {
+        List<DifficultyBucket> buckets = new ArrayList<>();
+        buckets.add(new DifficultyBucket(20, 1));
+        buckets.add(new DifficultyBucket(200, 1));
+        return buckets;
+    }
+}
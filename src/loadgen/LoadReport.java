@@ -0,0 +1,242 @@
+package loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a load run: one {@link Step} per target rate, which together form the saturation curve.
+ *
+ * A step is "saturated" when the service delivered less than 95% of the target rate or more than 1%
+ * of requests failed; {@link #getSaturationRps()} is the best rate achieved before the first such step.
+ *
+ * Written as JSON (the whole report) or CSV (one row per step and endpoint, endpoint "all" included).
+ */
+public class LoadReport {
+
+    static final double SATURATION_THROUGHPUT = 0.95;
+    static final double SATURATION_ERROR_RATE = 0.01;
+
+    private LoadPlan plan;
+    private List<Step> steps = new ArrayList<>();
+
+    public LoadReport() {}
+
+    public LoadReport(LoadPlan plan) {
+        this.plan = plan;
+    }
+
+    public LoadPlan getPlan() {
+        return plan;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /** @return highest achieved rate among the steps before the first saturated one (0 if the first is). */
+    public double getSaturationRps() {
+        double best = 0.0;
+        for (Step step : steps) {
+            if (step.isSaturated()) break;
+            best = Math.max(best, step.getAchievedRps());
+        }
+        return best;
+    }
+
+    public void writeJson(OutputStream out) throws IOException {
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, this);
+    }
+
+    public void writeCsv(OutputStream out) {
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.println("targetRps,achievedRps,saturated,endpoint,requests,ok,errors,rejected,dropped,errorRate,"
+                + "meanMs,p50Ms,p90Ms,p99Ms,p999Ms,maxMs");
+        for (Step step : steps) {
+            for (Map.Entry<String, Stats> entry : step.getEndpoints().entrySet()) {
+                Stats stats = entry.getValue();
+                writer.println(step.getTargetRps() + "," + round(step.getAchievedRps()) + "," + step.isSaturated()
+                        + "," + entry.getKey() + "," + stats.getRequests() + "," + stats.getOk()
+                        + "," + stats.getErrors() + "," + stats.getRejected() + "," + stats.getDropped()
+                        + "," + round(stats.getErrorRate()) + "," + stats.getMeanMs() + "," + stats.getP50Ms()
+                        + "," + stats.getP90Ms() + "," + stats.getP99Ms() + "," + stats.getP999Ms()
+                        + "," + stats.getMaxMs());
+            }
+        }
+        writer.flush();
+    }
+
+    static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    /** One target rate held for the step duration. */
+    public static class Step {
+
+        private int targetRps;
+        private double seconds;
+        private double achievedRps;
+        private boolean saturated;
+        /** "all" first, then one entry per endpoint in the mix. */
+        private Map<String, Stats> endpoints = new LinkedHashMap<>();
+
+        public Step() {}
+
+        public Step(int targetRps, double seconds, Map<String, Stats> endpoints) {
+            this.targetRps = targetRps;
+            this.seconds = round(seconds);
+            this.endpoints = endpoints;
+            Stats all = endpoints.get("all");
+            this.achievedRps = round(seconds > 0 ? all.getOk() / seconds : 0.0);
+            this.saturated = achievedRps < SATURATION_THROUGHPUT * targetRps
+                    || all.getErrorRate() > SATURATION_ERROR_RATE;
+        }
+
+        public int getTargetRps() {
+            return targetRps;
+        }
+
+        public double getSeconds() {
+            return seconds;
+        }
+
+        public double getAchievedRps() {
+            return achievedRps;
+        }
+
+        public boolean isSaturated() {
+            return saturated;
+        }
+
+        public Map<String, Stats> getEndpoints() {
+            return endpoints;
+        }
+
+        @Override
+        public String toString() {
+            return "Step{" +
+                    "targetRps=" + targetRps +
+                    ", seconds=" + seconds +
+                    ", achievedRps=" + achievedRps +
+                    ", saturated=" + saturated +
+                    ", endpoints=" + endpoints +
+                    '}';
+        }
+    }
+
+    /**
+     * Outcome counts and latency percentiles for one endpoint (or "all").
+     * errors = every request that did not succeed: rejected (429), dropped (client over maxInFlight),
+     * other HTTP statuses, timeouts and I/O failures; statusCounts breaks them down.
+     */
+    public static class Stats {
+
+        private long requests;
+        private long ok;
+        private long errors;
+        private long rejected;
+        private long dropped;
+        private double errorRate;
+        private double meanMs;
+        private double p50Ms;
+        private double p90Ms;
+        private double p99Ms;
+        private double p999Ms;
+        private double maxMs;
+        private Map<String, Long> statusCounts = new LinkedHashMap<>();
+
+        public Stats() {}
+
+        public Stats(long ok, long rejected, long dropped, Map<String, Long> statusCounts, LatencyHistogram latency) {
+            long failed = 0;
+            for (long count : statusCounts.values()) failed += count;
+            this.ok = ok;
+            this.rejected = rejected;
+            this.dropped = dropped;
+            this.errors = failed;
+            this.requests = ok + failed;
+            this.statusCounts = statusCounts;
+            this.errorRate = requests == 0 ? 0.0 : round((double) errors / requests);
+            this.meanMs = round(latency.getMeanMillis());
+            this.p50Ms = round(latency.percentileMillis(0.50));
+            this.p90Ms = round(latency.percentileMillis(0.90));
+            this.p99Ms = round(latency.percentileMillis(0.99));
+            this.p999Ms = round(latency.percentileMillis(0.999));
+            this.maxMs = round(latency.getMaxMillis());
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getOk() {
+            return ok;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public long getDropped() {
+            return dropped;
+        }
+
+        public double getErrorRate() {
+            return errorRate;
+        }
+
+        public double getMeanMs() {
+            return meanMs;
+        }
+
+        public double getP50Ms() {
+            return p50Ms;
+        }
+
+        public double getP90Ms() {
+            return p90Ms;
+        }
+
+        public double getP99Ms() {
+            return p99Ms;
+        }
+
+        public double getP999Ms() {
+            return p999Ms;
+        }
+
+        public double getMaxMs() {
+            return maxMs;
+        }
+
+        public Map<String, Long> getStatusCounts() {
+            return statusCounts;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "requests=" + requests +
+                    ", ok=" + ok +
+                    ", errors=" + errors +
+                    ", p50Ms=" + p50Ms +
+                    ", p99Ms=" + p99Ms +
+                    ", p999Ms=" + p999Ms +
+                    ", maxMs=" + maxMs +
+                    '}';
+        }
+    }
+}
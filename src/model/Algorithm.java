@@ -5,12 +5,19 @@ import com.fasterxml.jackson.annotation.JsonValue;
 
 /**
  * Algorithm selection for solving the 8-puzzle.
- * JSON: accepts "astar", "bfs", "dfs" (case-insensitive) and serializes back as lowercase.
+ * JSON: accepts "astar", "bfs", "dfs", "auto", "portfolio", "reduction" (case-insensitive) and serializes back as lowercase.
+ *
+ * AUTO is resolved per board by the service layer to the fastest calibrated {@link Engine}; PORTFOLIO
+ * races several engines and keeps the first answer. Neither has a solver of its own. REDUCTION is the fast,
+ * suboptimal constructive solver for large boards ({@code solver.ReductionSolver}). New constants must be appended (ordinals are persisted by the solve store).
  */
 public enum Algorithm {
     ASTAR("astar"),
     BFS("bfs"),
-    DFS("dfs");
+    DFS("dfs"),
+    AUTO("auto"),
+    PORTFOLIO("portfolio"),
+    REDUCTION("reduction");
 
     private final String wireName;
 
@@ -32,6 +39,6 @@ public enum Algorithm {
         for (Algorithm alg : values()) {
             if (alg.wireName.equals(normalized)) return alg;
         }
-        throw new IllegalArgumentException("Unsupported algorithm: " + value + " (expected: astar, bfs, dfs)");
+        throw new IllegalArgumentException("Unsupported algorithm: " + value + " (expected: astar, bfs, dfs, auto, portfolio, reduction)");
     }
 }
@@ -0,0 +1,59 @@
+package model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Concrete search engines that {@link Algorithm#AUTO} and {@link Algorithm#PORTFOLIO} dispatch to.
+ *
+ * Each engine is a solver plus (for A* and IDA*) a heuristic. INDEX (walks the precomputed 3×3 distance
+ * index), IDA*, bidirectional BFS and parallel BFS have no {@link Algorithm} of their own. The perimeter
+ * engines search towards the goal perimeter instead of the goal (see {@code solver.GoalPerimeter}).
+ */
+public enum Engine {
+    INDEX("index", null, null),
+    ASTAR_MANHATTAN("astar+manhattan", Algorithm.ASTAR, HeuristicType.MANHATTAN),
+    ASTAR_WALKING_DISTANCE("astar+walking-distance", Algorithm.ASTAR, HeuristicType.WALKING_DISTANCE),
+    BFS("bfs", Algorithm.BFS, null),
+    IDASTAR_MANHATTAN("idastar+manhattan", null, HeuristicType.MANHATTAN),
+    IDASTAR_WALKING_DISTANCE("idastar+walking-distance", null, HeuristicType.WALKING_DISTANCE),
+    BIDIRECTIONAL_BFS("bidirectional-bfs", null, null),
+    PARALLEL_BFS("parallel-bfs", null, null),
+    ASTAR_PERIMETER("astar+perimeter", Algorithm.ASTAR, HeuristicType.MANHATTAN),
+    IDASTAR_PERIMETER("idastar+perimeter", null, HeuristicType.MANHATTAN);
+
+    private final String wireName;
+    private final Algorithm algorithm;
+    private final HeuristicType heuristic;
+
+    Engine(String wireName, Algorithm algorithm, HeuristicType heuristic) {
+        this.wireName = wireName;
+        this.algorithm = algorithm;
+        this.heuristic = heuristic;
+    }
+
+    /** Token reported in API payloads (e.g., "astar+walking-distance"). */
+    @JsonValue
+    public String getWireName() {
+        return wireName;
+    }
+
+    /** Parser for engine lists in configuration (case-insensitive wire names). */
+    public static Engine fromString(String value) {
+        if (value == null) throw new IllegalArgumentException("Engine value cannot be null.");
+        String normalized = value.trim().toLowerCase();
+        for (Engine engine : values()) {
+            if (engine.wireName.equals(normalized)) return engine;
+        }
+        throw new IllegalArgumentException("Unsupported engine: " + value);
+    }
+
+    /** @return the SolverFactory algorithm behind this engine, or null if it has none. */
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /** @return the A* or IDA* heuristic, or null for engines without one. */
+    public HeuristicType getHeuristic() {
+        return heuristic;
+    }
+}
@@ -0,0 +1,39 @@
+package model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Heuristic selection for informed search (A*).
+ * JSON: accepts "manhattan", "walking-distance", "pattern-database" (case-insensitive) and serializes
+ * back as lowercase. "pattern-database" is only available when one is configured
+ * ({@code puzzle.heuristic.pattern-db.dir}).
+ */
+public enum HeuristicType {
+    MANHATTAN("manhattan"),
+    WALKING_DISTANCE("walking-distance"),
+    PATTERN_DATABASE("pattern-database");
+
+    private final String wireName;
+
+    HeuristicType(String wireName) {
+        this.wireName = wireName;
+    }
+
+    /** Canonical lowercase token used in API payloads (e.g., "manhattan"). */
+    @JsonValue
+    public String getWireName() {
+        return wireName;
+    }
+
+    /** Case-insensitive parser for incoming JSON strings. */
+    @JsonCreator
+    public static HeuristicType fromString(String value) {
+        if (value == null) throw new IllegalArgumentException("Heuristic value cannot be null.");
+        String normalized = value.trim().toLowerCase();
+        for (HeuristicType type : values()) {
+            if (type.wireName.equals(normalized)) return type;
+        }
+        throw new IllegalArgumentException("Unsupported heuristic: " + value + " (expected: manhattan, walking-distance, pattern-database)");
+    }
+}
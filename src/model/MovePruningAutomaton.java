@@ -0,0 +1,253 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Finite-state automaton that rejects move sequences known to be redundant, so searches can skip
+ * duplicate paths with one table lookup per move.
+ *
+ * Construction (once, at class load):
+ *  - Every move string up to {@value #MAX_PATTERN_LENGTH} moves is replayed on an unbounded board, and
+ *    its effect is recorded: where the blank ends up, and which tiles moved where.
+ *  - A string is redundant if a shortlex-smaller string has the same effect and keeps the blank
+ *    within the cells this string visits. That second condition means the replacement is legal on
+ *    every board where the redundant string is legal. Examples are the reversals ("LR", "UD") and
+ *    the two ways of cycling the blank half-way round a 2×2 block.
+ *  - The minimal redundant strings are compiled into an Aho–Corasick automaton over the four moves.
+ *    A transition into any state that ends a redundant string is {@link #PRUNED}.
+ *
+ * Guarantee: the shortlex-smallest path to every board never contains a redundant string, so a
+ * tree search (IDA*, SMA*) that prunes with the automaton still finds an optimal solution. Searches
+ * with duplicate detection (A*, BFS) only know each node's last move, which limits them to
+ * reversal pruning via {@link #stateAfter(Move)}. That is also the only pruning that is always
+ * safe to combine with duplicate detection.
+ */
+public final class MovePruningAutomaton {
+
+    /** State before any move has been made. */
+    public static final int START = 0;
+
+    /** Transition result for a move that completes a redundant sequence. */
+    public static final int PRUNED = -1;
+
+    /** Longest redundant string searched for; longer patterns add states but rarely fire. */
+    static final int MAX_PATTERN_LENGTH = 8;
+
+    private static final Move[] MOVES = Move.values();
+    private static final int MOVE_COUNT = MOVES.length;
+
+    private static final MovePruningAutomaton STANDARD = new MovePruningAutomaton(findRedundantStrings());
+
+    /** transitions[state * 4 + move.ordinal()] = next state, or PRUNED. */
+    private final int[] transitions;
+    private final int patternCount;
+
+    private MovePruningAutomaton(List<Move[]> patterns) {
+        this.patternCount = patterns.size();
+        this.transitions = compile(patterns);
+    }
+
+    /** @return the shared automaton built from every redundant string up to the maximum length. */
+    public static MovePruningAutomaton standard() {
+        return STANDARD;
+    }
+
+    /**
+     * @return the state after {@code move} in {@code state}, or {@link #PRUNED} if the move would
+     *         complete a redundant sequence
+     */
+    public int next(int state, Move move) {
+        return transitions[state * MOVE_COUNT + move.ordinal()];
+    }
+
+    /** @return true if {@code move} may be taken in {@code state}. */
+    public boolean allows(int state, Move move) {
+        return transitions[state * MOVE_COUNT + move.ordinal()] != PRUNED;
+    }
+
+    /**
+     * State for a node that only knows its last move (null = root). This prunes a subset of what the
+     * full history would, which in practice means immediate reversals.
+     */
+    public int stateAfter(Move lastMove) {
+        return lastMove == null ? START : next(START, lastMove);
+    }
+
+    /** @return number of automaton states. */
+    public int stateCount() {
+        return transitions.length / MOVE_COUNT;
+    }
+
+    /** @return number of minimal redundant strings the automaton rejects. */
+    public int patternCount() {
+        return patternCount;
+    }
+
+    @Override
+    public String toString() {
+        return "MovePruningAutomaton{states=" + stateCount() + ", patterns=" + patternCount + '}';
+    }
+
+    // ---------------------------------------------------------------------
+    // Construction
+    // ---------------------------------------------------------------------
+
+    /**
+     * Shortlex enumeration of strings free of known redundant substrings; each new string is either
+     * redundant (recorded, not extended) or the representative of a new effect.
+     */
+    private static List<Move[]> findRedundantStrings() {
+        List<Move[]> redundant = new ArrayList<>();
+        Set<String> redundantKeys = new HashSet<>();
+        Map<String, List<Walk>> representatives = new HashMap<>();
+
+        Walk empty = new Walk(new Move[0]);
+        representatives.computeIfAbsent(empty.effectKey(), key -> new ArrayList<>()).add(empty);
+        ArrayDeque<Walk> layer = new ArrayDeque<>();
+        layer.add(empty);
+
+        for (int length = 1; length <= MAX_PATTERN_LENGTH; length++) {
+            ArrayDeque<Walk> nextLayer = new ArrayDeque<>();
+            for (Walk parent : layer) {
+                for (Move move : MOVES) {
+                    Move[] moves = Arrays.copyOf(parent.moves, length);
+                    moves[length - 1] = move;
+                    if (hasRedundantSuffix(moves, redundantKeys)) continue;
+
+                    Walk walk = new Walk(moves);
+                    List<Walk> sameEffect = representatives.computeIfAbsent(walk.effectKey(), key -> new ArrayList<>());
+                    boolean replaceable = false;
+                    for (Walk earlier : sameEffect) {
+                        if (walk.visited.containsAll(earlier.visited)) {
+                            replaceable = true;
+                            break;
+                        }
+                    }
+                    if (replaceable) {
+                        redundant.add(moves);
+                        redundantKeys.add(Arrays.toString(moves));
+                    } else {
+                        sameEffect.add(walk);
+                        nextLayer.add(walk);
+                    }
+                }
+            }
+            layer = nextLayer;
+        }
+        return redundant;
+    }
+
+    /** Proper suffixes of length >= 2 (prefixes were checked when the parent was enumerated). */
+    private static boolean hasRedundantSuffix(Move[] moves, Set<String> redundantKeys) {
+        for (int from = 1; from <= moves.length - 2; from++) {
+            if (redundantKeys.contains(Arrays.toString(Arrays.copyOfRange(moves, from, moves.length)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Aho–Corasick: trie of the patterns, failure links by BFS, then a dense transition table. */
+    private static int[] compile(List<Move[]> patterns) {
+        List<int[]> trie = new ArrayList<>();
+        List<Boolean> terminal = new ArrayList<>();
+        trie.add(newNode());
+        terminal.add(false);
+        for (Move[] pattern : patterns) {
+            int node = START;
+            for (Move move : pattern) {
+                int child = trie.get(node)[move.ordinal()];
+                if (child < 0) {
+                    child = trie.size();
+                    trie.get(node)[move.ordinal()] = child;
+                    trie.add(newNode());
+                    terminal.add(false);
+                }
+                node = child;
+            }
+            terminal.set(node, true);
+        }
+
+        int stateCount = trie.size();
+        int[] failure = new int[stateCount];
+        int[] goTo = new int[stateCount * MOVE_COUNT];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int m = 0; m < MOVE_COUNT; m++) {
+            int child = trie.get(START)[m];
+            goTo[m] = child < 0 ? START : child;
+            if (child >= 0) {
+                failure[child] = START;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.removeFirst();
+            terminal.set(node, terminal.get(node) || terminal.get(failure[node]));
+            for (int m = 0; m < MOVE_COUNT; m++) {
+                int child = trie.get(node)[m];
+                if (child < 0) {
+                    goTo[node * MOVE_COUNT + m] = goTo[failure[node] * MOVE_COUNT + m];
+                } else {
+                    failure[child] = goTo[failure[node] * MOVE_COUNT + m];
+                    goTo[node * MOVE_COUNT + m] = child;
+                    queue.add(child);
+                }
+            }
+        }
+
+        // Terminal states are never entered: moves into them are pruned instead.
+        for (int i = 0; i < goTo.length; i++) {
+            if (terminal.get(goTo[i])) goTo[i] = PRUNED;
+        }
+        return goTo;
+    }
+
+    private static int[] newNode() {
+        int[] children = new int[MOVE_COUNT];
+        Arrays.fill(children, -1);
+        return children;
+    }
+
+    /** A move string replayed on an unbounded board with the blank starting at (0, 0). */
+    private static final class Walk {
+
+        final Move[] moves;
+        final Set<Long> visited = new HashSet<>();
+        /** cell → original cell of the tile now on it, for displaced tiles only. */
+        final Map<Long, Long> displaced = new TreeMap<>();
+        long blank;
+
+        Walk(Move[] moves) {
+            this.moves = moves;
+            int row = 0;
+            int col = 0;
+            blank = cell(row, col);
+            visited.add(blank);
+            for (Move move : moves) {
+                row += move.getRowDelta();
+                col += move.getColDelta();
+                long target = cell(row, col);
+                long tile = displaced.containsKey(target) ? displaced.remove(target) : target;
+                if (tile != blank) displaced.put(blank, tile);
+                blank = target;
+                visited.add(blank);
+            }
+        }
+
+        String effectKey() {
+            return blank + ":" + displaced;
+        }
+
+        private static long cell(int row, int col) {
+            return ((long) row << 32) ^ (col & 0xFFFFFFFFL);
+        }
+    }
+}
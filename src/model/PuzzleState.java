@@ -6,60 +6,100 @@ import java.util.List;
 import java.util.Objects;
 
 /**
- * Immutable representation of a 3×3 8-puzzle board.
+ * Immutable representation of a square sliding-puzzle board (3×3 8-puzzle, 4×4 15-puzzle, ...).
  *
- * - Tiles are stored as a flat, row-major int[9] with values 0..8 (0 = blank).
+ * - Tiles are stored as a flat, row-major int[w×w] with values 0..w²-1 (0 = blank).
  * - Provides helpers for goal checks and neighbor generation (legal blank moves).
  * - Designed to be used as a value object (stable equals/hashCode for sets/maps).
  *
- * Note: Structural validity (length=9, values 0..8 each once) is verified elsewhere
- * in the validation/solvability layer; this class only enforces length=9 defensively.
+ * Note: Structural validity (values 0..w²-1 each once) is verified elsewhere in the
+ * validation/solvability layer; this class only enforces a square length defensively.
  */
 public final class PuzzleState {
 
-    /** Flat row-major goal state: [1,2,3,4,5,6,7,8,0]. */
-    private static final int[] GOAL_TILES = {1, 2, 3, 4, 5, 6, 7, 8, 0};
+    /** Smallest and largest supported board widths. */
+    public static final int MIN_WIDTH = 2;
+    public static final int MAX_WIDTH = 16;
+
+    /** Flat row-major goal states per width, e.g. [1,2,3,4,5,6,7,8,0] for 3×3. */
+    private static final int[][] GOAL_TILES_BY_WIDTH = new int[MAX_WIDTH + 1][];
 
     /**
-     * Precomputed neighbor indices for the 3×3 grid.
-     * For each blank index (0..8), list the indices that can slide into it.
+     * Precomputed neighbor indices per width.
+     * For each blank index, list the indices that can slide into it (ascending: up, left, right, down).
      *
-     * Index layout:
+     * Index layout for 3×3:
      *   0 1 2
      *   3 4 5
      *   6 7 8
      */
-    private static final int[][] BLANK_NEIGHBOR_INDICES = new int[][]{
-            /* 0 */ {1, 3},
-            /* 1 */ {0, 2, 4},
-            /* 2 */ {1, 5},
-            /* 3 */ {0, 4, 6},
-            /* 4 */ {1, 3, 5, 7},
-            /* 5 */ {2, 4, 8},
-            /* 6 */ {3, 7},
-            /* 7 */ {4, 6, 8},
-            /* 8 */ {5, 7}
-    };
+    private static final int[][][] BLANK_NEIGHBOR_INDICES_BY_WIDTH = new int[MAX_WIDTH + 1][][];
+
+    static {
+        for (int width = MIN_WIDTH; width <= MAX_WIDTH; width++) {
+            int tileCount = width * width;
+
+            int[] goal = new int[tileCount];
+            for (int index = 0; index < tileCount - 1; index++) {
+                goal[index] = index + 1;
+            }
+            GOAL_TILES_BY_WIDTH[width] = goal;
+
+            int[][] neighbors = new int[tileCount][];
+            for (int index = 0; index < tileCount; index++) {
+                int row = index / width;
+                int col = index % width;
+                int[] candidates = new int[4];
+                int count = 0;
+                if (row > 0)         candidates[count++] = index - width;
+                if (col > 0)         candidates[count++] = index - 1;
+                if (col < width - 1) candidates[count++] = index + 1;
+                if (row < width - 1) candidates[count++] = index + width;
+                neighbors[index] = Arrays.copyOf(candidates, count);
+            }
+            BLANK_NEIGHBOR_INDICES_BY_WIDTH[width] = neighbors;
+        }
+    }
 
     /** Internal immutable storage for the board tiles. */
     private final int[] tiles;
 
+    /** Board width (tiles.length == width * width). */
+    private final int width;
+
+    /** Index of the blank, located once at construction (neighbors() and heuristics need it often). */
+    private final int blankIndex;
+
     /** Cache hashCode because this value object is frequently used in hash sets/maps. */
     private final int cachedHashCode;
 
     /**
-     * Construct an immutable board from a flat int[9] (defensive copy).
-     * @param sourceTiles flat row-major array (length must be 9)
-     * @throws IllegalArgumentException if array length is not 9
+     * Construct an immutable board from a flat square array (defensive copy).
+     * @param sourceTiles flat row-major array (length must be w×w, w = 2..16) containing one blank (0)
+     * @throws IllegalArgumentException if the array is not square or has no blank
      */
     public PuzzleState(int[] sourceTiles) {
-        if (sourceTiles == null || sourceTiles.length != 9) {
-            throw new IllegalArgumentException("PuzzleState requires an int[9] array.");
+        if (sourceTiles == null) {
+            throw new IllegalArgumentException("PuzzleState requires a non-null tile array.");
+        }
+        this.width = widthOf(sourceTiles.length);
+        if (this.width < 0) {
+            throw new IllegalArgumentException("PuzzleState requires a square int[w×w] array (w = "
+                    + MIN_WIDTH + ".." + MAX_WIDTH + "), got length " + sourceTiles.length + ".");
         }
-        this.tiles = Arrays.copyOf(sourceTiles, 9);
+        this.tiles = Arrays.copyOf(sourceTiles, sourceTiles.length);
+        this.blankIndex = findBlank(this.tiles);
         this.cachedHashCode = Arrays.hashCode(this.tiles);
     }
 
+    /** Trusted constructor for neighbor generation (array is already a private copy). */
+    private PuzzleState(int[] ownedTiles, int width, int blankIndex) {
+        this.tiles = ownedTiles;
+        this.width = width;
+        this.blankIndex = blankIndex;
+        this.cachedHashCode = Arrays.hashCode(ownedTiles);
+    }
+
     /**
      * @return a defensive copy of the internal tiles (maintains immutability).
      */
@@ -68,22 +108,43 @@ public final class PuzzleState {
     }
 
     /**
-     * @return true if this state equals the canonical goal state [1..8,0].
+     * @return the tile value at a flat row-major index (no copy; for hot loops such as heuristics).
+     */
+    public int tileAt(int index) {
+        return tiles[index];
+    }
+
+    /**
+     * Copy the tiles into {@code destination} starting at {@code offset} (for batch heuristics that
+     * lay several boards out in one flat array).
+     */
+    public void copyTiles(int[] destination, int offset) {
+        System.arraycopy(tiles, 0, destination, offset, tiles.length);
+    }
+
+    /** @return the board width (3 for the 8-puzzle, 4 for the 15-puzzle). */
+    public int width() {
+        return width;
+    }
+
+    /** @return the number of cells on the board (width²). */
+    public int size() {
+        return tiles.length;
+    }
+
+    /**
+     * @return true if this state equals the canonical goal state [1..n-1,0] for its width.
      */
     public boolean isGoal() {
-        // Fast path: compare to precomputed GOAL_TILES
-        return Arrays.equals(this.tiles, GOAL_TILES);
+        // Fast path: compare to precomputed goal tiles for this width
+        return Arrays.equals(this.tiles, GOAL_TILES_BY_WIDTH[width]);
     }
 
     /**
-     * @return index (0..8) of the blank tile (value 0).
-     * @throws IllegalStateException if no blank is found (should not happen for valid states)
+     * @return index of the blank tile (value 0).
      */
     public int indexOfBlank() {
-        for (int index = 0; index < 9; index++) {
-            if (tiles[index] == 0) return index;
-        }
-        throw new IllegalStateException("Blank tile (0) not found in state.");
+        return blankIndex;
     }
 
     /**
@@ -93,40 +154,80 @@ public final class PuzzleState {
      * @return list of Neighbor objects (state + move); order is deterministic based on index lists.
      */
     public List<Neighbor> neighbors() {
-        int blankIndex = indexOfBlank();
-        int blankRow = blankIndex / 3;
-        int blankCol = blankIndex % 3;
+        return neighbors(null, MovePruningAutomaton.START);
+    }
 
-        int[] candidateIndices = BLANK_NEIGHBOR_INDICES[blankIndex];
+    /**
+     * Same as {@link #neighbors()}, skipping moves that {@code automaton} prunes in {@code automatonState}
+     * before any board is copied.
+     *
+     * @param automaton move-pruning automaton, or null to keep every legal move
+     * @param automatonState the automaton state of the path that reached this board
+     */
+    public List<Neighbor> neighbors(MovePruningAutomaton automaton, int automatonState) {
+        int blankRow = blankIndex / width;
+        int blankCol = blankIndex % width;
+
+        int[] candidateIndices = BLANK_NEIGHBOR_INDICES_BY_WIDTH[width][blankIndex];
         List<Neighbor> results = new ArrayList<>(candidateIndices.length);
 
         for (int fromIndex : candidateIndices) {
             // Determine move direction based on relative position (fromIndex -> blankIndex).
-            int fromRow = fromIndex / 3;
-            int fromCol = fromIndex % 3;
+            int fromRow = fromIndex / width;
+            int fromCol = fromIndex % width;
             Move move;
             if (fromRow == blankRow) {
                 move = (fromCol < blankCol) ? Move.LEFT  : Move.RIGHT;  // tile moves horizontally into blank
             } else {
                 move = (fromRow < blankRow) ? Move.UP    : Move.DOWN;   // tile moves vertically into blank
             }
+            if (automaton != null && !automaton.allows(automatonState, move)) {
+                continue;
+            }
 
             // Swap the tile at fromIndex with the blank to create the neighbor state.
-            int[] next = Arrays.copyOf(tiles, 9);
+            int[] next = Arrays.copyOf(tiles, tiles.length);
             next[blankIndex] = next[fromIndex];
             next[fromIndex] = 0;
 
-            results.add(new Neighbor(new PuzzleState(next), move));
+            results.add(new Neighbor(new PuzzleState(next, width, fromIndex), move));
         }
 
         return results;
     }
 
     /**
-     * Create the canonical goal state [1,2,3,4,5,6,7,8,0].
+     * Create the canonical 3×3 goal state [1,2,3,4,5,6,7,8,0].
      */
     public static PuzzleState goal() {
-        return new PuzzleState(GOAL_TILES);
+        return goal(3);
+    }
+
+    /**
+     * Create the canonical goal state [1,2,...,w²-1,0] for the given width.
+     * @throws IllegalArgumentException if the width is unsupported
+     */
+    public static PuzzleState goal(int width) {
+        if (width < MIN_WIDTH || width > MAX_WIDTH) {
+            throw new IllegalArgumentException("Unsupported board width: " + width);
+        }
+        return new PuzzleState(GOAL_TILES_BY_WIDTH[width]);
+    }
+
+    /** @return the board width for a tile count, or -1 if not a supported square. */
+    public static int widthOf(int tileCount) {
+        int width = (int) Math.round(Math.sqrt(tileCount));
+        if (width < MIN_WIDTH || width > MAX_WIDTH || width * width != tileCount) {
+            return -1;
+        }
+        return width;
+    }
+
+    private static int findBlank(int[] tiles) {
+        for (int index = 0; index < tiles.length; index++) {
+            if (tiles[index] == 0) return index;
+        }
+        throw new IllegalArgumentException("Blank tile (0) not found in state.");
     }
 
     /**
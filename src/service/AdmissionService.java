@@ -0,0 +1,339 @@
+package service;
+
+import dto.SolveRequest;
+import dto.SolveResponse;
+import heuristic.ManhattanHeuristic;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import model.Algorithm;
+import model.PuzzleState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission layer in front of {@link SolverService} for synchronous /solve calls.
+ *
+ * Cost estimate (expected node expansions, before any search runs):
+ *  - Manhattan distance h0 of the start board approximates the solution depth.
+ *  - Each algorithm has a branching profile: A* ≈ {@value #ASTAR_BRANCHING}^h0 (heuristic pruning),
+ *    auto is charged like A* (its engines are informed, or bounded by A*'s cost), portfolio like one A*
+ *    per engine it races on the board's width,
+ *    BFS ≈ {@value #BFS_BRANCHING}^(1.2·h0) (the full layer structure), DFS is charged the whole space,
+ *    and reduction (no search beyond a 3×3 corner) is charged w³, its order of magnitude in moves.
+ *  - Every estimate is capped by the reachable state space ((w²)!/2).
+ *
+ * Dispatch:
+ *  - cost ≤ inline-max-cost           → runs on the request thread right away (the common, cheap case).
+ *  - cost > max-request-cost          → 400: too expensive for a synchronous solve; the message names a
+ *    cheaper route for the algorithm requested (A* for bfs/dfs/portfolio, /jobs or reduction otherwise).
+ *  - backlog + cost > max-backlog-cost → shed with 429 + Retry-After (backlog / pool throughput).
+ *  - otherwise                         → queued for the expensive-work pool with per-client weighted fair
+ *    queuing: each request gets a virtual finish tag max(virtualTime, client's last tag) + cost / weight,
+ *    and workers always take the smallest tag, so one client's burst cannot starve the others.
+ *
+ * Clients are identified by the X-Client-Id header (falling back to the remote address); weights come
+ * from {@code puzzle.admission.client-weights} ("id:weight,...", default weight 1).
+ */
+@Service
+public class AdmissionService {
+
+    static final double ASTAR_BRANCHING = 1.4;
+    static final double BFS_BRANCHING = 2.13;
+
+    private final SolverService solverService;
+    private final PortfolioService portfolioService;
+    private final ManhattanHeuristic manhattanHeuristic;
+
+    private final long inlineMaxCost;
+    private final long maxRequestCost;
+    private final long maxBacklogCost;
+    private final long nodesPerSecondPerWorker;
+    private final Map<String, Double> clientWeights;
+
+    private final FairQueue fairQueue = new FairQueue();
+    private final AtomicLong backlogCost = new AtomicLong();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final Counter inlineCounter;
+    private final Counter pooledCounter;
+    private final Counter shedCounter;
+
+    public AdmissionService(SolverService solverService,
+                            PortfolioService portfolioService,
+                            ManhattanHeuristic manhattanHeuristic,
+                            MeterRegistry meterRegistry,
+                            @Value("${puzzle.admission.inline-max-cost:20000}") long inlineMaxCost,
+                            @Value("${puzzle.admission.max-request-cost:200000000}") long maxRequestCost,
+                            @Value("${puzzle.admission.max-backlog-cost:50000000}") long maxBacklogCost,
+                            @Value("${puzzle.admission.nodes-per-second:1000000}") long nodesPerSecondPerWorker,
+                            @Value("${puzzle.admission.pool-size:0}") int poolSize,
+                            @Value("${puzzle.admission.client-weights:}") String clientWeights) {
+        this.solverService = solverService;
+        this.portfolioService = portfolioService;
+        this.manhattanHeuristic = manhattanHeuristic;
+        this.inlineMaxCost = inlineMaxCost;
+        this.maxRequestCost = maxRequestCost;
+        this.maxBacklogCost = maxBacklogCost;
+        this.nodesPerSecondPerWorker = Math.max(1L, nodesPerSecondPerWorker);
+        this.clientWeights = parseWeights(clientWeights);
+
+        this.inlineCounter = admissionCounter(meterRegistry, "inline");
+        this.pooledCounter = admissionCounter(meterRegistry, "pooled");
+        this.shedCounter = admissionCounter(meterRegistry, "shed");
+        Gauge.builder("puzzle.admission.backlog.cost", backlogCost, AtomicLong::get)
+                .description("Estimated node expansions queued or running on the expensive-work pool")
+                .register(meterRegistry);
+
+        int resolvedPoolSize = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        for (int i = 0; i < resolvedPoolSize; i++) {
+            Thread worker = new Thread(this::workLoop, "solve-expensive-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Estimate, then run inline, queue fairly, or reject.
+     *
+     * @param clientId caller identity for fair queuing (null/blank = anonymous)
+     * @throws TooManyRequestsException when the expensive pool's backlog cannot absorb the request
+     */
+    public SolveResponse solve(SolveRequest solveRequest, String clientId) {
+        long cost = estimateCost(solveRequest);
+        if (cost <= inlineMaxCost) {
+            inlineCounter.increment();
+            return solverService.solve(solveRequest);
+        }
+        if (cost > maxRequestCost) {
+            shedCounter.increment();
+            Algorithm algorithm = solveRequest.getSelectedAlgorithm();
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Estimated cost of this " + algorithm.getWireName() + " solve (~" + cost
+                            + " expansions) is too high for a synchronous request; " + cheaperRoute(algorithm) + ".");
+        }
+
+        // Reserve backlog capacity atomically; shed early if it would overflow.
+        long backlogBefore = backlogCost.getAndAdd(cost);
+        if (backlogBefore + cost > maxBacklogCost && backlogBefore > 0) {
+            backlogCost.addAndGet(-cost);
+            shedCounter.increment();
+            throw new TooManyRequestsException("Solver is at capacity; retry later.", retryAfterSeconds(backlogBefore));
+        }
+
+        pooledCounter.increment();
+        PooledSolve task = new PooledSolve(solveRequest, cost);
+        synchronized (fairQueue) {
+            fairQueue.add(task, normalizeClient(clientId), weightOf(clientId));
+            fairQueue.notify();
+        }
+        try {
+            return task.result.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    /**
+     * @return estimated node expansions for this request; 0 for boards that fail validation
+     *         (they are rejected by SolverService on the inline path)
+     */
+    long estimateCost(SolveRequest solveRequest) {
+        if (solveRequest == null || solveRequest.getStartState() == null || solveRequest.getSelectedAlgorithm() == null) {
+            return 0L;
+        }
+        PuzzleState start;
+        try {
+            start = new PuzzleState(solveRequest.getStartState());
+        } catch (IllegalArgumentException e) {
+            return 0L;
+        }
+        int h0 = manhattanHeuristic.estimate(start);
+        double stateSpace = halfFactorial(start.size());
+        double estimate;
+        Algorithm algorithm = solveRequest.getSelectedAlgorithm();
+        switch (algorithm) {
+            case ASTAR:
+            case AUTO:
+                estimate = Math.pow(ASTAR_BRANCHING, h0);
+                break;
+            case PORTFOLIO:
+                estimate = Math.pow(ASTAR_BRANCHING, h0) * portfolioService.entrantsFor(start.width()).size();
+                break;
+            case BFS:
+                estimate = Math.pow(BFS_BRANCHING, 1.2 * h0);
+                break;
+            case REDUCTION:
+                estimate = (double) start.size() * start.width();
+                break;
+            default:
+                estimate = stateSpace;
+                break;
+        }
+        return (long) Math.min(Math.min(estimate, stateSpace), Long.MAX_VALUE / 2);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    private void workLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            PooledSolve task;
+            synchronized (fairQueue) {
+                while (fairQueue.isEmpty()) {
+                    try {
+                        fairQueue.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                task = fairQueue.poll();
+            }
+            try {
+                task.result.complete(solverService.solve(task.request));
+            } catch (RuntimeException | Error e) {
+                task.result.completeExceptionally(e);
+            } finally {
+                backlogCost.addAndGet(-task.cost);
+            }
+        }
+    }
+
+    /** Suggestion for a request over max-request-cost, worded for the algorithm it asked for. */
+    private static String cheaperRoute(Algorithm algorithm) {
+        switch (algorithm) {
+            case BFS:
+            case DFS:
+                return "use astar, or submit it to /api/puzzle/jobs";
+            case PORTFOLIO:
+                return "use astar (one engine instead of a race), or submit it to /api/puzzle/jobs";
+            default:
+                return "submit it to /api/puzzle/jobs, or use reduction for a fast suboptimal solution";
+        }
+    }
+
+    private long retryAfterSeconds(long backlog) {
+        long drainRate = nodesPerSecondPerWorker * workers.size();
+        return (backlog + drainRate - 1) / drainRate;
+    }
+
+    private double weightOf(String clientId) {
+        return clientWeights.getOrDefault(normalizeClient(clientId), 1.0);
+    }
+
+    private static String normalizeClient(String clientId) {
+        return (clientId == null || clientId.isBlank()) ? "anonymous" : clientId.trim();
+    }
+
+    /** Parse "id:weight,id:weight" (weights must be positive). */
+    private static Map<String, Double> parseWeights(String spec) {
+        Map<String, Double> weights = new HashMap<>();
+        if (spec == null || spec.isBlank()) return weights;
+        for (String part : spec.split(",")) {
+            String[] fields = part.trim().split(":");
+            if (fields.length != 2) {
+                throw new IllegalArgumentException("Expected id:weight in puzzle.admission.client-weights, got: " + part);
+            }
+            double weight = Double.parseDouble(fields[1]);
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Client weight must be positive: " + part);
+            }
+            weights.put(fields[0].trim(), weight);
+        }
+        return weights;
+    }
+
+    private static double halfFactorial(int n) {
+        double result = 1.0;
+        for (int i = 2; i <= n; i++) result *= i;
+        return result / 2.0;
+    }
+
+    private static Counter admissionCounter(MeterRegistry meterRegistry, String path) {
+        return Counter.builder("puzzle.admission")
+                .description("Solve requests by admission decision")
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+
+    /** A solve waiting for (or running on) the expensive-work pool. */
+    private static final class PooledSolve {
+        final SolveRequest request;
+        final long cost;
+        final CompletableFuture<SolveResponse> result = new CompletableFuture<>();
+        double startTag;
+        double finishTag;
+        long sequence;
+
+        PooledSolve(SolveRequest request, long cost) {
+            this.request = request;
+            this.cost = cost;
+        }
+    }
+
+    /**
+     * Weighted fair queue (start-time fair queuing). Not thread-safe; guarded by its own monitor.
+     */
+    private static final class FairQueue {
+
+        /** Above this many clients, tags that no longer matter (≤ virtual time) are dropped. */
+        private static final int MAX_TRACKED_CLIENTS = 10_000;
+
+        private final PriorityQueue<PooledSolve> tasks = new PriorityQueue<>((a, b) -> {
+            int byTag = Double.compare(a.finishTag, b.finishTag);
+            return byTag != 0 ? byTag : Long.compare(a.sequence, b.sequence);
+        });
+        private final Map<String, Double> lastFinishByClient = new HashMap<>();
+        private double virtualTime;
+        private long sequence;
+
+        void add(PooledSolve task, String clientId, double weight) {
+            task.startTag = Math.max(virtualTime, lastFinishByClient.getOrDefault(clientId, 0.0));
+            task.finishTag = task.startTag + task.cost / weight;
+            task.sequence = sequence++;
+            lastFinishByClient.put(clientId, task.finishTag);
+            tasks.add(task);
+        }
+
+        PooledSolve poll() {
+            PooledSolve task = tasks.poll();
+            // Virtual time follows the start tag in service; idle clients restart from it, not their old tags.
+            virtualTime = Math.max(virtualTime, task.startTag);
+            if (tasks.isEmpty()) {
+                lastFinishByClient.clear();
+            } else if (lastFinishByClient.size() > MAX_TRACKED_CLIENTS) {
+                lastFinishByClient.values().removeIf(lastFinish -> lastFinish <= virtualTime);
+            }
+            return task;
+        }
+
+        boolean isEmpty() {
+            return tasks.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package service;
+
+import heuristic.ManhattanHeuristic;
+import model.Engine;
+import model.PuzzleState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import solver.EngineFactory;
+import solver.SearchLimitExceededException;
+import solver.SolveOptions;
+import solver.Solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks the engine behind {@code "selectedAlgorithm": "auto"} from a calibration table.
+ *
+ * Features:
+ *  - Board width (which engines apply: the 3×3 distance index, walking distance up to 4×4, BFS only on
+ *    boards small enough to enumerate).
+ *  - Manhattan estimate h0 of the start board, bucketed in steps of {@value #BUCKET_WIDTH}
+ *    (a proxy for how deep and how expensive the search will be).
+ *
+ * Calibration:
+ *  - After the JIT warm-up (runner order 2), a seeded sample of boards per width is solved with every
+ *    candidate engine; the engine with the lowest total time per (width, h0 bucket) wins. Engines that
+ *    exceed {@value #CALIBRATION_MAX_NODES} nodes on a sample count as infinitely slow there.
+ *  - Until calibration finishes, or with {@code puzzle.auto.calibrate=false}, the built-in table is used
+ *    (measured offline: index on 3×3, A* + walking distance up to 4×4, A* + Manhattan beyond).
+ */
+@Service
+@Order(2)
+public class AutoEngineSelector implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AutoEngineSelector.class);
+
+    static final int BUCKET_WIDTH = 8;
+    private static final int BUCKET_COUNT = 12;
+
+    /**
+     * Node cap per calibration solve. Every candidate honors it, BFS included (its visited set counts),
+     * so no sample can stall calibration.
+     */
+    private static final int CALIBRATION_MAX_NODES = 200_000;
+    private static final long CALIBRATION_SEED = 0xCA11B8L;
+
+    /** Engines timed during calibration (each only on widths {@link EngineFactory} supports). */
+    private static final List<Engine> CANDIDATES = List.of(
+            Engine.INDEX, Engine.ASTAR_MANHATTAN, Engine.ASTAR_WALKING_DISTANCE, Engine.ASTAR_PERIMETER, Engine.BFS);
+
+    /** Shuffle depths sampled per width; deeper 4×4 samples would make calibration itself slow. */
+    private static final Map<Integer, int[]> SAMPLE_DEPTHS = Map.of(
+            2, new int[] {2, 4, 8},
+            3, new int[] {4, 8, 14, 20, 30, 200},
+            4, new int[] {8, 16, 24, 32, 40});
+
+    private final EngineFactory engineFactory;
+    private final ManhattanHeuristic manhattanHeuristic;
+    private final ShuffleService shuffleService;
+    private final boolean calibrate;
+    private final int samplesPerDepth;
+
+    /** width → engine per h0 bucket; replaced wholesale once calibration finishes. */
+    private final Map<Integer, Engine[]> calibratedTable = new ConcurrentHashMap<>();
+
+    public AutoEngineSelector(EngineFactory engineFactory,
+                              ManhattanHeuristic manhattanHeuristic,
+                              ShuffleService shuffleService,
+                              @Value("${puzzle.auto.calibrate:true}") boolean calibrate,
+                              @Value("${puzzle.auto.samples-per-depth:3}") int samplesPerDepth) {
+        this.engineFactory = engineFactory;
+        this.manhattanHeuristic = manhattanHeuristic;
+        this.shuffleService = shuffleService;
+        this.calibrate = calibrate;
+        this.samplesPerDepth = samplesPerDepth;
+    }
+
+    /**
+     * @param startState the (canonical-frame) board about to be solved
+     * @return the engine expected to be fastest for it
+     */
+    public Engine select(PuzzleState startState) {
+        Engine[] byBucket = calibratedTable.get(startState.width());
+        if (byBucket == null) {
+            return builtInChoice(startState.width());
+        }
+        return byBucket[bucketOf(manhattanHeuristic.estimate(startState))];
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!calibrate) {
+            log.info("Auto engine calibration disabled; using the built-in table.");
+            return;
+        }
+        long t0 = System.nanoTime();
+        for (int width : SAMPLE_DEPTHS.keySet()) {
+            Engine[] table = calibrate(width);
+            calibratedTable.put(width, table);
+            log.info("Auto engine table for {}x{} (h0 buckets of {}): {}", width, width, BUCKET_WIDTH, Arrays.toString(table));
+        }
+        log.info("Auto engine calibration finished in {} ms.", (System.nanoTime() - t0) / 1_000_000L);
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    private Engine[] calibrate(int width) {
+        List<Engine> candidates = candidates(width);
+        SplittableRandom random = new SplittableRandom(CALIBRATION_SEED + width);
+        long[][] nanosByBucket = new long[BUCKET_COUNT][];
+
+        for (int depth : SAMPLE_DEPTHS.get(width)) {
+            for (int sample = 0; sample < samplesPerDepth; sample++) {
+                PuzzleState board = new PuzzleState(shuffleService.shuffle(depth, width, random).getShuffledState());
+                int bucket = bucketOf(manhattanHeuristic.estimate(board));
+                if (nanosByBucket[bucket] == null) {
+                    nanosByBucket[bucket] = new long[candidates.size()];
+                }
+                for (int i = 0; i < candidates.size(); i++) {
+                    nanosByBucket[bucket][i] = saturatedAdd(nanosByBucket[bucket][i], time(candidates.get(i), board));
+                }
+            }
+        }
+
+        // Fastest engine per sampled bucket; unsampled buckets copy the nearest sampled neighbor below/above.
+        Engine[] table = new Engine[BUCKET_COUNT];
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            if (nanosByBucket[bucket] == null) continue;
+            int best = 0;
+            for (int i = 1; i < candidates.size(); i++) {
+                if (nanosByBucket[bucket][i] < nanosByBucket[bucket][best]) best = i;
+            }
+            table[bucket] = candidates.get(best);
+        }
+        Engine last = null;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            if (table[bucket] == null) table[bucket] = last; else last = table[bucket];
+        }
+        Engine first = builtInChoice(width);
+        for (int bucket = 0; bucket < BUCKET_COUNT && table[bucket] == null; bucket++) {
+            table[bucket] = first;
+        }
+        return table;
+    }
+
+    /** Time one solve (best of two runs); over-budget engines are infinitely slow. */
+    private long time(Engine engine, PuzzleState board) {
+        Solver solver = engineFactory.getSolver(engine);
+        SolveOptions options = engineFactory.optionsFor(engine, SolveOptions.defaults().withMaxNodes(CALIBRATION_MAX_NODES));
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 2; run++) {
+            long t0 = System.nanoTime();
+            try {
+                solver.solve(board, options);
+            } catch (SearchLimitExceededException e) {
+                return Long.MAX_VALUE;
+            }
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        return best;
+    }
+
+    private List<Engine> candidates(int width) {
+        List<Engine> candidates = new ArrayList<>();
+        for (Engine engine : CANDIDATES) {
+            if (engineFactory.supportsWidth(engine, width)) candidates.add(engine);
+        }
+        return candidates;
+    }
+
+    private Engine builtInChoice(int width) {
+        if (engineFactory.supportsWidth(Engine.INDEX, width)) return Engine.INDEX;
+        if (engineFactory.supportsWidth(Engine.ASTAR_WALKING_DISTANCE, width)) return Engine.ASTAR_WALKING_DISTANCE;
+        return Engine.ASTAR_MANHATTAN;
+    }
+
+    private static int bucketOf(int h0) {
+        return Math.min(h0 / BUCKET_WIDTH, BUCKET_COUNT - 1);
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return (sum < 0) ? Long.MAX_VALUE : sum;
+    }
+}
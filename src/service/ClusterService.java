@@ -0,0 +1,292 @@
+package service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dto.SolveRequest;
+import dto.SolveResponse;
+import dto.ValidateRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import util.GoalMapping;
+import util.StateCodec;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cluster mode: several instances split the board space so that each one caches and warms only its shard.
+ *
+ * Partitioning:
+ *  - A board's key is its packed canonical-frame start state (custom goals are mapped first, so boards
+ *    that share a store entry share an owner), mixed with a 64-bit finalizer so ranges get equal load.
+ *  - With n peers, peer i (in configuration order) owns keys in [i·2^63/n, (i+1)·2^63/n). Every node must
+ *    be configured with the same peer list in the same order.
+ *
+ * Routing (/solve only):
+ *  - A board owned by this node, or a request already forwarded by another node, is solved locally.
+ *    A forwarded request is never forwarded again, so nodes with different views of the cluster cannot
+ *    bounce it around.
+ *  - Otherwise the request goes to the owner. If the owner cannot be reached (connection failure,
+ *    timeout, 502/503/504), it is marked down for {@code puzzle.cluster.down-cooldown-ms}, and the next
+ *    peer in ring order takes over the range. When that walk reaches this node, it solves locally.
+ *  - The owner's other answers (including 400 and 429) are passed through to the caller unchanged.
+ *
+ * Membership is the static {@code puzzle.cluster.peers} list; an empty list turns cluster mode off.
+ */
+@Service
+public class ClusterService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterService.class);
+
+    /** Marks a request forwarded by a peer; its value is the forwarding node. */
+    public static final String FORWARDED_HEADER = "X-Puzzle-Forwarded-By";
+
+    /** Response header naming the node that solved the request (cluster mode only). */
+    public static final String NODE_HEADER = "X-Puzzle-Node";
+
+    private final SolvabilityService solvabilityService;
+    private final ObjectMapper objectMapper;
+    private final List<String> peers;
+    private final int selfIndex;
+    private final Duration timeout;
+    private final long downCooldownNanos;
+    private final HttpClient httpClient;
+    /** peer → System.nanoTime() until which it is skipped. */
+    private final Map<String, Long> downUntil = new ConcurrentHashMap<>();
+
+    private final Counter localCounter;
+    private final Counter forwardedCounter;
+    private final Counter failoverCounter;
+
+    public ClusterService(SolvabilityService solvabilityService,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${puzzle.cluster.peers:}") String peers,
+                          @Value("${puzzle.cluster.self:}") String self,
+                          @Value("${puzzle.cluster.timeout-ms:60000}") long timeoutMs,
+                          @Value("${puzzle.cluster.down-cooldown-ms:5000}") long downCooldownMs) {
+        this.solvabilityService = solvabilityService;
+        this.objectMapper = objectMapper;
+        this.peers = parsePeers(peers);
+        this.selfIndex = this.peers.indexOf(normalize(self));
+        if (!this.peers.isEmpty() && selfIndex < 0) {
+            throw new IllegalArgumentException("puzzle.cluster.self (" + self + ") must be one of puzzle.cluster.peers "
+                    + this.peers + ".");
+        }
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.downCooldownNanos = downCooldownMs * 1_000_000L;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(Math.min(timeoutMs, 2_000L)))
+                .build();
+        this.localCounter = routeCounter(meterRegistry, "local");
+        this.forwardedCounter = routeCounter(meterRegistry, "forwarded");
+        this.failoverCounter = routeCounter(meterRegistry, "failover");
+        if (isEnabled()) {
+            log.info("Cluster mode: node {} of {} ({}), peers {}.", selfIndex + 1, this.peers.size(), getSelf(), this.peers);
+        }
+    }
+
+    public boolean isEnabled() {
+        return !peers.isEmpty();
+    }
+
+    /** @return this node's URL, or null when cluster mode is off. */
+    public String getSelf() {
+        return isEnabled() ? peers.get(selfIndex) : null;
+    }
+
+    /** @return configured peers, in ownership order. */
+    public List<String> getPeers() {
+        return Collections.unmodifiableList(peers);
+    }
+
+    /**
+     * Send the request to the node that owns its board, failing over past unreachable peers.
+     *
+     * @param clientId     caller identity, passed on so the owner's admission control stays fair per client
+     * @param forwardedBy  value of {@link #FORWARDED_HEADER}, or null for a request from a client
+     * @return the owner's answer, or null when this node should solve the request itself
+     * @throws ResponseStatusException with the owner's status when it rejected the request
+     */
+    public RemoteSolve route(SolveRequest solveRequest, String clientId, String forwardedBy) {
+        if (!isEnabled() || forwardedBy != null) {
+            return null;
+        }
+        int owner = ownerOf(solveRequest);
+        if (owner < 0 || owner == selfIndex) {
+            localCounter.increment();
+            return null;
+        }
+
+        for (int offset = 0; offset < peers.size(); offset++) {
+            int candidate = (owner + offset) % peers.size();
+            if (candidate == selfIndex) {
+                failoverCounter.increment();
+                return null;
+            }
+            String peer = peers.get(candidate);
+            Long skipUntil = downUntil.get(peer);
+            if (skipUntil != null && System.nanoTime() < skipUntil) {
+                continue;
+            }
+            SolveResponse response = forward(peer, solveRequest, clientId);
+            if (response != null) {
+                downUntil.remove(peer);
+                (offset == 0 ? forwardedCounter : failoverCounter).increment();
+                return new RemoteSolve(peer, response);
+            }
+            downUntil.put(peer, System.nanoTime() + downCooldownNanos);
+        }
+        failoverCounter.increment();
+        return null;
+    }
+
+    /**
+     * @return index of the peer owning the request's board, or -1 if the board is malformed
+     *         (solved locally so the usual 400 is produced here)
+     */
+    int ownerOf(SolveRequest solveRequest) {
+        int[] tiles = solveRequest.getStartState();
+        if (tiles == null || !solvabilityService.validate(new ValidateRequest(tiles)).isValid()) {
+            return -1;
+        }
+        int[] goal = solveRequest.getGoalState();
+        if (goal != null && !GoalMapping.isCanonical(goal)) {
+            try {
+                tiles = GoalMapping.forGoal(goal).toCanonical(tiles);
+            } catch (RuntimeException e) {
+                return -1;
+            }
+        }
+        long unsigned = StateCodec.mix(boardKey(tiles)) >>> 1;
+        return (int) (unsigned / (Long.MAX_VALUE / peers.size() + 1));
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    /** @return the peer's response, or null if the peer is unreachable or overloaded at the HTTP level. */
+    private SolveResponse forward(String peer, SolveRequest solveRequest, String clientId) {
+        HttpResponse<String> response;
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(peer + "/api/puzzle/solve"))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .header(FORWARDED_HEADER, getSelf())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(solveRequest)));
+            if (clientId != null) request.header("X-Client-Id", clientId);
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while forwarding the solve.");
+        } catch (IOException e) {
+            log.warn("Cluster peer {} unreachable ({}); failing over.", peer, e.toString());
+            return null;
+        }
+
+        int status = response.statusCode();
+        if (status == 502 || status == 503 || status == 504) {
+            log.warn("Cluster peer {} answered {}; failing over.", peer, status);
+            return null;
+        }
+        if (status < 200 || status >= 300) {
+            String reason = "Owner node " + peer + ": " + errorMessage(response.body());
+            if (status == 429) {
+                long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1L);
+                throw new TooManyRequestsException(reason, retryAfter);
+            }
+            throw new ResponseStatusException(HttpStatus.valueOf(status), reason);
+        }
+        try {
+            return objectMapper.readValue(response.body(), SolveResponse.class);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Unreadable response from cluster peer " + peer + ".");
+        }
+    }
+
+    /** Spring's error body carries "message" (when enabled) or at least "error". */
+    private String errorMessage(String body) {
+        try {
+            JsonNode error = objectMapper.readTree(body);
+            if (error.hasNonNull("message") && !error.get("message").asText().isEmpty()) return error.get("message").asText();
+            if (error.hasNonNull("error")) return error.get("error").asText();
+        } catch (IOException | RuntimeException e) {
+            // Not JSON; fall through.
+        }
+        return "request rejected";
+    }
+
+    /** Packed tiles for boards up to 4×4 (tagged with the length, which pack() does not encode). */
+    private static long boardKey(int[] tiles) {
+        if (tiles.length <= StateCodec.MAX_PACKED_TILES) {
+            return StateCodec.pack(tiles) * 31 + tiles.length;
+        }
+        return Arrays.hashCode(tiles) * 0x9E3779B97F4A7C15L + tiles.length;
+    }
+
+    private static List<String> parsePeers(String spec) {
+        List<String> parsed = new ArrayList<>();
+        for (String token : spec.split(",")) {
+            String peer = normalize(token);
+            if (peer.isEmpty()) continue;
+            if (parsed.contains(peer)) {
+                throw new IllegalArgumentException("puzzle.cluster.peers lists " + peer + " twice.");
+            }
+            parsed.add(peer);
+        }
+        return parsed;
+    }
+
+    /** Trim whitespace and trailing slashes so "http://a:8080/" and "http://a:8080" are the same peer. */
+    private static String normalize(String url) {
+        String trimmed = url == null ? "" : url.trim();
+        while (trimmed.endsWith("/")) trimmed = trimmed.substring(0, trimmed.length() - 1);
+        return trimmed;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("puzzle.cluster.solves")
+                .description("Cluster-mode /solve routing decisions")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    /** A solve answered by another node. */
+    public static final class RemoteSolve {
+
+        private final String node;
+        private final SolveResponse response;
+
+        RemoteSolve(String node, SolveResponse response) {
+            this.node = node;
+            this.response = response;
+        }
+
+        /** @return the node that produced the response (the owner, or the peer that failed over for it). */
+        public String getNode() {
+            return node;
+        }
+
+        public SolveResponse getResponse() {
+            return response;
+        }
+    }
+}
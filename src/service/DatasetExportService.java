@@ -0,0 +1,372 @@
+package service;
+
+import dto.DatasetExportRequest;
+import dto.DatasetExportRequest.DifficultyBucket;
+import dto.ShuffleResponse;
+import heuristic.Heuristic;
+import heuristic.HeuristicFactory;
+import jakarta.annotation.PreDestroy;
+import model.Algorithm;
+import model.HeuristicType;
+import model.Move;
+import model.PuzzleState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import solver.IDAStarSolver;
+import solver.SearchLimitExceededException;
+import solver.SolveOptions;
+import solver.SolveResult;
+import solver.Solver;
+import solver.SolverFactory;
+import util.StateCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates (start state, solution) datasets and streams them to an OutputStream.
+ *
+ * Design:
+ *  - Records are produced in fixed-size chunks on a worker pool (one thread per core) and written
+ *    strictly in index order, so output is identical regardless of thread scheduling.
+ *  - Only a small window of chunks is in flight at once; when the consumer (HTTP client or file)
+ *    is slow, blocking writes stall the producer instead of buffering the dataset in memory.
+ *  - Every record derives its own RNG from (seed, index), which makes a dataset reproducible from
+ *    its seed and lets any record be regenerated independently.
+ *  - Solves run under the same {@code puzzle.search.max-nodes} budget as /solve, and BFS/DFS are only
+ *    accepted on boards they can finish. A record that outgrows the budget is re-solved with IDA* +
+ *    walking distance (optimal, memory linear in the depth), so deep 4×4 buckets finish instead of
+ *    aborting a stream whose 200 header is already sent.
+ *
+ * Formats:
+ *  - ndjson: {"index":0,"shuffleSteps":40,"startState":[...],"length":12,"moves":"LURD..."} per line.
+ *  - binary: header "PZD1" + u8 board width, then per record: u8 length, i64 packed state
+ *    (see {@link StateCodec#pack(int[])}), and the moves at 2 bits each (Move ordinal, 4 per byte).
+ */
+@Service
+public class DatasetExportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_BINARY = "binary";
+
+    /** Records per work unit handed to the pool. */
+    private static final int CHUNK_SIZE = 256;
+
+    /** Upper bound on a single export request. */
+    private static final int MAX_COUNT = 100_000_000;
+
+    /** Board widths the solvers can handle. */
+    private static final int MIN_SIZE = 3;
+    private static final int MAX_SIZE = 4;
+
+    /** Used when the request carries no difficulty distribution. */
+    private static final List<DifficultyBucket> DEFAULT_DIFFICULTY = List.of(new DifficultyBucket(100, 1));
+
+    private static final byte[] BINARY_MAGIC = {'P', 'Z', 'D', '1'};
+
+    private final ShuffleService shuffleService;
+    private final SolverFactory solverFactory;
+    private final HeuristicFactory heuristicFactory;
+    private final IDAStarSolver memoryBoundedSolver;
+    private final int maxSearchNodes;
+
+    private final int parallelism;
+    private final ExecutorService workerPool;
+
+    public DatasetExportService(ShuffleService shuffleService,
+                                SolverFactory solverFactory,
+                                HeuristicFactory heuristicFactory,
+                                IDAStarSolver memoryBoundedSolver,
+                                @Value("${puzzle.search.max-nodes:" + SolverService.DEFAULT_MAX_SEARCH_NODES + "}")
+                                int maxSearchNodes) {
+        this.shuffleService = shuffleService;
+        this.solverFactory = solverFactory;
+        this.heuristicFactory = heuristicFactory;
+        this.memoryBoundedSolver = memoryBoundedSolver;
+        this.maxSearchNodes = maxSearchNodes;
+        this.parallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.workerPool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "dataset-export-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdownNow();
+    }
+
+    /**
+     * Validate and normalize a request before any bytes are written, so bad input becomes a 400
+     * instead of a truncated stream.
+     */
+    public ExportPlan prepare(DatasetExportRequest request) {
+        if (request == null) {
+            throw badRequest("Export request cannot be null.");
+        }
+        if (request.getCount() < 0 || request.getCount() > MAX_COUNT) {
+            throw badRequest("count must be between 0 and " + MAX_COUNT + ".");
+        }
+        if (request.getSize() < MIN_SIZE || request.getSize() > MAX_SIZE) {
+            throw badRequest("Unsupported board size: " + request.getSize()
+                    + " (supported: " + MIN_SIZE + ".." + MAX_SIZE + ").");
+        }
+
+        String format = request.getFormat() == null ? FORMAT_NDJSON : request.getFormat().trim().toLowerCase();
+        if (!FORMAT_NDJSON.equals(format) && !FORMAT_BINARY.equals(format)) {
+            throw badRequest("Unsupported format: " + request.getFormat() + " (expected ndjson or binary).");
+        }
+        if (FORMAT_BINARY.equals(format) && request.getSize() * request.getSize() > StateCodec.MAX_PACKED_TILES) {
+            throw badRequest("Binary format supports boards up to " + StateCodec.MAX_PACKED_TILES + " tiles.");
+        }
+
+        List<DifficultyBucket> buckets = (request.getDifficulty() == null || request.getDifficulty().isEmpty())
+                ? DEFAULT_DIFFICULTY
+                : request.getDifficulty();
+        int[] bucketSteps = new int[buckets.size()];
+        int[] cumulativeWeights = new int[buckets.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < buckets.size(); i++) {
+            DifficultyBucket bucket = buckets.get(i);
+            if (bucket == null || bucket.getWeight() <= 0 || bucket.getShuffleSteps() < 0) {
+                throw badRequest("Difficulty buckets need shuffleSteps >= 0 and weight > 0.");
+            }
+            bucketSteps[i] = bucket.getShuffleSteps();
+            totalWeight = Math.addExact(totalWeight, bucket.getWeight());
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        Algorithm algorithm = request.getSelectedAlgorithm() == null ? Algorithm.ASTAR : request.getSelectedAlgorithm();
+        Solver solver = solverFactory.getSolver(algorithm);
+        if (solver == null) {
+            throw badRequest("Unsupported algorithm: " + algorithm);
+        }
+        if (!solverFactory.supportsWidth(algorithm, request.getSize())) {
+            throw badRequest(SolverService.uninformedTooWide(algorithm));
+        }
+
+        // Walking distance by default on 4×4, where Manhattan is too weak for bulk generation.
+        HeuristicType heuristicType = request.getHeuristic() != null
+                ? request.getHeuristic()
+                : (request.getSize() >= 4 ? HeuristicType.WALKING_DISTANCE : HeuristicType.MANHATTAN);
+        Heuristic heuristic = heuristicFactory.getHeuristic(heuristicType);
+        if (heuristic == null || !heuristic.supportsWidth(request.getSize())) {
+            throw badRequest("Heuristic " + heuristicType + " does not support size " + request.getSize() + ".");
+        }
+
+        SolveOptions solveOptions = SolveOptions.defaults().withHeuristic(heuristic);
+        if (maxSearchNodes > 0) {
+            solveOptions = solveOptions.withMaxNodes(maxSearchNodes);
+        }
+        // Over-budget records are re-solved by IDA*, with walking distance wherever it covers the width.
+        Heuristic walkingDistance = heuristicFactory.getHeuristic(HeuristicType.WALKING_DISTANCE);
+        Heuristic fallbackHeuristic = walkingDistance.supportsWidth(request.getSize()) ? walkingDistance : heuristic;
+        return new ExportPlan(request.getSeed(), request.getCount(), request.getSize(), format,
+                solver, solveOptions, SolveOptions.defaults().withHeuristic(fallbackHeuristic),
+                bucketSteps, cumulativeWeights);
+    }
+
+    /**
+     * Stream all records of the plan to {@code out}, flushing after every chunk.
+     *
+     * @return number of records written
+     */
+    public long write(ExportPlan plan, OutputStream out) throws IOException {
+        if (plan.isBinary()) {
+            out.write(BINARY_MAGIC);
+            out.write(plan.size);
+        }
+
+        // Enough chunks in flight to keep every core busy while the oldest one is being written.
+        int maxInFlight = parallelism * 2;
+        Deque<Future<byte[]>> window = new ArrayDeque<>(maxInFlight);
+        int nextStart = 0;
+        long written = 0;
+
+        try {
+            while (nextStart < plan.count || !window.isEmpty()) {
+                while (window.size() < maxInFlight && nextStart < plan.count) {
+                    final int chunkStart = nextStart;
+                    final int chunkLength = Math.min(CHUNK_SIZE, plan.count - chunkStart);
+                    window.addLast(workerPool.submit(() -> encodeChunk(plan, chunkStart, chunkLength)));
+                    nextStart += chunkLength;
+                }
+
+                byte[] chunkBytes = await(window.removeFirst());
+                out.write(chunkBytes);
+                out.flush();
+                written += Math.min(CHUNK_SIZE, plan.count - written);
+            }
+        } finally {
+            // Client went away or a chunk failed: stop the remaining work.
+            for (Future<byte[]> pending : window) {
+                pending.cancel(true);
+            }
+        }
+        return written;
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    /** Generate, solve and encode records [start, start + length). */
+    private byte[] encodeChunk(ExportPlan plan, int start, int length) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(length * (plan.isBinary() ? 24 : 96));
+        DataOutputStream binaryOut = plan.isBinary() ? new DataOutputStream(buffer) : null;
+        StringBuilder line = plan.isBinary() ? null : new StringBuilder(128);
+
+        for (int i = 0; i < length; i++) {
+            int index = start + i;
+            SplittableRandom random = new SplittableRandom(recordSeed(plan.seed, index));
+
+            int shuffleSteps = plan.pickShuffleSteps(random);
+            ShuffleResponse shuffled = shuffleService.shuffle(shuffleSteps, plan.size, random);
+            int[] startTiles = shuffled.getShuffledState();
+
+            SolveResult result = solve(plan, new PuzzleState(startTiles));
+            List<Move> moves = result.getMoves();
+
+            if (plan.isBinary()) {
+                writeBinaryRecord(binaryOut, startTiles, moves);
+            } else {
+                line.setLength(0);
+                appendJsonRecord(line, index, shuffleSteps, startTiles, moves);
+                buffer.write(line.toString().getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    /** Solve one record; past the node budget, finish it with IDA* (optimal, bounded memory). */
+    private SolveResult solve(ExportPlan plan, PuzzleState start) {
+        try {
+            return plan.solver.solve(start, plan.solveOptions);
+        } catch (SearchLimitExceededException e) {
+            return memoryBoundedSolver.solve(start, plan.fallbackOptions);
+        }
+    }
+
+    private void writeBinaryRecord(DataOutputStream out, int[] startTiles, List<Move> moves) throws IOException {
+        if (moves.size() > 255) {
+            throw new IllegalStateException("Solution too long for binary record: " + moves.size());
+        }
+        out.writeByte(moves.size());
+        out.writeLong(StateCodec.pack(startTiles));
+
+        int packedByte = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            packedByte |= moves.get(i).ordinal() << (2 * (i & 3));
+            if ((i & 3) == 3) {
+                out.writeByte(packedByte);
+                packedByte = 0;
+            }
+        }
+        if ((moves.size() & 3) != 0) {
+            out.writeByte(packedByte);
+        }
+    }
+
+    private void appendJsonRecord(StringBuilder line, int index, int shuffleSteps, int[] startTiles, List<Move> moves) {
+        line.append("{\"index\":").append(index)
+                .append(",\"shuffleSteps\":").append(shuffleSteps)
+                .append(",\"startState\":[");
+        for (int i = 0; i < startTiles.length; i++) {
+            if (i > 0) line.append(',');
+            line.append(startTiles[i]);
+        }
+        line.append("],\"length\":").append(moves.size()).append(",\"moves\":\"");
+        for (Move move : moves) {
+            line.append(move.getShortCode());
+        }
+        line.append("\"}\n");
+    }
+
+    private byte[] await(Future<byte[]> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IllegalStateException("Export chunk failed: " + cause, cause);
+        }
+    }
+
+    /** SplitMix64 finalizer over (seed, index): well-distributed, independent per-record seeds. */
+    private static long recordSeed(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Build a 400 Bad Request with a clear, client-facing message. */
+    private ResponseStatusException badRequest(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+
+    /**
+     * Validated, normalized export parameters.
+     */
+    public static final class ExportPlan {
+        private final long seed;
+        private final int count;
+        private final int size;
+        private final String format;
+        private final Solver solver;
+        private final SolveOptions solveOptions;
+        private final SolveOptions fallbackOptions;
+        private final int[] bucketSteps;
+        private final int[] cumulativeWeights;
+
+        private ExportPlan(long seed, int count, int size, String format, Solver solver,
+                           SolveOptions solveOptions, SolveOptions fallbackOptions,
+                           int[] bucketSteps, int[] cumulativeWeights) {
+            this.seed = seed;
+            this.count = count;
+            this.size = size;
+            this.format = format;
+            this.solver = solver;
+            this.solveOptions = solveOptions;
+            this.fallbackOptions = fallbackOptions;
+            this.bucketSteps = bucketSteps;
+            this.cumulativeWeights = cumulativeWeights;
+        }
+
+        public boolean isBinary() {
+            return FORMAT_BINARY.equals(format);
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        private int pickShuffleSteps(SplittableRandom random) {
+            int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (roll < cumulativeWeights[i]) return bucketSteps[i];
+            }
+            return bucketSteps[bucketSteps.length - 1];
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package service;
+
+import dto.HintRequest;
+import dto.HintResponse;
+import dto.SolveRequest;
+import dto.SolveResponse;
+import dto.ValidateRequest;
+import dto.ValidateResponse;
+import heuristic.DistanceIndex;
+import heuristic.WalkingDistanceHeuristic;
+import model.Algorithm;
+import model.HeuristicType;
+import model.Move;
+import model.PuzzleState;
+import util.GoalMapping;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers /api/puzzle/hint: the optimal next move(s) and remaining optimal distance for a board.
+ *
+ * How:
+ *  - 3×3 boards are answered from the {@link DistanceIndex}: the distance is one lookup, and the
+ *    optimal moves are exactly the neighbors whose distance is one less (at most four lookups per
+ *    returned move). No search runs, so a hint costs microseconds regardless of board difficulty.
+ *  - Boards up to 4×4 fall back to an optimal A* solve with walking distance and return the
+ *    leading moves of that path (bestMoves then holds just the first move of that path).
+ *  - Custom goals are handled with the same {@link GoalMapping} rules as /solve.
+ */
+@Service
+public class HintService {
+
+    /** Upper bound on the number of upcoming moves returned per call. */
+    public static final int MAX_LOOKAHEAD = 64;
+
+    private final DistanceIndex distanceIndex;
+    private final SolverService solverService;
+    private final SolvabilityService solvabilityService;
+
+    public HintService(DistanceIndex distanceIndex,
+                       SolverService solverService,
+                       SolvabilityService solvabilityService) {
+        this.distanceIndex = distanceIndex;
+        this.solverService = solverService;
+        this.solvabilityService = solvabilityService;
+    }
+
+    /**
+     * Entry point invoked by the controller for /api/puzzle/hint.
+     */
+    public HintResponse hint(HintRequest hintRequest) {
+        if (hintRequest == null || hintRequest.getState() == null) {
+            throw badRequest("Hint request state is null.");
+        }
+        int[] tiles = hintRequest.getState();
+        ValidateResponse validation = solvabilityService.validate(new ValidateRequest(tiles));
+        if (!validation.isValid()) {
+            throw badRequest("Invalid state: " + validation.getMessage());
+        }
+        int lookahead = Math.max(1, Math.min(hintRequest.getLookahead(), MAX_LOOKAHEAD));
+        int width = PuzzleState.widthOf(tiles.length);
+
+        if (distanceIndex.supportsWidth(width)) {
+            GoalMapping goalMapping = solverService.resolveGoalMapping(hintRequest.getGoalState(), tiles.length);
+            int[] canonicalTiles = (goalMapping == null) ? tiles.clone() : goalMapping.toCanonical(tiles);
+            return hintFromIndex(canonicalTiles, lookahead, goalMapping);
+        }
+        if (width <= WalkingDistanceHeuristic.MAX_WIDTH) {
+            return hintFromSearch(hintRequest, lookahead);
+        }
+        throw badRequest("Hints are available for boards up to "
+                + WalkingDistanceHeuristic.MAX_WIDTH + "×" + WalkingDistanceHeuristic.MAX_WIDTH + ".");
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    /** Read the answer straight out of the index; {@code tiles} is used as scratch space. */
+    private HintResponse hintFromIndex(int[] tiles, int lookahead, GoalMapping goalMapping) {
+        int distance = distanceIndex.distance(tiles);
+        if (distance < 0) {
+            throw badRequest(goalMapping == null
+                    ? "Unsolvable state: permutation parity does not match the blank position."
+                    : "Unsolvable state: the requested goalState cannot be reached from state (parity mismatch).");
+        }
+
+        List<String> bestMoves = new ArrayList<>(4);
+        int blank = DistanceIndex.indexOfBlank(tiles);
+        for (Move move : Move.values()) {
+            if (isOptimalStep(tiles, blank, move, distance)) {
+                bestMoves.add(toCustomFrame(move, goalMapping));
+            }
+        }
+
+        // Follow one optimal path greedily: every state on it has a neighbor one step closer.
+        int steps = Math.min(lookahead, distance);
+        List<String> nextMoves = new ArrayList<>(steps);
+        for (int remaining = distance; nextMoves.size() < steps; remaining--) {
+            for (Move move : Move.values()) {
+                if (isOptimalStep(tiles, blank, move, remaining)) {
+                    int target = DistanceIndex.targetIndex(blank, move);
+                    DistanceIndex.swap(tiles, blank, target);
+                    blank = target;
+                    nextMoves.add(toCustomFrame(move, goalMapping));
+                    break;
+                }
+            }
+        }
+        return new HintResponse(bestMoves, distance, nextMoves, "index");
+    }
+
+    /** @return true if moving the blank by {@code move} lands one step closer to the goal. */
+    private boolean isOptimalStep(int[] tiles, int blank, Move move, int distance) {
+        int target = DistanceIndex.targetIndex(blank, move);
+        if (target < 0) return false;
+        DistanceIndex.swap(tiles, blank, target);
+        int nextDistance = distanceIndex.distance(tiles);
+        DistanceIndex.swap(tiles, blank, target);
+        return nextDistance == distance - 1;
+    }
+
+    /** Boards without an index: solve optimally once and hand out the leading moves. */
+    private HintResponse hintFromSearch(HintRequest hintRequest, int lookahead) {
+        SolveRequest solveRequest = new SolveRequest(hintRequest.getState(), Algorithm.ASTAR);
+        solveRequest.setHeuristic(HeuristicType.WALKING_DISTANCE);
+        solveRequest.setGoalState(hintRequest.getGoalState());
+        SolveResponse solveResponse = solverService.solve(solveRequest);
+
+        List<String> moves = solveResponse.getMoves();
+        List<String> bestMoves = moves.isEmpty() ? List.of() : List.of(moves.get(0));
+        List<String> nextMoves = new ArrayList<>(moves.subList(0, Math.min(lookahead, moves.size())));
+        return new HintResponse(bestMoves, moves.size(), nextMoves, "search");
+    }
+
+    private String toCustomFrame(Move move, GoalMapping goalMapping) {
+        return (goalMapping == null ? move : goalMapping.fromCanonical(move)).getShortCode();
+    }
+
+    /** Build a 400 Bad Request with a clear, client-facing message. */
+    private ResponseStatusException badRequest(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+}
@@ -0,0 +1,236 @@
+package service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import model.Engine;
+import model.PuzzleState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import solver.EngineFactory;
+import solver.SearchLimitExceededException;
+import solver.SearchProfile;
+import solver.SolveCancelledException;
+import solver.SolveOptions;
+import solver.SolveResult;
+import solver.Solver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Portfolio solving behind {@code "selectedAlgorithm": "portfolio"}: races several engines on one board
+ * and keeps the first answer.
+ *
+ * How:
+ *  - Every configured engine that supports the board's width ({@code puzzle.portfolio.engines}) is
+ *    submitted to a shared pool ({@code puzzle.portfolio.threads}).
+ *  - All engines are optimal, so the first one to finish wins. It claims the race with a CAS, and the
+ *    losers see the flag through their cancellation hook and stop at their next poll. Engines still
+ *    queued when the race is decided never start.
+ *  - If every engine fails, the race rethrows a {@link SearchLimitExceededException} when there was one,
+ *    so SolverService still falls back to SMA*. The caller's own cancellation stops all engines.
+ *
+ * Metrics: puzzle.portfolio.races{engine, outcome=won|lost|failed} counts each engine's entries.
+ * An engine's win rate is won / (won + lost + failed), which shows which engines earn their thread.
+ *
+ * Implements {@link Solver} so SolverService runs it like any other solver; the winning engine is
+ * reported through {@link SolveResult#getEngine()}.
+ */
+@Service
+public class PortfolioService implements Solver {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioService.class);
+
+    private final EngineFactory engineFactory;
+    private final List<Engine> engines;
+    private final ExecutorService executor;
+
+    private final Map<Engine, Counter> wonCounters = new EnumMap<>(Engine.class);
+    private final Map<Engine, Counter> lostCounters = new EnumMap<>(Engine.class);
+    private final Map<Engine, Counter> failedCounters = new EnumMap<>(Engine.class);
+
+    public PortfolioService(EngineFactory engineFactory,
+                            MeterRegistry meterRegistry,
+                            @Value("${puzzle.portfolio.engines:astar+manhattan,astar+walking-distance,idastar+walking-distance,bidirectional-bfs}")
+                            String engines,
+                            @Value("${puzzle.portfolio.threads:0}") int threads) {
+        this.engineFactory = engineFactory;
+        this.engines = parseEngines(engines);
+        for (Engine engine : this.engines) {
+            wonCounters.put(engine, raceCounter(meterRegistry, engine, "won"));
+            lostCounters.put(engine, raceCounter(meterRegistry, engine, "lost"));
+            failedCounters.put(engine, raceCounter(meterRegistry, engine, "failed"));
+        }
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "solve-portfolio-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Portfolio engines: {} on {} threads.", this.engines, poolSize);
+    }
+
+    @Override
+    public SolveResult solve(PuzzleState startState) {
+        return solve(startState, SolveOptions.defaults());
+    }
+
+    /**
+     * Race the configured engines on {@code startState}.
+     *
+     * @param options node cap and cancellation applied to every engine (heuristics come from the engines)
+     * @throws SearchLimitExceededException if every engine failed and at least one hit the node cap
+     * @throws SolveCancelledException if {@code options.isCancelled()} turned true before any engine finished
+     */
+    @Override
+    public SolveResult solve(PuzzleState startState, SolveOptions options) {
+        if (startState == null) {
+            throw new IllegalArgumentException("startState cannot be null.");
+        }
+        List<Engine> entrants = entrantsFor(startState.width());
+        SolveOptions baseOptions = options == null ? SolveOptions.defaults() : options;
+        Race race = new Race(entrants.size(), baseOptions);
+        SolveOptions raceOptions = baseOptions.withCancellation(race::isStopped);
+
+        for (Engine engine : entrants) {
+            executor.execute(() -> race.run(engine, engineFactory.getSolver(engine),
+                    engineFactory.optionsFor(engine, raceOptions), startState));
+        }
+        try {
+            return race.outcome.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SolveCancelledException(0);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } finally {
+            race.decided.set(true);
+        }
+    }
+
+    /** @return the configured engines, in configuration order. */
+    public List<Engine> getEngines() {
+        return Collections.unmodifiableList(engines);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    /**
+     * Configured engines that can handle this width; A* + Manhattan when none can.
+     * Package-private so {@link AdmissionService} charges a race per entrant.
+     */
+    List<Engine> entrantsFor(int width) {
+        List<Engine> entrants = new ArrayList<>(engines.size());
+        for (Engine engine : engines) {
+            if (engineFactory.supportsWidth(engine, width)) entrants.add(engine);
+        }
+        if (entrants.isEmpty()) {
+            entrants.add(Engine.ASTAR_MANHATTAN);
+        }
+        return entrants;
+    }
+
+    private static List<Engine> parseEngines(String spec) {
+        List<Engine> parsed = new ArrayList<>();
+        for (String token : spec.split(",")) {
+            if (token.isBlank()) continue;
+            Engine engine = Engine.fromString(token);
+            if (!parsed.contains(engine)) parsed.add(engine);
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("puzzle.portfolio.engines must name at least one engine.");
+        }
+        return parsed;
+    }
+
+    private static Counter raceCounter(MeterRegistry meterRegistry, Engine engine, String outcome) {
+        return Counter.builder("puzzle.portfolio.races")
+                .description("Portfolio race entries per engine and outcome")
+                .tag("engine", engine.getWireName())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /** One race: the decided flag the losers poll, and the outcome the caller waits on. */
+    private final class Race {
+
+        private final AtomicBoolean decided = new AtomicBoolean();
+        private final AtomicInteger remaining;
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private final CompletableFuture<SolveResult> outcome = new CompletableFuture<>();
+        private final BooleanSupplier callerCancellation;
+        /** Caller's diagnostics profile (may be null); only the winner's counters are added to it. */
+        private final SearchProfile callerProfile;
+
+        Race(int entrants, SolveOptions callerOptions) {
+            this.remaining = new AtomicInteger(entrants);
+            this.callerCancellation = callerOptions::isCancelled;
+            this.callerProfile = callerOptions.getProfile();
+        }
+
+        boolean isStopped() {
+            return decided.get() || callerCancellation.getAsBoolean();
+        }
+
+        void run(Engine engine, Solver solver, SolveOptions options, PuzzleState startState) {
+            try {
+                if (isStopped()) {
+                    throw new SolveCancelledException(0);
+                }
+                // Profiles are single-threaded: each engine counts into its own.
+                SearchProfile profile = (callerProfile != null) ? new SearchProfile() : null;
+                SolveResult result = solver.solve(startState, profile != null ? options.withProfile(profile) : options);
+                if (decided.compareAndSet(false, true)) {
+                    wonCounters.get(engine).increment();
+                    if (profile != null) callerProfile.add(profile);
+                    outcome.complete(new SolveResult(result.getMoves(), result.getPathStates(),
+                            result.getExpandedNodeCount(), engine));
+                    return;
+                }
+                lostCounters.get(engine).increment();
+            } catch (SolveCancelledException e) {
+                (decided.get() ? lostCounters : failedCounters).get(engine).increment();
+                fail(e);
+            } catch (RuntimeException e) {
+                failedCounters.get(engine).increment();
+                fail(e);
+            }
+        }
+
+        /** Record a failure; the last engine to fail without a winner ends the race with the most useful one. */
+        private void fail(RuntimeException e) {
+            failure.accumulateAndGet(e, (current, next) ->
+                    current == null || (!(current instanceof SearchLimitExceededException)
+                            && next instanceof SearchLimitExceededException) ? next : current);
+            if (remaining.decrementAndGet() == 0 && !decided.get()) {
+                outcome.completeExceptionally(failure.get());
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dto.SolveRequest;
+import dto.SolveResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import model.Algorithm;
+import model.HeuristicType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized JSON of hot /solve responses, written straight to the servlet output stream.
+ *
+ * What is cached:
+ *  - Only responses answered from the {@link store.SolveStore} (engine "store"), i.e. boards that were
+ *    solved before and asked for again. Store entries never change, so neither do these bodies.
+ *  - A body is kept as the bytes before and after the solveTimeMs value. A hit writes the prefix, the
+ *    hit's own time (0 ms in practice) and the suffix, so serving it is two buffer copies. No
+ *    SolveResponse, move list or path-state arrays are built, and Jackson does not run.
+ *  - Diagnostics responses describe one search and are never cached.
+ *
+ * Bounded by {@code puzzle.response-cache.max-bytes} (0 turns the cache off). When full, a second-chance
+ * sweep evicts entries that were not hit since the previous sweep.
+ */
+@Service
+public class ResponseBytesCache {
+
+    /** Placeholder solveTimeMs when serializing; its digits cannot appear elsewhere in a response. */
+    private static final long TIME_PLACEHOLDER = Long.MIN_VALUE;
+    private static final byte[] TIME_PLACEHOLDER_BYTES = Long.toString(TIME_PLACEHOLDER).getBytes(StandardCharsets.US_ASCII);
+
+    /** Rough per-entry overhead (key, entry object, map node) counted against the byte budget. */
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    private final Counter hitCounter;
+    private final Counter storedCounter;
+
+    public ResponseBytesCache(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${puzzle.response-cache.max-bytes:16777216}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+        this.hitCounter = Counter.builder("puzzle.response.cache")
+                .description("Solve responses served from pre-serialized bytes")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.storedCounter = Counter.builder("puzzle.response.cache")
+                .description("Solve responses served from pre-serialized bytes")
+                .tag("result", "stored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Write the cached body for this request, if any.
+     *
+     * @return true if the response was written (the caller must not write another body)
+     */
+    public boolean writeIfCached(SolveRequest solveRequest, HttpServletResponse response) throws IOException {
+        if (maxBytes <= 0 || solveRequest == null || solveRequest.isDiagnostics() || solveRequest.getStartState() == null) {
+            return false;
+        }
+        long t0 = System.nanoTime();
+        Entry entry = entries.get(new Key(solveRequest));
+        if (entry == null) {
+            return false;
+        }
+        entry.referenced = true;
+        hitCounter.increment();
+        write(entry, (System.nanoTime() - t0) / 1_000_000L, response);
+        return true;
+    }
+
+    /**
+     * Cache the response if it is worth it (see class notes) and write it.
+     *
+     * @return true if the response was written from the freshly serialized bytes; false if the caller
+     *         should send {@code solveResponse} the usual way
+     */
+    public boolean storeAndWrite(SolveRequest solveRequest, SolveResponse solveResponse,
+                                 HttpServletResponse response) throws IOException {
+        if (maxBytes <= 0 || solveRequest.isDiagnostics() || solveResponse.getDiagnostics() != null
+                || !SolverService.ENGINE_STORE.equals(solveResponse.getEngine())) {
+            return false;
+        }
+        Entry entry = serialize(solveResponse);
+        if (entry == null) {
+            return false;
+        }
+        if (entries.putIfAbsent(new Key(solveRequest), entry) == null) {
+            totalBytes.addAndGet(entry.cost());
+            storedCounter.increment();
+            evictIfNeeded();
+        }
+        write(entry, solveResponse.getSolveTimeMs(), response);
+        return true;
+    }
+
+    /** @return number of cached responses. */
+    public int size() {
+        return entries.size();
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    /** @return the body split around the solveTimeMs value, or null if the placeholder cannot be found. */
+    private Entry serialize(SolveResponse solveResponse) throws JsonProcessingException {
+        // A copy: coalesced requests share one response object, which another thread may be writing.
+        SolveResponse template = new SolveResponse(solveResponse.getMoves(), TIME_PLACEHOLDER,
+                solveResponse.getExpandedNodeCount(), solveResponse.getPathStates());
+        template.setEngine(solveResponse.getEngine());
+        byte[] body = objectMapper.writeValueAsBytes(template);
+        int at = indexOf(body, TIME_PLACEHOLDER_BYTES);
+        if (at < 0) {
+            return null;
+        }
+        return new Entry(Arrays.copyOfRange(body, 0, at),
+                Arrays.copyOfRange(body, at + TIME_PLACEHOLDER_BYTES.length, body.length));
+    }
+
+    private static void write(Entry entry, long solveTimeMs, HttpServletResponse response) throws IOException {
+        byte[] time = Long.toString(solveTimeMs).getBytes(StandardCharsets.US_ASCII);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(entry.prefix.length + time.length + entry.suffix.length);
+        OutputStream out = response.getOutputStream();
+        out.write(entry.prefix);
+        out.write(time);
+        out.write(entry.suffix);
+        out.flush();
+    }
+
+    /** Second-chance sweep down to 3/4 of the budget, so sweeps are not triggered by every insert. */
+    private void evictIfNeeded() {
+        if (totalBytes.get() <= maxBytes) return;
+        synchronized (evictionLock) {
+            long target = maxBytes - maxBytes / 4;
+            for (int pass = 0; pass < 2 && totalBytes.get() > target; pass++) {
+                Iterator<Entry> iterator = entries.values().iterator();
+                while (iterator.hasNext() && totalBytes.get() > target) {
+                    Entry entry = iterator.next();
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                    } else {
+                        iterator.remove();
+                        totalBytes.addAndGet(-entry.cost());
+                    }
+                }
+            }
+        }
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle) {
+        outer:
+        for (int start = 0; start <= haystack.length - needle.length; start++) {
+            for (int offset = 0; offset < needle.length; offset++) {
+                if (haystack[start + offset] != needle[offset]) continue outer;
+            }
+            return start;
+        }
+        return -1;
+    }
+
+    /** The request fields a /solve response depends on. */
+    private static final class Key {
+
+        private final int[] startState;
+        private final int[] goalState;
+        private final Algorithm algorithm;
+        private final HeuristicType heuristic;
+        private final int hash;
+
+        Key(SolveRequest solveRequest) {
+            this.startState = solveRequest.getStartState().clone();
+            this.goalState = solveRequest.getGoalState() == null ? null : solveRequest.getGoalState().clone();
+            this.algorithm = solveRequest.getSelectedAlgorithm();
+            this.heuristic = solveRequest.getHeuristic();
+            this.hash = Objects.hash(Arrays.hashCode(startState), Arrays.hashCode(goalState), algorithm, heuristic);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof Key)) return false;
+            Key key = (Key) other;
+            return algorithm == key.algorithm
+                    && heuristic == key.heuristic
+                    && Arrays.equals(startState, key.startState)
+                    && Arrays.equals(goalState, key.goalState);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /** A cached body: everything before and after the solveTimeMs digits. */
+    private static final class Entry {
+
+        private final byte[] prefix;
+        private final byte[] suffix;
+        /** Hit since the last eviction sweep. */
+        private volatile boolean referenced;
+
+        Entry(byte[] prefix, byte[] suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        long cost() {
+            return (long) prefix.length + suffix.length + ENTRY_OVERHEAD_BYTES;
+        }
+    }
+}
@@ -2,12 +2,15 @@ package service;
 
 import dto.ShuffleResponse;
 import model.Move;
+import model.MovePruningAutomaton;
 import model.PuzzleState;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
+import java.util.random.RandomGenerator;
 
 /**
  * Generates guaranteed-solvable scrambles by applying N random legal moves starting from the goal state.
@@ -15,10 +18,14 @@ import java.util.stream.Collectors;
  * Rationale:
  * - Starting from the goal and applying only legal moves ensures the final state is reachable (solvable).
  * - We avoid immediate backtracking (e.g., LEFT followed by RIGHT) to produce more meaningful shuffles.
+ *   The move-pruning automaton filters reversals before neighbor boards are built. Only the last move is
+ *   tracked, so seeded scrambles are the same as before.
  */
 @Service
 public class ShuffleService {
 
+    private static final MovePruningAutomaton MOVE_PRUNING = MovePruningAutomaton.standard();
+
     /**
      * Produce a solvable scrambled state by applying {@code randomMoveCount} random moves from the goal state.
      *
@@ -26,36 +33,55 @@ public class ShuffleService {
      * @return ShuffleResponse containing the scrambled state and the number of moves actually applied
      */
     public ShuffleResponse shuffle(int randomMoveCount) {
+        return shuffle(randomMoveCount, 3, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Same as {@link #shuffle(int)} for a board of the given width (3 = 8-puzzle, 4 = 15-puzzle).
+     *
+     * @throws ResponseStatusException 400 if the width is unsupported
+     */
+    public ShuffleResponse shuffle(int randomMoveCount, int width) {
+        return shuffle(randomMoveCount, width, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Same as {@link #shuffle(int)} but draws from the supplied generator, so a seeded generator
+     * reproduces the same scramble (used by dataset exports).
+     *
+     * @param randomMoveCount number of random legal moves to apply (negative values are treated as zero)
+     * @param width board width
+     * @param random source of randomness (non-null)
+     * @return ShuffleResponse containing the scrambled state and the number of moves actually applied
+     */
+    public ShuffleResponse shuffle(int randomMoveCount, int width, RandomGenerator random) {
+        if (width < PuzzleState.MIN_WIDTH || width > PuzzleState.MAX_WIDTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported board size: " + width
+                    + " (supported: " + PuzzleState.MIN_WIDTH + ".." + PuzzleState.MAX_WIDTH + ").");
+        }
+
         // Normalize requested step count (no negative loops).
         final int movesToApply = Math.max(0, randomMoveCount);
 
-        // Begin at the canonical goal state [1,2,3,4,5,6,7,8,0].
-        PuzzleState currentState = PuzzleState.goal();
+        // Begin at the canonical goal state (e.g. [1,2,3,4,5,6,7,8,0]).
+        PuzzleState currentState = PuzzleState.goal(width);
 
         // Track the last move to avoid immediate opposites (e.g., L then R).
         Move previousMove = null;
         int applied = 0;
 
         for (int i = 0; i < movesToApply; i++) {
-            // Generate all legal neighbors from the current state.
-            List<PuzzleState.Neighbor> allNeighbors = currentState.neighbors();
-
-            final Move prevMove = previousMove;
-
             // Prefer neighbors that do NOT immediately undo the previous move.
-            List<PuzzleState.Neighbor> filteredNeighbors = (previousMove == null)
-                    ? allNeighbors
-                    : allNeighbors.stream()
-                    .filter(n -> n.move() != prevMove.opposite())
-                    .collect(Collectors.toList());
+            List<PuzzleState.Neighbor> candidateNeighbors =
+                    currentState.neighbors(MOVE_PRUNING, MOVE_PRUNING.stateAfter(previousMove));
 
-            // If filtering removed all choices (corner cases), fall back to all neighbors.
-            List<PuzzleState.Neighbor> candidateNeighbors = filteredNeighbors.isEmpty()
-                    ? allNeighbors
-                    : filteredNeighbors;
+            // If pruning removed all choices (corner cases), fall back to all neighbors.
+            if (candidateNeighbors.isEmpty()) {
+                candidateNeighbors = currentState.neighbors();
+            }
 
             // Pick one neighbor uniformly at random.
-            int choiceIndex = ThreadLocalRandom.current().nextInt(candidateNeighbors.size());
+            int choiceIndex = random.nextInt(candidateNeighbors.size());
             PuzzleState.Neighbor chosen = candidateNeighbors.get(choiceIndex);
 
             // Advance: update state and remember the move that produced it.
@@ -1,23 +1,38 @@
 package service;
 
 
+import dto.BatchValidateRequest;
+import dto.BatchValidateResponse;
 import dto.ValidateRequest;
 import dto.ValidateResponse;
+import dto.ValidationStatus;
+import model.PuzzleState;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 /**
- * Validates 8-puzzle states for shape/contents and solvability.
+ * Validates sliding-puzzle states for shape/contents and solvability.
  *
  * Rules applied:
- *  - Shape/contents: array length must be 9; values must be exactly {0..8} each once (0 = blank).
- *  - Solvability (3×3 board): the number of inversions (ignoring 0) must be EVEN.
- *    (For odd-width boards like 3×3, solvability depends only on inversion parity.)
+ *  - Shape/contents: array length must be a perfect square w×w (w = 2..{@value PuzzleState#MAX_WIDTH});
+ *    values must be exactly {0..w²-1} each once (0 = blank).
+ *  - Solvability (any width): map every tile to its goal index (blank → last cell) and view the
+ *    board as a permutation. Each move is one transposition and shifts the blank by one cell, so a
+ *    state is solvable iff the permutation parity equals the parity of the blank's taxicab distance
+ *    from its goal cell. Parity comes from cycle decomposition: parity = (n - cycles) mod 2, O(n).
+ *    (For 3×3 this is equivalent to the classic "even inversion count" rule.)
  */
 @Service
 public class SolvabilityService {
 
+    /** Upper bound on states per /validate/batch call. */
+    private static final int MAX_BATCH_SIZE = 100_000;
+
     /**
      * Validate a provided puzzle state for structure and solvability.
      * Returns a detailed response with booleans and a concise message.
@@ -35,36 +50,102 @@ public class SolvabilityService {
             return new ValidateResponse(false, false, shapeError);
         }
 
-        // 2) Check solvability (3×3 rule: inversions must be even).
-        boolean solvable = isSolvable3x3(puzzleState);
-        if (!solvable) {
-            int inversions = countInversions(puzzleState);
+        // 2) Check solvability (permutation parity vs. blank distance).
+        int width = PuzzleState.widthOf(puzzleState.length);
+        if (!isSolvable(puzzleState, width, new boolean[puzzleState.length])) {
             return new ValidateResponse(true, false,
-                    "Unsolvable 3×3 configuration: inversion count is odd (" + inversions + ").");
+                    "Unsolvable " + width + "×" + width
+                            + " configuration: permutation parity does not match the blank's distance to its goal cell.");
         }
 
         return new ValidateResponse(true, true, "State is valid and solvable.");
     }
 
+    /**
+     * Validate many states in one pass.
+     *
+     * Hot path: no exceptions, no string formatting and no per-item allocation; a single scratch
+     * buffer is reused across items and every item maps to a shared, immutable result per status.
+     */
+    public BatchValidateResponse validateBatch(BatchValidateRequest batchRequest) {
+        if (batchRequest == null || batchRequest.getPuzzleStates() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch request or puzzleStates is null.");
+        }
+        List<int[]> states = batchRequest.getPuzzleStates();
+        if (states.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Batch too large: " + states.size() + " states (max " + MAX_BATCH_SIZE + ").");
+        }
+
+        List<BatchValidateResponse.Result> results = new ArrayList<>(states.size());
+        boolean[] scratch = new boolean[0];
+        int validCount = 0;
+        int solvableCount = 0;
+
+        for (int[] state : states) {
+            if (state != null && state.length > scratch.length) {
+                scratch = new boolean[state.length];
+            }
+            ValidationStatus status = classify(state, scratch);
+            BatchValidateResponse.Result result = BatchValidateResponse.Result.of(status);
+            if (result.isValid()) validCount++;
+            if (result.isSolvable()) solvableCount++;
+            results.add(result);
+        }
+
+        return new BatchValidateResponse(results, validCount, solvableCount);
+    }
+
     // ---------------------------------------------------------------------
     // Internal helpers
     // ---------------------------------------------------------------------
 
     /**
-     * Ensures length is 9 and values are exactly {0..8} each once.
+     * Allocation-free classification used by the batch path.
+     *
+     * @param scratch reusable buffer with length >= state.length
+     */
+    private ValidationStatus classify(int[] state, boolean[] scratch) {
+        if (state == null) {
+            return ValidationStatus.NULL_STATE;
+        }
+        int width = PuzzleState.widthOf(state.length);
+        if (width < 0) {
+            return ValidationStatus.INVALID_SHAPE;
+        }
+
+        int tileCount = state.length;
+        Arrays.fill(scratch, 0, tileCount, false);
+        for (int value : state) {
+            if (value < 0 || value >= tileCount) {
+                return ValidationStatus.INVALID_VALUE;
+            }
+            if (scratch[value]) {
+                return ValidationStatus.DUPLICATE_VALUE;
+            }
+            scratch[value] = true;
+        }
+
+        return isSolvable(state, width, scratch) ? ValidationStatus.OK : ValidationStatus.UNSOLVABLE;
+    }
+
+    /**
+     * Ensures length is w×w and values are exactly {0..w²-1} each once.
      *
      * @return null if OK; otherwise a human-readable error message.
      */
     private String validateShapeAndContents(int[] state) {
-        if (state.length != 9) {
-            return "Invalid shape: expected length 9, got " + state.length + ".";
+        if (PuzzleState.widthOf(state.length) < 0) {
+            return "Invalid shape: expected a square board of 4.." + (PuzzleState.MAX_WIDTH * PuzzleState.MAX_WIDTH)
+                    + " tiles (e.g. 9 or 16), got " + state.length + ".";
         }
 
         // Track seen values using a boolean array indexed by tile value.
-        boolean[] seen = new boolean[9];
+        int maxValue = state.length - 1;
+        boolean[] seen = new boolean[state.length];
         for (int value : state) {
-            if (value < 0 || value > 8) {
-                return "Invalid tile value: " + value + " (allowed range is 0..8).";
+            if (value < 0 || value > maxValue) {
+                return "Invalid tile value: " + value + " (allowed range is 0.." + maxValue + ").";
             }
             if (seen[value]) {
                 return "Duplicate tile value detected: " + value + ".";
@@ -77,34 +158,36 @@ public class SolvabilityService {
     }
 
     /**
-     * 3×3 solvability rule: the inversion count (ignoring 0) must be EVEN.
-     */
-    private boolean isSolvable3x3(int[] state) {
-        int inversions = countInversions(state);
-        return (inversions % 2) == 0;
-    }
-
-    /**
-     * Count inversions in the permutation, ignoring the blank (0).
-     * An inversion is a pair (i, j) such that i < j, state[i] > state[j], and both are non-zero.
+     * Solvability via cycle decomposition (see class doc). Assumes the state is structurally valid.
+     *
+     * @param visited scratch buffer with length >= state.length (contents are overwritten)
      */
-    private int countInversions(int[] state) {
-        int inversionCount = 0;
-        for (int i = 0; i < state.length; i++) {
-            int a = state[i];
-            if (a == 0) continue; // ignore blank
-            for (int j = i + 1; j < state.length; j++) {
-                int b = state[j];
-                if (b == 0) continue; // ignore blank
-                if (a > b) inversionCount++;
+    private boolean isSolvable(int[] state, int width, boolean[] visited) {
+        int tileCount = state.length;
+        Arrays.fill(visited, 0, tileCount, false);
+
+        int cycles = 0;
+        int blankIndex = -1;
+        for (int start = 0; start < tileCount; start++) {
+            if (state[start] == 0) blankIndex = start;
+            if (visited[start]) continue;
+            cycles++;
+            // Follow position → goal index of the tile sitting there until the cycle closes.
+            for (int index = start; !visited[index]; index = goalIndexOf(state[index], tileCount)) {
+                visited[index] = true;
             }
         }
-        return inversionCount;
+        int permutationParity = (tileCount - cycles) & 1;
+
+        int goalBlank = tileCount - 1;
+        int blankDistance = Math.abs(blankIndex / width - goalBlank / width)
+                + Math.abs(blankIndex % width - goalBlank % width);
+
+        return permutationParity == (blankDistance & 1);
     }
 
-    // Optional: utility to pretty-print state in logs (not used in API).
-    @SuppressWarnings("unused")
-    private String formatState(int[] state) {
-        return Arrays.toString(state);
+    /** Goal index of a tile value in the canonical goal [1..n-1, 0]. */
+    private static int goalIndexOf(int tileValue, int tileCount) {
+        return tileValue == 0 ? tileCount - 1 : tileValue - 1;
     }
 }
@@ -0,0 +1,147 @@
+package service;
+
+import dto.SolveResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import model.Algorithm;
+import model.HeuristicType;
+import org.springframework.stereotype.Component;
+import util.StateCodec;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight deduplication of identical concurrent solves.
+ *
+ * How:
+ *  - The first caller for a key (the "leader") registers a future and runs the solve on its own thread.
+ *  - Callers arriving with the same key while it runs attach to that future and receive the same
+ *    response (or the same failure) instead of starting another search.
+ *  - The entry is removed as soon as the leader finishes, so nothing is cached beyond the in-flight
+ *    window; a later identical request solves again.
+ *
+ * Keys:
+ *  - Packed start state (4 bits per tile) + algorithm + heuristic + packed custom goal (0 = none).
+ *  - Boards with more than {@value StateCodec#MAX_PACKED_TILES} tiles are not packable and simply
+ *    bypass coalescing.
+ *
+ * Metrics (Micrometer):
+ *  - puzzle.solve.coalesce{role=leader}   searches actually executed through the coalescer
+ *  - puzzle.solve.coalesce{role=follower} requests that attached to an in-flight search
+ *
+ * Note: followers share the leader's {@link SolveResponse} instance; it must be treated as read-only.
+ */
+@Component
+public class SolveCoalescer {
+
+    private final ConcurrentMap<SolveKey, CompletableFuture<SolveResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaderCounter;
+    private final Counter followerCounter;
+
+    public SolveCoalescer(MeterRegistry meterRegistry) {
+        this.leaderCounter = Counter.builder("puzzle.solve.coalesce")
+                .description("Solve requests grouped by single-flight role")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.followerCounter = Counter.builder("puzzle.solve.coalesce")
+                .description("Solve requests grouped by single-flight role")
+                .tag("role", "follower")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run {@code solve} once per distinct in-flight key; concurrent duplicates wait for and share its result.
+     *
+     * @param startTiles validated start board (request frame)
+     * @param goalTiles  optional custom goal (null = canonical goal)
+     * @param solve      the actual search; only invoked by the leader
+     */
+    public SolveResponse solve(int[] startTiles, int[] goalTiles, Algorithm algorithm,
+                               HeuristicType heuristic, Supplier<SolveResponse> solve) {
+        if (startTiles.length > StateCodec.MAX_PACKED_TILES) {
+            return solve.get();
+        }
+        SolveKey key = new SolveKey(
+                StateCodec.pack(startTiles),
+                goalTiles == null ? 0L : StateCodec.pack(goalTiles),
+                algorithm,
+                heuristic);
+
+        CompletableFuture<SolveResponse> ownFuture = new CompletableFuture<>();
+        CompletableFuture<SolveResponse> runningFuture = inFlight.putIfAbsent(key, ownFuture);
+        if (runningFuture != null) {
+            followerCounter.increment();
+            return await(runningFuture);
+        }
+
+        leaderCounter.increment();
+        try {
+            SolveResponse response = solve.get();
+            ownFuture.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            ownFuture.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, ownFuture);
+        }
+    }
+
+    /** @return number of distinct searches currently running through the coalescer. */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /** Wait for the leader and rethrow its failure unchanged (e.g., a 400/500 ResponseStatusException). */
+    private SolveResponse await(CompletableFuture<SolveResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    /** Identity of a solve: everything that influences the response. */
+    private static final class SolveKey {
+
+        private final long packedStart;
+        private final long packedGoal;
+        private final Algorithm algorithm;
+        private final HeuristicType heuristic;
+
+        SolveKey(long packedStart, long packedGoal, Algorithm algorithm, HeuristicType heuristic) {
+            this.packedStart = packedStart;
+            this.packedGoal = packedGoal;
+            this.algorithm = algorithm;
+            this.heuristic = heuristic;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof SolveKey)) return false;
+            SolveKey that = (SolveKey) other;
+            return packedStart == that.packedStart
+                    && packedGoal == that.packedGoal
+                    && algorithm == that.algorithm
+                    && heuristic == that.heuristic;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Long.hashCode(packedStart * 0x9E3779B97F4A7C15L);
+            result = 31 * result + Long.hashCode(packedGoal);
+            result = 31 * result + algorithm.hashCode();
+            result = 31 * result + (heuristic == null ? 0 : heuristic.hashCode());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package service;
+
+import dto.JobStatus;
+import dto.SolveJobRequest;
+import dto.SolveJobResponse;
+import dto.SolveResponse;
+import dto.ValidateRequest;
+import dto.ValidateResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import model.PuzzleState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import solver.SolveCancelledException;
+import solver.SolverFactory;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous solve jobs (/api/puzzle/jobs): accept now, solve in the background, poll for the result.
+ *
+ * How:
+ *  - Submissions are validated up front (400 on bad boards, and on BFS/DFS for boards wider than they
+ *    can finish) and placed in a bounded priority queue (higher priority first, FIFO within a priority).
+ *    A full queue rejects with 429.
+ *  - A fixed pool of solver workers takes jobs from the queue and runs them through
+ *    {@link SolverService#solve(dto.SolveRequest, java.util.function.BooleanSupplier)}, so jobs get the
+ *    same validation, store and memory fallback as /solve.
+ *  - DELETE cancels: a queued job is removed from the queue, a running job's search stops at its next
+ *    cancellation check (every solver polls it).
+ *  - A job whose solver throws ends FAILED. An Error (e.g. OutOfMemoryError) is not swallowed: the job
+ *    is marked FAILED, the Error ends its worker thread, and a fresh worker takes that thread's place.
+ *  - Finished jobs are kept for {@code puzzle.jobs.retention-ms}, then purged (GET returns 404).
+ *
+ * Metrics (Micrometer):
+ *  - puzzle.jobs.queue.depth / puzzle.jobs.running   gauges
+ *  - puzzle.jobs.wait / puzzle.jobs.run              timers (queue latency, solve time)
+ *  - puzzle.jobs.finished{status}                    counters per terminal status
+ *  - puzzle.jobs.rejected                            submissions refused because the queue was full
+ */
+@Service
+public class SolveJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(SolveJobService.class);
+
+    /** Queue order: higher priority first, then submission order. */
+    private static final Comparator<Job> QUEUE_ORDER = Comparator
+            .comparingInt((Job job) -> -job.priority)
+            .thenComparingLong(job -> job.sequence);
+
+    private final SolverService solverService;
+    private final SolvabilityService solvabilityService;
+    private final SolverFactory solverFactory;
+
+    private final int queueCapacity;
+    private final long retentionMs;
+
+    private final PriorityBlockingQueue<Job> queue = new PriorityBlockingQueue<>(64, QUEUE_ORDER);
+    private final Map<String, Job> jobsById = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger runningCount = new AtomicInteger();
+    private final Thread[] workers;
+    private volatile boolean shuttingDown;
+
+    private final Timer waitTimer;
+    private final Timer runTimer;
+    private final Counter rejectedCounter;
+    private final Map<JobStatus, Counter> finishedCounters = new EnumMap<>(JobStatus.class);
+
+    public SolveJobService(SolverService solverService,
+                           SolvabilityService solvabilityService,
+                           SolverFactory solverFactory,
+                           MeterRegistry meterRegistry,
+                           @Value("${puzzle.jobs.workers:0}") int workerCount,
+                           @Value("${puzzle.jobs.queue-capacity:1000}") int queueCapacity,
+                           @Value("${puzzle.jobs.retention-ms:600000}") long retentionMs) {
+        this.solverService = solverService;
+        this.solvabilityService = solvabilityService;
+        this.solverFactory = solverFactory;
+        this.queueCapacity = queueCapacity;
+        this.retentionMs = retentionMs;
+
+        Gauge.builder("puzzle.jobs.queue.depth", queue, PriorityBlockingQueue::size)
+                .description("Jobs waiting for a solver worker")
+                .register(meterRegistry);
+        Gauge.builder("puzzle.jobs.running", runningCount, AtomicInteger::get)
+                .description("Jobs currently being solved")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("puzzle.jobs.wait")
+                .description("Time jobs spend queued before a worker picks them up")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("puzzle.jobs.run")
+                .description("Time workers spend solving a job")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("puzzle.jobs.rejected")
+                .description("Job submissions refused because the queue was full")
+                .register(meterRegistry);
+        for (JobStatus status : JobStatus.values()) {
+            if (status.isTerminal()) {
+                finishedCounters.put(status, Counter.builder("puzzle.jobs.finished")
+                        .tag("status", status.name())
+                        .register(meterRegistry));
+            }
+        }
+
+        // Default: half the cores, so synchronous /solve traffic keeps headroom.
+        int resolvedWorkers = workerCount > 0 ? workerCount : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.workers = new Thread[resolvedWorkers];
+        for (int i = 0; i < resolvedWorkers; i++) {
+            startWorker(i);
+        }
+    }
+
+    /**
+     * Validate and enqueue a job.
+     *
+     * @return the QUEUED job snapshot
+     * @throws ResponseStatusException 400 for invalid/unsolvable boards, 429 when the queue is full
+     */
+    public SolveJobResponse submit(SolveJobRequest jobRequest) {
+        if (jobRequest == null || jobRequest.getStartState() == null) {
+            throw badRequest("Job request startState is null.");
+        }
+        if (jobRequest.getSelectedAlgorithm() == null) {
+            throw badRequest("Job request selectedAlgorithm is null (expected astar, bfs, dfs, auto, portfolio, or reduction).");
+        }
+        ValidateResponse validation = solvabilityService.validate(new ValidateRequest(jobRequest.getStartState()));
+        if (!validation.isValid()) {
+            throw badRequest("Invalid state: " + validation.getMessage());
+        }
+        // With a custom goal solvability is judged in the goal's frame, which the solve itself checks.
+        if (jobRequest.getGoalState() == null && !validation.isSolvable()) {
+            throw badRequest("Unsolvable state: " + validation.getMessage());
+        }
+        // Checked here too, so a hopeless search never takes a worker.
+        int width = new PuzzleState(jobRequest.getStartState()).width();
+        if (!solverFactory.supportsWidth(jobRequest.getSelectedAlgorithm(), width)) {
+            throw badRequest(SolverService.uninformedTooWide(jobRequest.getSelectedAlgorithm()));
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), jobRequest, sequence.getAndIncrement());
+        synchronized (queue) {
+            if (queue.size() >= queueCapacity) {
+                rejectedCounter.increment();
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                        "Job queue is full (" + queueCapacity + " jobs); retry later.");
+            }
+            jobsById.put(job.id, job);
+            queue.add(job);
+        }
+        return job.snapshot();
+    }
+
+    /**
+     * @throws ResponseStatusException 404 if the id is unknown or the job has expired
+     */
+    public SolveJobResponse get(String jobId) {
+        return find(jobId).snapshot();
+    }
+
+    /**
+     * Cancel a queued or running job; finished jobs are returned unchanged.
+     *
+     * @throws ResponseStatusException 404 if the id is unknown or the job has expired
+     */
+    public SolveJobResponse cancel(String jobId) {
+        Job job = find(jobId);
+        synchronized (job) {
+            if (job.status.isTerminal()) {
+                return job.snapshot();
+            }
+            // A running (or just dequeued) job sees the flag and the worker records CANCELLED.
+            job.cancelRequested = true;
+            if (job.status == JobStatus.QUEUED && queue.remove(job)) {
+                job.finish(JobStatus.CANCELLED, null, null, retentionMs);
+                finishedCounters.get(JobStatus.CANCELLED).increment();
+            }
+            return job.snapshot();
+        }
+    }
+
+    /** Forget finished jobs whose retention window has passed. */
+    @Scheduled(fixedDelayString = "${puzzle.jobs.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        jobsById.values().removeIf(job -> job.expiresAt != null && job.expiresAt <= now);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        synchronized (workers) {
+            for (Thread worker : workers) {
+                worker.interrupt();
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    /** Start (or restart) worker {@code index}; a worker killed by an Error is replaced the same way. */
+    private void startWorker(int index) {
+        Thread worker = new Thread(this::workLoop, "solve-job-worker-" + index);
+        worker.setDaemon(true);
+        worker.setUncaughtExceptionHandler((thread, error) -> {
+            log.error("Solve job worker {} died; starting a replacement.", thread.getName(), error);
+            if (!shuttingDown) {
+                startWorker(index);
+            }
+        });
+        synchronized (workers) {
+            workers[index] = worker;
+        }
+        worker.start();
+    }
+
+    private void workLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Job job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            synchronized (job) {
+                if (job.status != JobStatus.QUEUED) continue;
+                if (job.cancelRequested) { // cancelled while being dequeued
+                    job.finish(JobStatus.CANCELLED, null, null, retentionMs);
+                    finishedCounters.get(JobStatus.CANCELLED).increment();
+                    continue;
+                }
+                job.status = JobStatus.RUNNING;
+                job.startedAt = System.currentTimeMillis();
+            }
+            waitTimer.record(System.nanoTime() - job.submittedNanos, TimeUnit.NANOSECONDS);
+            run(job);
+        }
+    }
+
+    private void run(Job job) {
+        runningCount.incrementAndGet();
+        long t0 = System.nanoTime();
+        JobStatus outcome = null;
+        try {
+            SolveResponse result = solverService.solve(job.request, () -> job.cancelRequested);
+            outcome = JobStatus.DONE;
+            job.finish(outcome, result, null, retentionMs);
+        } catch (SolveCancelledException e) {
+            outcome = JobStatus.CANCELLED;
+            job.finish(outcome, null, null, retentionMs);
+        } catch (ResponseStatusException e) {
+            outcome = JobStatus.FAILED;
+            job.finish(outcome, null, e.getReason(), retentionMs);
+        } catch (RuntimeException e) {
+            log.warn("Solve job {} failed.", job.id, e);
+            outcome = JobStatus.FAILED;
+            job.finish(outcome, null, "Solver error: " + e.getMessage(), retentionMs);
+        } finally {
+            runningCount.decrementAndGet();
+            if (outcome == null) {
+                // An Error is propagating: record the job, then let it take the worker down (see startWorker).
+                job.finish(JobStatus.FAILED, null, "Solver error", retentionMs);
+                finishedCounters.get(JobStatus.FAILED).increment();
+            }
+        }
+        runTimer.record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+        finishedCounters.get(outcome).increment();
+    }
+
+    private Job find(String jobId) {
+        Job job = (jobId == null) ? null : jobsById.get(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown or expired job: " + jobId);
+        }
+        return job;
+    }
+
+    /** Build a 400 Bad Request with a clear, client-facing message. */
+    private ResponseStatusException badRequest(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+
+    /** Mutable job record; state transitions are guarded by the job's monitor. */
+    private static final class Job {
+        final String id;
+        final SolveJobRequest request;
+        final int priority;
+        final long sequence;
+        final long submittedAt = System.currentTimeMillis();
+        final long submittedNanos = System.nanoTime();
+
+        JobStatus status = JobStatus.QUEUED;
+        volatile boolean cancelRequested;
+        Long startedAt;
+        Long finishedAt;
+        volatile Long expiresAt;
+        SolveResponse result;
+        String error;
+
+        Job(String id, SolveJobRequest request, long sequence) {
+            this.id = id;
+            this.request = request;
+            this.priority = request.getPriority();
+            this.sequence = sequence;
+        }
+
+        synchronized void finish(JobStatus finalStatus, SolveResponse result, String error, long retentionMs) {
+            this.status = finalStatus;
+            this.result = result;
+            this.error = error;
+            this.finishedAt = System.currentTimeMillis();
+            this.expiresAt = finishedAt + retentionMs;
+        }
+
+        synchronized SolveJobResponse snapshot() {
+            SolveJobResponse response = new SolveJobResponse();
+            response.setJobId(id);
+            response.setStatus(status);
+            response.setPriority(priority);
+            response.setSubmittedAt(submittedAt);
+            response.setStartedAt(startedAt);
+            response.setFinishedAt(finishedAt);
+            response.setExpiresAt(expiresAt);
+            response.setResult(result);
+            response.setError(error);
+            return response;
+        }
+    }
+}
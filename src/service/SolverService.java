@@ -2,22 +2,42 @@ package service;
 
 
 import dto.*;
+import heuristic.Heuristic;
+import heuristic.HeuristicFactory;
 import model.*;
 import solver.*;
+import store.SolveStore;
+import util.GoalMapping;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 /**
  * Orchestrates solving requests:
- *  1) Validates the incoming board (shape/contents + 3×3 solvability).
- *  2) Selects the requested algorithm (A*, BFS, DFS) via the SolverFactory.
+ *  1) Validates the incoming board (shape/contents + solvability, any square width).
+ *  2) Selects the requested algorithm (A*, BFS, DFS) via the SolverFactory and the optional
+ *     heuristic via the HeuristicFactory; "auto" is resolved per board by the {@link AutoEngineSelector}
+ *     and "portfolio" races several engines in the {@link PortfolioService}.
  *  3) Executes the search, measures runtime, and converts the result to a SolveResponse DTO.
+ *     Identical concurrent requests are coalesced into one search by the {@link SolveCoalescer},
+ *     and previously solved boards are answered from the persistent {@link SolveStore}.
+ *     A* runs under a node budget and falls back to memory-bounded SMA* when it is exceeded.
+ *
+ * Custom goals:
+ *  - When the request carries a goalState, the board is mapped onto the canonical goal with
+ *    {@link GoalMapping} before searching and the moves/states are mapped back afterwards, so custom
+ *    goals run through exactly the same solvers, heuristics and tables as standard solves.
  *
  * Notes:
  *  - Image slicing is client-side; server only receives/returns tile IDs (0..8).
@@ -26,12 +46,48 @@ import java.util.stream.Collectors;
 @Service
 public class SolverService {
 
+    private static final Logger log = LoggerFactory.getLogger(SolverService.class);
+
+    /** Engine labels for answers that did not come from the selected solver. */
+    static final String ENGINE_STORE = "store";
+    static final String ENGINE_SMA_STAR = "sma*";
+
+    /** Default {@code puzzle.search.max-nodes}, shared with exports. */
+    public static final int DEFAULT_MAX_SEARCH_NODES = 2_000_000;
+
     private final SolverFactory solverFactory;
+    private final HeuristicFactory heuristicFactory;
     private final SolvabilityService solvabilityService;
+    private final SolveCoalescer solveCoalescer;
+    private final SolveStore solveStore;
+    private final SMAStarSolver memoryBoundedSolver;
+    private final AutoEngineSelector autoEngineSelector;
+    private final EngineFactory engineFactory;
+    private final PortfolioService portfolioService;
 
-    public SolverService(SolverFactory solverFactory, SolvabilityService solvabilityService) {
+    /** Node budget for A*; past it the solve is retried with SMA* under the same cap. */
+    private final int maxSearchNodes;
+
+    public SolverService(SolverFactory solverFactory,
+                         HeuristicFactory heuristicFactory,
+                         SolvabilityService solvabilityService,
+                         SolveCoalescer solveCoalescer,
+                         SolveStore solveStore,
+                         SMAStarSolver memoryBoundedSolver,
+                         AutoEngineSelector autoEngineSelector,
+                         EngineFactory engineFactory,
+                         PortfolioService portfolioService,
+                         @Value("${puzzle.search.max-nodes:" + DEFAULT_MAX_SEARCH_NODES + "}") int maxSearchNodes) {
         this.solverFactory = solverFactory;
+        this.heuristicFactory = heuristicFactory;
         this.solvabilityService = solvabilityService;
+        this.solveCoalescer = solveCoalescer;
+        this.solveStore = solveStore;
+        this.memoryBoundedSolver = memoryBoundedSolver;
+        this.autoEngineSelector = autoEngineSelector;
+        this.engineFactory = engineFactory;
+        this.portfolioService = portfolioService;
+        this.maxSearchNodes = maxSearchNodes;
     }
 
     /**
@@ -39,6 +95,17 @@ public class SolverService {
      * Performs validation, delegates to the selected solver, and packages a response.
      */
     public SolveResponse solve(SolveRequest solveRequest) {
+        return solve(solveRequest, null);
+    }
+
+    /**
+     * Same as {@link #solve(SolveRequest)}, but the search stops with {@link SolveCancelledException}
+     * once {@code cancellation} returns true (used by background jobs). Cancellable solves bypass the
+     * coalescer so cancelling one job never fails an unrelated request attached to it.
+     *
+     * @param cancellation polled during the search; null = not cancellable
+     */
+    public SolveResponse solve(SolveRequest solveRequest, BooleanSupplier cancellation) {
         // ---------- 0) Defensive null checks ----------
         if (solveRequest == null) {
             throw badRequest("Solve request cannot be null.");
@@ -47,7 +114,7 @@ public class SolverService {
             throw badRequest("Solve request startState is null.");
         }
         if (solveRequest.getSelectedAlgorithm() == null) {
-            throw badRequest("Solve request selectedAlgorithm is null (expected astar, bfs, or dfs).");
+            throw badRequest("Solve request selectedAlgorithm is null (expected astar, bfs, dfs, auto, portfolio, or reduction).");
         }
 
         // ---------- 1) Validate shape/contents + solvability ----------
@@ -57,23 +124,105 @@ public class SolverService {
         if (!validation.isValid()) {
             throw badRequest("Invalid state: " + validation.getMessage());
         }
+
+        // Custom goal: search in the canonical frame; solvability is judged there as well.
+        GoalMapping goalMapping = resolveGoalMapping(solveRequest.getGoalState(), solveRequest.getStartState().length);
+        int[] searchStartTiles = (goalMapping == null)
+                ? solveRequest.getStartState()
+                : goalMapping.toCanonical(solveRequest.getStartState());
+        if (goalMapping != null) {
+            validation = solvabilityService.validate(new ValidateRequest(searchStartTiles));
+        }
         if (!validation.isSolvable()) {
-            throw badRequest("Unsolvable state: " + validation.getMessage());
+            throw badRequest("Unsolvable state: " + (goalMapping == null
+                    ? validation.getMessage()
+                    : "the requested goalState cannot be reached from startState (parity mismatch)."));
         }
 
         // ---------- 2) Build the immutable PuzzleState from the request ----------
-        PuzzleState startState = new PuzzleState(solveRequest.getStartState());
+        PuzzleState startState = new PuzzleState(searchStartTiles);
         Algorithm selectedAlgorithm = solveRequest.getSelectedAlgorithm();
 
-        // ---------- 3) Select the solver via factory ----------
-        Solver solver = solverFactory.getSolver(selectedAlgorithm);
-        if (solver == null) {
-            throw badRequest("Unsupported algorithm: " + selectedAlgorithm);
+        // ---------- 3) Select the solver (factory, the calibrated engine for "auto", or the portfolio race) ----------
+        Solver solver;
+        SolveOptions solveOptions = SolveOptions.defaults();
+        String engine;
+        if ((selectedAlgorithm == Algorithm.AUTO || selectedAlgorithm == Algorithm.PORTFOLIO)
+                && solveRequest.getHeuristic() != null) {
+            throw badRequest("Algorithm " + selectedAlgorithm.getWireName()
+                    + " chooses its own heuristics; omit the heuristic field.");
+        }
+        if (selectedAlgorithm == Algorithm.AUTO) {
+            Engine chosen = autoEngineSelector.select(startState);
+            solver = engineFactory.getSolver(chosen);
+            solveOptions = engineFactory.optionsFor(chosen, solveOptions);
+            engine = chosen.getWireName();
+        } else if (selectedAlgorithm == Algorithm.PORTFOLIO) {
+            solver = portfolioService;
+            engine = selectedAlgorithm.getWireName();
+        } else {
+            solver = solverFactory.getSolver(selectedAlgorithm);
+            if (solver == null) {
+                throw badRequest("Unsupported algorithm: " + selectedAlgorithm);
+            }
+            if (!solverFactory.supportsWidth(selectedAlgorithm, startState.width())) {
+                throw badRequest(uninformedTooWide(selectedAlgorithm));
+            }
+            if (solveRequest.getHeuristic() != null) {
+                solveOptions = solveOptions.withHeuristic(resolveHeuristic(solveRequest.getHeuristic(), startState));
+            }
+            engine = engineName(selectedAlgorithm, solveRequest.getHeuristic());
+        }
+        if (maxSearchNodes > 0 && (solver instanceof AStarSolver || solver == portfolioService)) {
+            solveOptions = solveOptions.withMaxNodes(maxSearchNodes);
+        }
+
+        // ---------- 4) Execute search (identical concurrent requests share one run) ----------
+        // Diagnostics describe this request's own search, so they bypass coalescing and the store.
+        if (solveRequest.isDiagnostics()) {
+            solveOptions = solveOptions.withProfile(new SearchProfile());
+        }
+        if (cancellation != null || solveRequest.isDiagnostics()) {
+            return search(solver, engine, startState, selectedAlgorithm, solveRequest.getHeuristic(),
+                    cancellation == null ? solveOptions : solveOptions.withCancellation(cancellation), goalMapping);
         }
+        SolveOptions options = solveOptions;
+        return solveCoalescer.solve(
+                solveRequest.getStartState(),
+                solveRequest.getGoalState(),
+                selectedAlgorithm,
+                solveRequest.getHeuristic(),
+                () -> search(solver, engine, startState, selectedAlgorithm, solveRequest.getHeuristic(), options, goalMapping));
+    }
 
-        // ---------- 4) Execute search and measure time ----------
+    /**
+     * Serve from the persistent store or run the search, measure time, and convert the model result
+     * to the API DTO (mapping moves/states back to the custom goal frame when needed).
+     * The store is keyed by the canonical-frame start, so custom-goal solves share its entries.
+     */
+    private SolveResponse search(Solver solver, String engine, PuzzleState startState, Algorithm algorithm,
+                                 HeuristicType heuristicType, SolveOptions solveOptions, GoalMapping goalMapping) {
         long t0 = System.nanoTime();
-        SolveResult solveResult = solver.solve(startState);
+        int[] startTiles = startState.toArray();
+        String engineUsed = engine;
+        SearchProfile profile = solveOptions.getProfile();
+        SolveResult solveResult = (profile == null) ? solveStore.lookup(startTiles, algorithm, heuristicType) : null;
+        if (solveResult != null) {
+            engineUsed = ENGINE_STORE;
+        } else {
+            try {
+                solveResult = solver.solve(startState, solveOptions);
+                if (solveResult != null && solveResult.getEngine() != null) {
+                    engineUsed = engine + ":" + solveResult.getEngine().getWireName();
+                }
+            } catch (SearchLimitExceededException e) {
+                solveResult = solveMemoryBounded(startState, solveOptions, e);
+                engineUsed = ENGINE_SMA_STAR;
+            }
+            if (solveResult != null && (startState.isGoal() || !solveResult.getMoves().isEmpty())) {
+                solveStore.record(startTiles, algorithm, heuristicType, solveResult);
+            }
+        }
         long elapsedMs = (System.nanoTime() - t0) / 1_000_000L;
 
         // Sanity check: a solver should always return a non-null result for a solvable state.
@@ -85,14 +234,24 @@ public class SolverService {
         }
 
         // ---------- 5) Convert model result -> API DTO ----------
-        List<String> moveShortCodes = toShortCodes(solveResult.getMoves());
+        List<Move> moves = solveResult.getMoves();
         List<int[]> pathStates = solveResult.getPathStates(); // may be null if solver didn't collect
+        if (goalMapping != null) {
+            moves = goalMapping.movesFromCanonical(moves);
+            pathStates = goalMapping.statesFromCanonical(pathStates);
+        }
+        List<String> moveShortCodes = toShortCodes(moves);
 
         SolveResponse response = new SolveResponse();
         response.setMoves(moveShortCodes);
+        response.setSolutionLength(moveShortCodes.size());
         response.setSolveTimeMs(elapsedMs);
         response.setExpandedNodeCount(solveResult.getExpandedNodeCount());
         response.setPathStates(pathStates);
+        response.setEngine(engineUsed);
+        if (profile != null) {
+            response.setDiagnostics(diagnostics(profile, solveResult, solveOptions, startState));
+        }
 
         return response;
     }
@@ -101,6 +260,131 @@ public class SolverService {
     // Internal helpers
     // ---------------------------------------------------------------------
 
+    /**
+     * A* outgrew its node budget: finish with SMA* under the same cap, which is still optimal but
+     * trades time for bounded memory.
+     */
+    private SolveResult solveMemoryBounded(PuzzleState startState, SolveOptions solveOptions,
+                                           SearchLimitExceededException limit) {
+        log.warn("{} Falling back to memory-bounded SMA* for {}.", limit.getMessage(), startState);
+        SolveResult fallbackResult = memoryBoundedSolver.solve(startState, solveOptions);
+        if (fallbackResult.getMoves().isEmpty() && !startState.isGoal()) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Board needs more than " + limit.getMaxNodes() + " search nodes to solve optimally.");
+        }
+        return fallbackResult;
+    }
+
+    /**
+     * Turn the solver's counters into the response block. Heuristic accuracy uses the heuristic the search
+     * ran with: the portfolio winner's, the request's/engine's override, or Manhattan.
+     */
+    private SolveDiagnostics diagnostics(SearchProfile profile, SolveResult solveResult, SolveOptions solveOptions,
+                                         PuzzleState startState) {
+        HeuristicType heuristicType = HeuristicType.MANHATTAN;
+        if (solveResult.getEngine() != null && solveResult.getEngine().getHeuristic() != null) {
+            heuristicType = solveResult.getEngine().getHeuristic();
+        } else if (solveOptions.getHeuristic() != null) {
+            for (HeuristicType type : heuristicFactory.getSupportedHeuristics()) {
+                if (heuristicFactory.getHeuristic(type) == solveOptions.getHeuristic()) heuristicType = type;
+            }
+        }
+        int startHeuristic = heuristicFactory.getHeuristic(heuristicType).estimate(startState);
+        int solutionLength = solveResult.getMoves().size();
+
+        Map<Integer, Long> expandedByLayer = new LinkedHashMap<>();
+        long[] layers = profile.getExpandedByLayer();
+        for (int layer = 0; layer < layers.length; layer++) {
+            if (layers[layer] > 0) expandedByLayer.put(layer, layers[layer]);
+        }
+
+        SolveDiagnostics diagnostics = new SolveDiagnostics();
+        diagnostics.setGeneratedNodeCount(profile.getGenerated());
+        diagnostics.setExpandedNodeCount(profile.getExpanded());
+        diagnostics.setDuplicateCount(profile.getDuplicates());
+        diagnostics.setPeakOpenSize(profile.getPeakOpen());
+        diagnostics.setPeakClosedSize(profile.getPeakClosed());
+        diagnostics.setLayerKind(profile.getLayer().getWireName());
+        diagnostics.setExpandedByLayer(expandedByLayer);
+        diagnostics.setEffectiveBranchingFactor(effectiveBranchingFactor(profile.getGenerated() + 1, solutionLength));
+        diagnostics.setHeuristic(heuristicType.getWireName());
+        diagnostics.setStartHeuristic(startHeuristic);
+        diagnostics.setSolutionLength(solutionLength);
+        diagnostics.setHeuristicAccuracy(solutionLength == 0 ? null : (double) startHeuristic / solutionLength);
+        return diagnostics;
+    }
+
+    /** b* solving 1 + b + b² + … + b^depth = nodes (bisection); null for a zero-length solution. */
+    static Double effectiveBranchingFactor(long nodes, int depth) {
+        if (depth <= 0) return null;
+        double low = 0.0;
+        double high = Math.max(1.0, (double) nodes);
+        for (int iteration = 0; iteration < 100; iteration++) {
+            double mid = (low + high) / 2;
+            double total = 1.0;
+            double term = 1.0;
+            for (int level = 1; level <= depth && total <= nodes; level++) {
+                term *= mid;
+                total += term;
+            }
+            if (total < nodes) low = mid; else high = mid;
+        }
+        return Math.round(high * 1000.0) / 1000.0;
+    }
+
+    /** Engine label for an explicitly chosen algorithm (A* defaults to Manhattan). */
+    private static String engineName(Algorithm algorithm, HeuristicType heuristicType) {
+        if (algorithm != Algorithm.ASTAR) {
+            return algorithm.getWireName();
+        }
+        return algorithm.getWireName() + "+"
+                + (heuristicType == null ? HeuristicType.MANHATTAN : heuristicType).getWireName();
+    }
+
+    /**
+     * @return the mapping for a custom goal, or null when no goal (or the canonical goal) was requested.
+     *         Package-private so {@link HintService} applies the same goal rules.
+     */
+    GoalMapping resolveGoalMapping(int[] goalState, int startLength) {
+        if (goalState == null) {
+            return null;
+        }
+        if (goalState.length != startLength) {
+            throw badRequest("goalState must have the same size as startState.");
+        }
+        ValidateResponse goalValidation = solvabilityService.validate(new ValidateRequest(goalState));
+        if (!goalValidation.isValid()) {
+            throw badRequest("Invalid goalState: " + goalValidation.getMessage());
+        }
+        if (GoalMapping.isCanonical(goalState)) {
+            return null;
+        }
+        try {
+            return GoalMapping.forGoal(goalState);
+        } catch (IllegalArgumentException e) {
+            throw badRequest(e.getMessage());
+        }
+    }
+
+    /** Client-facing reason for a BFS/DFS request on a board wider than the uninformed searches accept. */
+    static String uninformedTooWide(Algorithm algorithm) {
+        return "Algorithm " + algorithm.getWireName() + " supports boards up to " + EngineFactory.UNINFORMED_MAX_WIDTH
+                + "×" + EngineFactory.UNINFORMED_MAX_WIDTH + "; use astar, auto or reduction for larger boards.";
+    }
+
+    /** Look up the requested heuristic and check it can score boards of this width. */
+    private Heuristic resolveHeuristic(HeuristicType type, PuzzleState startState) {
+        Heuristic heuristic = heuristicFactory.getHeuristic(type);
+        if (heuristic == null) {
+            throw badRequest("Unsupported heuristic: " + type);
+        }
+        if (!heuristic.supportsWidth(startState.width())) {
+            throw badRequest("Heuristic " + type.getWireName() + " does not support "
+                    + startState.width() + "×" + startState.width() + " boards.");
+        }
+        return heuristic;
+    }
+
     /** Convert a list of Move enums to compact short codes ("U","D","L","R") for wire/display. */
     private List<String> toShortCodes(List<Move> moves) {
         if (moves == null) return null;
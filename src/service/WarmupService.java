@@ -0,0 +1,215 @@
+package service;
+
+import heuristic.Heuristic;
+import heuristic.HeuristicFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import model.Algorithm;
+import model.Engine;
+import model.HeuristicType;
+import model.PuzzleState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import solver.EngineFactory;
+import solver.SolveOptions;
+import solver.Solver;
+import solver.SolverFactory;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boot-time JIT warm-up that keeps the readiness probe DOWN until the hot paths are compiled.
+ *
+ * How:
+ *  - Runs as an {@link ApplicationRunner}: Spring Boot only publishes ReadinessState.ACCEPTING_TRAFFIC
+ *    after all runners return, so /actuator/health/readiness stays OUT_OF_SERVICE for the whole warm-up
+ *    (REFUSING_TRAFFIC is also published explicitly at the start).
+ *  - Each round solves a fixed, seeded corpus with every registered solver (A* once per heuristic that
+ *    supports the board) and every {@link Engine} that auto and portfolio can start (IDA*, bidirectional
+ *    and parallel BFS, perimeter search, the distance index) on the widths it supports. This exercises
+ *    PuzzleState.neighbors(), the solvers and the heuristics directly, bypassing the store/coalescer so
+ *    nothing is persisted, and builds the lazily created tables (goal perimeters) before traffic.
+ *  - Stops once the JIT settles: total compilation time grew by at most {@code stable-ratio} of the
+ *    round's wall time for {@code stable-rounds} consecutive rounds (after {@code min-rounds}),
+ *    or when {@code max-duration-ms} is reached.
+ *
+ * Reporting: logs rounds/time and records the puzzle.warmup timer.
+ */
+@Service
+@Order(1)
+public class WarmupService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupService.class);
+
+    /** Seed of the warm-up corpus; fixed so every instance warms up on the same boards. */
+    private static final long CORPUS_SEED = 0x5EEDL;
+
+    /** (width, shuffle steps) of the informed-search corpus. */
+    private static final int[][] INFORMED_CORPUS = { {3, 20}, {3, 40}, {3, 100}, {3, 100}, {4, 20}, {4, 30} };
+
+    /** Shallow 3×3 boards for BFS/DFS, which would be far too slow on deep or 4×4 boards. */
+    private static final int UNINFORMED_STEPS = 14;
+    private static final int UNINFORMED_BOARDS = 4;
+
+    /** (width, shuffle steps) of the reduction corpus: the large boards that solver exists for. */
+    private static final int[][] REDUCTION_CORPUS = { {6, 2000}, {8, 4000}, {10, 6000} };
+
+    private final SolverFactory solverFactory;
+    private final EngineFactory engineFactory;
+    private final HeuristicFactory heuristicFactory;
+    private final ShuffleService shuffleService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final long maxDurationMs;
+    private final int minRounds;
+    private final int stableRounds;
+    private final double stableRatio;
+
+    public WarmupService(SolverFactory solverFactory,
+                         EngineFactory engineFactory,
+                         HeuristicFactory heuristicFactory,
+                         ShuffleService shuffleService,
+                         ApplicationEventPublisher eventPublisher,
+                         MeterRegistry meterRegistry,
+                         @Value("${puzzle.warmup.enabled:true}") boolean enabled,
+                         @Value("${puzzle.warmup.max-duration-ms:30000}") long maxDurationMs,
+                         @Value("${puzzle.warmup.min-rounds:3}") int minRounds,
+                         @Value("${puzzle.warmup.stable-rounds:2}") int stableRounds,
+                         @Value("${puzzle.warmup.stable-ratio:0.02}") double stableRatio) {
+        this.solverFactory = solverFactory;
+        this.engineFactory = engineFactory;
+        this.heuristicFactory = heuristicFactory;
+        this.shuffleService = shuffleService;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxDurationMs = maxDurationMs;
+        this.minRounds = minRounds;
+        this.stableRounds = stableRounds;
+        this.stableRatio = stableRatio;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            log.info("JIT warm-up disabled (puzzle.warmup.enabled=false).");
+            return;
+        }
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+
+        List<WarmupTask> tasks = buildCorpus();
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean canTrackCompilation = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+
+        long t0 = System.nanoTime();
+        int rounds = 0;
+        int quietRounds = 0;
+        while (true) {
+            long compileBefore = canTrackCompilation ? compiler.getTotalCompilationTime() : 0L;
+            long roundStart = System.nanoTime();
+            for (WarmupTask task : tasks) {
+                task.run();
+            }
+            rounds++;
+            long roundMs = (System.nanoTime() - roundStart) / 1_000_000L;
+            long compileDeltaMs = canTrackCompilation ? compiler.getTotalCompilationTime() - compileBefore : 0L;
+            quietRounds = (compileDeltaMs <= Math.max(1L, (long) (roundMs * stableRatio))) ? quietRounds + 1 : 0;
+
+            long elapsedMs = (System.nanoTime() - t0) / 1_000_000L;
+            if (rounds >= minRounds && quietRounds >= stableRounds) break;
+            if (elapsedMs >= maxDurationMs) {
+                log.warn("JIT warm-up hit its {} ms budget before compilation settled.", maxDurationMs);
+                break;
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - t0;
+        meterRegistry.timer("puzzle.warmup").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        log.info("JIT warm-up finished: {} rounds over {} tasks in {} ms{}.",
+                rounds, tasks.size(), elapsedNanos / 1_000_000L,
+                canTrackCompilation ? ", total JIT time " + compiler.getTotalCompilationTime() + " ms" : "");
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    /** Fixed corpus: every registered solver × suitable boards (× heuristics for A*), then the other engines. */
+    private List<WarmupTask> buildCorpus() {
+        SplittableRandom random = new SplittableRandom(CORPUS_SEED);
+        List<WarmupTask> tasks = new ArrayList<>();
+        for (Algorithm algorithm : solverFactory.getSupportedAlgorithms()) {
+            Solver solver = solverFactory.getSolver(algorithm);
+            if (algorithm == Algorithm.ASTAR) {
+                for (int[] spec : INFORMED_CORPUS) {
+                    PuzzleState board = board(spec[0], spec[1], random);
+                    for (HeuristicType type : heuristicFactory.getSupportedHeuristics()) {
+                        Heuristic heuristic = heuristicFactory.getHeuristic(type);
+                        if (!heuristic.supportsWidth(board.width())) continue;
+                        tasks.add(new WarmupTask(solver, board, SolveOptions.defaults().withHeuristic(heuristic)));
+                    }
+                }
+            } else if (algorithm == Algorithm.REDUCTION) {
+                for (int[] spec : REDUCTION_CORPUS) {
+                    tasks.add(new WarmupTask(solver, board(spec[0], spec[1], random), SolveOptions.defaults()));
+                }
+            } else {
+                for (int i = 0; i < UNINFORMED_BOARDS; i++) {
+                    tasks.add(new WarmupTask(solver, board(3, UNINFORMED_STEPS, random), SolveOptions.defaults()));
+                }
+            }
+        }
+        for (Engine engine : Engine.values()) {
+            if (coveredByAlgorithm(engine)) continue;
+            for (int[] spec : INFORMED_CORPUS) {
+                if (!engineFactory.supportsWidth(engine, spec[0])) continue;
+                tasks.add(new WarmupTask(engineFactory.getSolver(engine), board(spec[0], spec[1], random),
+                        engineFactory.optionsFor(engine, SolveOptions.defaults())));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * @return true if the per-algorithm tasks already run this engine's solver with the same options
+     *         (an algorithm plus a heuristic, e.g. astar+manhattan or bfs)
+     */
+    private static boolean coveredByAlgorithm(Engine engine) {
+        return engine.getAlgorithm() != null && engine != Engine.ASTAR_PERIMETER;
+    }
+
+    private PuzzleState board(int width, int steps, SplittableRandom random) {
+        return new PuzzleState(shuffleService.shuffle(steps, width, random).getShuffledState());
+    }
+
+    /** One (solver, board, options) solve of the corpus. */
+    private static final class WarmupTask {
+        private final Solver solver;
+        private final PuzzleState board;
+        private final SolveOptions options;
+
+        WarmupTask(Solver solver, PuzzleState board, SolveOptions options) {
+            this.solver = solver;
+            this.board = board;
+            this.options = options;
+        }
+
+        void run() {
+            solver.solve(board, options);
+        }
+    }
+}
@@ -7,7 +7,7 @@ import org.springframework.stereotype.Component;
 import java.util.*;
 
 /**
- * A* solver for the 8-puzzle.
+ * A* solver for square sliding puzzles.
  *
  * Core idea:
  *  - Maintain a priority queue (the "open set") ordered by f = g + h,
@@ -16,12 +16,23 @@ import java.util.*;
  *  - Use a "closed set" to avoid reprocessing the same board states.
  *
  * Notes:
- *  - Heuristic is injected (e.g., Manhattan distance) to keep the solver pluggable/testable.
+ *  - Heuristic is injected (e.g., Manhattan distance) to keep the solver pluggable/testable;
+ *    a request may override it through {@link SolveOptions#withHeuristic}.
  *  - Returns the optimal (fewest-move) solution when the heuristic is admissible/consistent.
+ *  - Memory grows with the frontier; {@link SolveOptions#withMaxNodes} turns an oversized search into
+ *    a {@link SearchLimitExceededException} instead of an OutOfMemoryError (see {@link SMAStarSolver}).
+ *  - With {@link SolveOptions#withPerimeters} the search targets the goal perimeter: the first perimeter
+ *    board popped has an exact h, so it completes an optimal path and the table supplies the rest.
  */
 @Component
 public class AStarSolver implements Solver {
 
+    /** Cancellation is polled every 1024 expansions (cheap, yet well under a millisecond apart). */
+    private static final int CANCELLATION_CHECK_MASK = 1023;
+
+    /** Only each node's last move is known here, so this prunes immediate reversals (see the automaton). */
+    private static final MovePruningAutomaton MOVE_PRUNING = MovePruningAutomaton.standard();
+
     private final Heuristic heuristic;
 
     /**
@@ -37,9 +48,27 @@ public class AStarSolver implements Solver {
      */
     @Override
     public SolveResult solve(PuzzleState startState) {
+        return solve(startState, SolveOptions.defaults());
+    }
+
+    /**
+     * Same as {@link #solve(PuzzleState)}, using {@code options.getHeuristic()} when present.
+     *
+     * @throws SearchLimitExceededException if open + closed sets outgrow {@code options.getMaxNodes()}
+     * @throws SolveCancelledException if {@code options.isCancelled()} turns true mid-search
+     */
+    @Override
+    public SolveResult solve(PuzzleState startState, SolveOptions options) {
         if (startState == null) {
             throw new IllegalArgumentException("startState cannot be null.");
         }
+        Heuristic heuristic = (options != null && options.getHeuristic() != null) ? options.getHeuristic() : this.heuristic;
+        int maxNodes = (options != null && options.getMaxNodes() > 0) ? options.getMaxNodes() : Integer.MAX_VALUE;
+        SearchProfile profile = (options != null) ? options.getProfile() : null;
+        GoalPerimeter perimeter = (options != null) ? options.perimeterFor(startState.width()) : null;
+        if (perimeter != null) {
+            heuristic = perimeter.heuristic(heuristic);
+        }
 
         // Fast-path: already solved.
         if (startState.isGoal()) {
@@ -63,6 +92,11 @@ public class AStarSolver implements Solver {
 
         int expandedCount = 0; // for diagnostics/UX
 
+        // Children of the node being expanded (at most four), scored together.
+        PuzzleState[] childStates = new PuzzleState[4];
+        Move[] childMoves = new Move[4];
+        int[] childEstimates = new int[4];
+
         // Main A* loop.
         while (!openSet.isEmpty()) {
             // Take the most promising node (lowest f = g + h).
@@ -71,35 +105,62 @@ public class AStarSolver implements Solver {
 
             // If we've already settled this state, skip (can happen due to multiple PQ entries).
             if (closedSet.contains(currentState)) {
+                if (profile != null) profile.onDuplicate();
                 continue;
             }
 
             // Mark as processed.
             closedSet.add(currentState);
             expandedCount++;
+            if (profile != null) {
+                profile.onExpanded(currentNode.getFCost());
+                profile.observeSizes(openSet.size(), closedSet.size());
+            }
+
+            // Memory guard: stop before the frontier can exhaust the heap; the caller may switch engines.
+            if (openSet.size() + closedSet.size() > maxNodes) {
+                throw new SearchLimitExceededException(maxNodes, expandedCount);
+            }
+            if ((expandedCount & CANCELLATION_CHECK_MASK) == 0 && options != null && options.isCancelled()) {
+                throw new SolveCancelledException(expandedCount);
+            }
 
             // Goal check: because we pop in order of non-decreasing f, the first goal we pop is optimal.
             if (currentState.isGoal()) {
-                return buildSolveResult(currentNode, expandedCount);
+                return buildSolveResult(currentNode, null, expandedCount);
+            }
+            // Perimeter hit: h is the exact remaining distance (never above the depth outside it).
+            if (perimeter != null && currentNode.getHCost() <= perimeter.depth()) {
+                return buildSolveResult(currentNode, perimeter, expandedCount);
             }
 
-            // Expand neighbors: generate legal board states by sliding tiles into the blank.
-            for (PuzzleState.Neighbor neighbor : currentState.neighbors()) {
+            // Expand neighbors: generate legal board states by sliding tiles into the blank
+            // (never the reversal back to the parent, which is already closed).
+            int pruningState = MOVE_PRUNING.stateAfter(currentNode.getMoveApplied());
+            int childCount = 0;
+            for (PuzzleState.Neighbor neighbor : currentState.neighbors(MOVE_PRUNING, pruningState)) {
                 PuzzleState nextState = neighbor.state();
 
                 // Skip if we've already processed this board.
                 if (closedSet.contains(nextState)) {
+                    if (profile != null) profile.onDuplicate();
                     continue;
                 }
+                if (profile != null) profile.onGenerated();
+                childStates[childCount] = nextState;
+                childMoves[childCount++] = neighbor.move();
+            }
 
-                int nextG = currentNode.getGCost() + 1;            // each move costs 1
-                int nextH = heuristic.estimate(nextState);          // estimated distance to goal
+            // Score all children in one batch (SIMD-capable heuristics evaluate them together).
+            heuristic.estimateAll(childStates, childCount, childEstimates);
+            int nextG = currentNode.getGCost() + 1;                // each move costs 1
+            for (int child = 0; child < childCount; child++) {
                 SearchNode childNode = SearchNode.forAStar(
-                        nextState,
+                        childStates[child],
                         currentNode,
-                        neighbor.move(),                             // move taken from current to next
+                        childMoves[child],                          // move taken from current to next
                         nextG,
-                        nextH
+                        childEstimates[child]                       // estimated distance to goal
                 );
 
                 // Push onto the frontier; if a better path to the same state exists, it will win by f-ordering.
@@ -123,8 +184,9 @@ public class AStarSolver implements Solver {
     /**
      * Reconstruct the move list and path states from the goal node back to the start.
      * Produces moves in start → goal order and (optionally) the sequence of board states.
+     * When {@code goalNode} is a perimeter board, the perimeter's path to the goal is appended.
      */
-    private SolveResult buildSolveResult(SearchNode goalNode, int expandedCount) {
+    private SolveResult buildSolveResult(SearchNode goalNode, GoalPerimeter perimeter, int expandedCount) {
         List<Move> movesReversed = new ArrayList<>();
         List<int[]> statesReversed = new ArrayList<>();
 
@@ -139,6 +201,9 @@ public class AStarSolver implements Solver {
         // Reverse to get start → goal ordering.
         Collections.reverse(statesReversed);
         Collections.reverse(movesReversed);
+        if (perimeter != null) {
+            perimeter.appendPathToGoal(goalNode.getState(), movesReversed, statesReversed);
+        }
 
         return new SolveResult(movesReversed, statesReversed, expandedCount);
     }
@@ -12,19 +12,42 @@ import java.util.*;
  * - Uninformed search (no heuristic); explores states in increasing path length.
  * - On an unweighted graph like the 8-puzzle, BFS finds a shortest path in number of moves.
  * - Uses a FIFO queue for the frontier and a visited set to avoid revisiting states.
+ * - Honors the node cap ({@link SearchLimitExceededException}) and cancellation, since its memory grows
+ *   with every state it visits.
  */
 @Component
 public class BFSSolver implements Solver {
 
+    /** Prunes the reversal back to the parent, which is always already visited. */
+    private static final MovePruningAutomaton MOVE_PRUNING = MovePruningAutomaton.standard();
+
+    /** Cancellation is polled every 1024 expansions (cheap, yet well under a millisecond apart). */
+    private static final int CANCELLATION_CHECK_MASK = 1023;
+
     /**
      * Compute a shortest path (fewest moves) from the given start state to the canonical goal [1,2,3; 4,5,6; 7,8,0].
      * Assumes the caller has validated the start state’s shape and solvability.
      */
     @Override
     public SolveResult solve(PuzzleState startState) {
+        return solve(startState, SolveOptions.defaults());
+    }
+
+    /**
+     * Same as {@link #solve(PuzzleState)}; the options' node cap, cancellation and diagnostics profile
+     * apply to BFS (the heuristic does not).
+     *
+     * @throws SearchLimitExceededException if more than {@code options.getMaxNodes()} states are visited
+     * @throws SolveCancelledException if {@code options.isCancelled()} turns true mid-search
+     */
+    @Override
+    public SolveResult solve(PuzzleState startState, SolveOptions options) {
         if (startState == null) {
             throw new IllegalArgumentException("startState cannot be null.");
         }
+        int maxNodes = (options != null && options.getMaxNodes() > 0) ? options.getMaxNodes() : Integer.MAX_VALUE;
+        SearchProfile profile = (options != null) ? options.getProfile() : null;
+        if (profile != null) profile.setLayer(SearchProfile.Layer.DEPTH);
 
         // Fast-path: already solved.
         if (startState.isGoal()) {
@@ -53,15 +76,30 @@ public class BFSSolver implements Solver {
             SearchNode currentNode = frontierQueue.removeFirst();
             PuzzleState currentState = currentNode.getState();
             expandedNodeCount++;
+            if (profile != null) {
+                profile.onExpanded(currentNode.getGCost());
+                profile.observeSizes(frontierQueue.size(), visitedStates.size());
+            }
+
+            // Memory guard: stop before the visited set can exhaust the heap.
+            if (visitedStates.size() > maxNodes) {
+                throw new SearchLimitExceededException(maxNodes, expandedNodeCount);
+            }
+            if ((expandedNodeCount & CANCELLATION_CHECK_MASK) == 0 && options != null && options.isCancelled()) {
+                throw new SolveCancelledException(expandedNodeCount);
+            }
 
-            // Expand all legal neighbors: slide a tile into the blank.
-            for (PuzzleState.Neighbor neighbor : currentState.neighbors()) {
+            // Expand all legal neighbors except the reversal: slide a tile into the blank.
+            int pruningState = MOVE_PRUNING.stateAfter(currentNode.getMoveApplied());
+            for (PuzzleState.Neighbor neighbor : currentState.neighbors(MOVE_PRUNING, pruningState)) {
                 PuzzleState nextState = neighbor.state();
 
                 // Skip if we've already seen this board configuration.
                 if (visitedStates.contains(nextState)) {
+                    if (profile != null) profile.onDuplicate();
                     continue;
                 }
+                if (profile != null) profile.onGenerated();
 
                 // Construct the child node; cost so far increases by 1 for each move.
                 SearchNode childNode = SearchNode.forUninformed(
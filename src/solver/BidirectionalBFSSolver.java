@@ -0,0 +1,166 @@
+package solver;
+
+import model.Move;
+import model.MovePruningAutomaton;
+import model.PuzzleState;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bidirectional breadth-first search: one BFS from the start, one from the goal, meeting in the middle.
+ *
+ * Core idea:
+ *  - Each round expands one whole layer of the smaller frontier; a generated state already seen by the
+ *    other side closes a path. The layer is finished and the shortest closing path is kept, so the
+ *    result is optimal.
+ *  - Each side only reaches about half the solution depth, so it visits far fewer states than
+ *    {@link BFSSolver} (roughly 2·b^(d/2) instead of b^d).
+ *
+ * Notes:
+ *  - Uninformed; practical up to 3×3 (larger boards outgrow any reasonable node cap).
+ *  - Honors the node cap ({@link SearchLimitExceededException}) and cancellation.
+ *  - Not a user-selectable algorithm; used as a portfolio engine (see {@code model.Engine}).
+ */
+@Component
+public class BidirectionalBFSSolver implements Solver {
+
+    /** Cancellation is polled every 1024 expansions. */
+    private static final int CANCELLATION_CHECK_MASK = 1023;
+
+    /** Prunes the reversal back to the parent, which is always already visited. */
+    private static final MovePruningAutomaton MOVE_PRUNING = MovePruningAutomaton.standard();
+
+    @Override
+    public SolveResult solve(PuzzleState startState) {
+        return solve(startState, SolveOptions.defaults());
+    }
+
+    /**
+     * @param options node cap (both sides' visited states together) and cancellation
+     * @throws SearchLimitExceededException if both searches together outgrow {@code options.getMaxNodes()}
+     * @throws SolveCancelledException if {@code options.isCancelled()} turns true mid-search
+     */
+    @Override
+    public SolveResult solve(PuzzleState startState, SolveOptions options) {
+        if (startState == null) {
+            throw new IllegalArgumentException("startState cannot be null.");
+        }
+        if (startState.isGoal()) {
+            return new SolveResult(Collections.emptyList(), Collections.singletonList(startState.toArray()), 0);
+        }
+        int maxNodes = (options != null && options.getMaxNodes() > 0) ? options.getMaxNodes() : Integer.MAX_VALUE;
+        SearchProfile profile = (options != null) ? options.getProfile() : null;
+        if (profile != null) profile.setLayer(SearchProfile.Layer.DEPTH);
+
+        // Visited maps: state → how it was reached (from the start / from the goal).
+        Map<PuzzleState, Link> forward = new HashMap<>();
+        Map<PuzzleState, Link> backward = new HashMap<>();
+        List<PuzzleState> forwardLayer = new ArrayList<>();
+        List<PuzzleState> backwardLayer = new ArrayList<>();
+        PuzzleState goal = PuzzleState.goal(startState.width());
+        forward.put(startState, Link.ROOT);
+        backward.put(goal, Link.ROOT);
+        forwardLayer.add(startState);
+        backwardLayer.add(goal);
+
+        int expandedCount = 0;
+        while (!forwardLayer.isEmpty() && !backwardLayer.isEmpty()) {
+            boolean expandForward = forwardLayer.size() <= backwardLayer.size();
+            Map<PuzzleState, Link> own = expandForward ? forward : backward;
+            Map<PuzzleState, Link> other = expandForward ? backward : forward;
+
+            List<PuzzleState> nextLayer = new ArrayList<>();
+            PuzzleState bestMeeting = null;
+            int bestLength = Integer.MAX_VALUE;
+            for (PuzzleState state : expandForward ? forwardLayer : backwardLayer) {
+                expandedCount++;
+                if ((expandedCount & CANCELLATION_CHECK_MASK) == 0 && options != null && options.isCancelled()) {
+                    throw new SolveCancelledException(expandedCount);
+                }
+                Link link = own.get(state);
+                if (profile != null) {
+                    profile.onExpanded(link.depth);
+                    profile.observeSizes(forwardLayer.size() + backwardLayer.size(), forward.size() + backward.size());
+                }
+                for (PuzzleState.Neighbor neighbor : state.neighbors(MOVE_PRUNING, MOVE_PRUNING.stateAfter(link.move))) {
+                    PuzzleState next = neighbor.state();
+                    if (own.containsKey(next)) {
+                        if (profile != null) profile.onDuplicate();
+                        continue;
+                    }
+                    if (profile != null) profile.onGenerated();
+                    own.put(next, new Link(state, neighbor.move(), link.depth + 1));
+                    nextLayer.add(next);
+                    Link meeting = other.get(next);
+                    if (meeting != null && link.depth + 1 + meeting.depth < bestLength) {
+                        bestLength = link.depth + 1 + meeting.depth;
+                        bestMeeting = next;
+                    }
+                }
+            }
+            if (bestMeeting != null) {
+                return buildSolveResult(bestMeeting, forward, backward, expandedCount);
+            }
+            if (forward.size() + backward.size() > maxNodes) {
+                throw new SearchLimitExceededException(maxNodes, expandedCount);
+            }
+            if (expandForward) forwardLayer = nextLayer; else backwardLayer = nextLayer;
+        }
+
+        // For a valid, solvable start this should not happen.
+        return new SolveResult(Collections.emptyList(), Collections.emptyList(), expandedCount);
+    }
+
+    // ---------------------------------------------------------------------
+    // Helpers
+    // ---------------------------------------------------------------------
+
+    /**
+     * Start → meeting via the forward links, then meeting → goal by undoing the backward links
+     * (a backward link reached {@code state} by moving the blank {@code move} from {@code parent},
+     * so going the other way is {@code move.opposite()}).
+     */
+    private SolveResult buildSolveResult(PuzzleState meeting, Map<PuzzleState, Link> forward,
+                                         Map<PuzzleState, Link> backward, int expandedCount) {
+        List<Move> moves = new ArrayList<>();
+        List<int[]> pathStates = new ArrayList<>();
+        for (PuzzleState state = meeting; ; ) {
+            pathStates.add(state.toArray());
+            Link link = forward.get(state);
+            if (link.parent == null) break;
+            moves.add(link.move);
+            state = link.parent;
+        }
+        Collections.reverse(moves);
+        Collections.reverse(pathStates);
+
+        for (PuzzleState state = meeting; ; ) {
+            Link link = backward.get(state);
+            if (link.parent == null) break;
+            moves.add(link.move.opposite());
+            state = link.parent;
+            pathStates.add(state.toArray());
+        }
+        return new SolveResult(moves, pathStates, expandedCount);
+    }
+
+    /** Parent pointer of one side's BFS tree. */
+    private static final class Link {
+        static final Link ROOT = new Link(null, null, 0);
+
+        final PuzzleState parent;
+        final Move move;
+        final int depth;
+
+        Link(PuzzleState parent, Move move, int depth) {
+            this.parent = parent;
+            this.move = move;
+            this.depth = depth;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package solver;
 
 import model.Move;
+import model.MovePruningAutomaton;
 import model.PuzzleState;
 import model.SearchNode;
 import solver.SolveResult;
@@ -13,6 +14,7 @@ import java.util.*;
  * - Stack (LIFO) + content-based visited to avoid revisits.
  * - Not optimal; we add a modest depth cap for responsiveness.
  * - Deterministic neighbor priority (RIGHT, DOWN, LEFT, UP).
+ * - Honors the node cap (visited set) and cancellation.
  */
 @Component
 public class DFSSolver implements Solver {
@@ -20,6 +22,12 @@ public class DFSSolver implements Solver {
     /** Depth cutoff to avoid pathological paths (optimal worst case is 31). */
     private static final int MAX_DEPTH = 60;
 
+    /** Prunes the reversal back to the parent, which is always already visited. */
+    private static final MovePruningAutomaton MOVE_PRUNING = MovePruningAutomaton.standard();
+
+    /** Cancellation is polled every 1024 expansions (cheap, yet well under a millisecond apart). */
+    private static final int CANCELLATION_CHECK_MASK = 1023;
+
     /** Fixed exploration order. */
     private static final Move[] ORDER = { Move.RIGHT, Move.DOWN, Move.LEFT, Move.UP };
 
@@ -34,7 +42,21 @@ public class DFSSolver implements Solver {
 
     @Override
     public SolveResult solve(PuzzleState startState) {
+        return solve(startState, SolveOptions.defaults());
+    }
+
+    /**
+     * Same as {@link #solve(PuzzleState)}; the options' node cap, cancellation and diagnostics profile apply.
+     *
+     * @throws SearchLimitExceededException if more than {@code options.getMaxNodes()} states are visited
+     * @throws SolveCancelledException if {@code options.isCancelled()} turns true mid-search
+     */
+    @Override
+    public SolveResult solve(PuzzleState startState, SolveOptions options) {
         if (startState == null) throw new IllegalArgumentException("startState cannot be null.");
+        int maxNodes = (options != null && options.getMaxNodes() > 0) ? options.getMaxNodes() : Integer.MAX_VALUE;
+        SearchProfile profile = (options != null) ? options.getProfile() : null;
+        if (profile != null) profile.setLayer(SearchProfile.Layer.DEPTH);
 
         // Fast path.
         if (startState.isGoal()) {
@@ -69,9 +91,20 @@ public class DFSSolver implements Solver {
             }
 
             expandedNodeCount++;
+            if (profile != null) {
+                profile.onExpanded(cur.getGCost());
+                profile.observeSizes(stack.size(), visited.size());
+            }
+            if (visited.size() > maxNodes) {
+                throw new SearchLimitExceededException(maxNodes, expandedNodeCount);
+            }
+            if ((expandedNodeCount & CANCELLATION_CHECK_MASK) == 0 && options != null && options.isCancelled()) {
+                throw new SolveCancelledException(expandedNodeCount);
+            }
 
             // Generate neighbors and order them by our fixed priority
-            List<PuzzleState.Neighbor> nbrs = new ArrayList<PuzzleState.Neighbor>(s.neighbors());
+            List<PuzzleState.Neighbor> nbrs = new ArrayList<PuzzleState.Neighbor>(
+                    s.neighbors(MOVE_PRUNING, MOVE_PRUNING.stateAfter(cur.getMoveApplied())));
 
             // Use Collections.sort for widest compatibility (Java 8 OK)
             Collections.sort(nbrs, new Comparator<PuzzleState.Neighbor>() {
@@ -86,9 +119,12 @@ public class DFSSolver implements Solver {
                 PuzzleState next = nb.state();
                 int key = Arrays.hashCode(next.toArray());
                 if (visited.add(key)) { // mark on push
+                    if (profile != null) profile.onGenerated();
                     stack.push(SearchNode.forUninformed(
                             next, cur, nb.move(), cur.getGCost() + 1
                     ));
+                } else if (profile != null) {
+                    profile.onDuplicate();
                 }
             }
         }
@@ -0,0 +1,18 @@
+package solver;
+
+import heuristic.DistanceIndex;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Builds the 3×3 {@link DistanceIndex} from {@link ParallelBFSSolver#distancesByRank(int)}, so the
+ * startup enumeration runs on every core instead of a serial BFS.
+ */
+@Configuration
+public class DistanceIndexConfig {
+
+    @Bean
+    public DistanceIndex distanceIndex(ParallelBFSSolver parallelBFSSolver) {
+        return new DistanceIndex(parallelBFSSolver.distancesByRank(DistanceIndex.WIDTH));
+    }
+}
@@ -0,0 +1,78 @@
+package solver;
+
+import heuristic.DistanceIndex;
+import model.Move;
+import model.PuzzleState;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optimal 3×3 solver that never searches: it walks the {@link DistanceIndex}, always moving to a
+ * neighbor exactly one step closer to the goal. Cost is O(solution length) lookups.
+ *
+ * Only used for 3×3 boards (see {@link #supportsWidth(int)}); the expanded count reports index lookups.
+ */
+@Component
+public class DistanceIndexSolver implements Solver {
+
+    private final DistanceIndex distanceIndex;
+
+    public DistanceIndexSolver(DistanceIndex distanceIndex) {
+        this.distanceIndex = distanceIndex;
+    }
+
+    /** @return true if boards of this width can be solved from the index. */
+    public boolean supportsWidth(int width) {
+        return distanceIndex.supportsWidth(width);
+    }
+
+    @Override
+    public SolveResult solve(PuzzleState startState) {
+        return solve(startState, SolveOptions.defaults());
+    }
+
+    /** Same as {@link #solve(PuzzleState)}; a diagnostics profile sees one expansion per step (layer = depth). */
+    @Override
+    public SolveResult solve(PuzzleState startState, SolveOptions options) {
+        if (startState == null) {
+            throw new IllegalArgumentException("startState cannot be null.");
+        }
+        if (!supportsWidth(startState.width())) {
+            throw new IllegalArgumentException("Distance index only covers " + DistanceIndex.WIDTH + "×"
+                    + DistanceIndex.WIDTH + " boards.");
+        }
+        SearchProfile profile = (options != null) ? options.getProfile() : null;
+        if (profile != null) profile.setLayer(SearchProfile.Layer.DEPTH);
+        int[] tiles = startState.toArray();
+        int distance = distanceIndex.distance(tiles);
+        if (distance < 0) {
+            throw new IllegalArgumentException("Board is not solvable.");
+        }
+
+        List<Move> moves = new ArrayList<>(distance);
+        List<int[]> pathStates = new ArrayList<>(distance + 1);
+        pathStates.add(tiles.clone());
+        int blank = DistanceIndex.indexOfBlank(tiles);
+        int lookups = 1;
+        for (int remaining = distance; remaining > 0; remaining--) {
+            if (profile != null) profile.onExpanded(distance - remaining);
+            for (Move move : Move.values()) {
+                int target = DistanceIndex.targetIndex(blank, move);
+                if (target < 0) continue;
+                DistanceIndex.swap(tiles, blank, target);
+                lookups++;
+                if (profile != null) profile.onGenerated();
+                if (distanceIndex.distance(tiles) == remaining - 1) {
+                    blank = target;
+                    moves.add(move);
+                    pathStates.add(tiles.clone());
+                    break;
+                }
+                DistanceIndex.swap(tiles, blank, target);
+            }
+        }
+        return new SolveResult(moves, pathStates, lookups);
+    }
+}
@@ -0,0 +1,85 @@
+package solver;
+
+import heuristic.Heuristic;
+import heuristic.HeuristicFactory;
+import model.Engine;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Maps an {@link Engine} to the solver that runs it and the options it needs
+ * (the engine-level counterpart of {@link SolverFactory}).
+ *
+ * Also knows which engines are practical for a board width, so callers (auto selection, portfolio
+ * racing) never start an engine that cannot finish: the distance index covers 3×3 only, walking distance
+ * up to 4×4, and the uninformed BFS variants stop at 3×3. Goal perimeters are built up to 4×4.
+ */
+@Component
+public class EngineFactory {
+
+    /** Widest board the uninformed engines are offered on (3×3 has 181,440 reachable states). */
+    public static final int UNINFORMED_MAX_WIDTH = 3;
+
+    private final Map<Engine, Solver> engineToSolverMap = new EnumMap<>(Engine.class);
+    private final HeuristicFactory heuristicFactory;
+    private final DistanceIndexSolver distanceIndexSolver;
+    private final GoalPerimeters goalPerimeters;
+
+    public EngineFactory(SolverFactory solverFactory,
+                         HeuristicFactory heuristicFactory,
+                         DistanceIndexSolver distanceIndexSolver,
+                         IDAStarSolver idaStarSolver,
+                         BidirectionalBFSSolver bidirectionalBfsSolver,
+                         ParallelBFSSolver parallelBfsSolver,
+                         GoalPerimeters goalPerimeters) {
+        this.heuristicFactory = heuristicFactory;
+        this.distanceIndexSolver = distanceIndexSolver;
+        this.goalPerimeters = goalPerimeters;
+        for (Engine engine : Engine.values()) {
+            if (engine.getAlgorithm() != null) {
+                engineToSolverMap.put(engine, solverFactory.getSolver(engine.getAlgorithm()));
+            }
+        }
+        engineToSolverMap.put(Engine.INDEX, distanceIndexSolver);
+        engineToSolverMap.put(Engine.IDASTAR_MANHATTAN, idaStarSolver);
+        engineToSolverMap.put(Engine.IDASTAR_WALKING_DISTANCE, idaStarSolver);
+        engineToSolverMap.put(Engine.BIDIRECTIONAL_BFS, bidirectionalBfsSolver);
+        engineToSolverMap.put(Engine.PARALLEL_BFS, parallelBfsSolver);
+        engineToSolverMap.put(Engine.IDASTAR_PERIMETER, idaStarSolver);
+    }
+
+    /** @return the solver that runs {@code engine}. */
+    public Solver getSolver(Engine engine) {
+        return engineToSolverMap.get(engine);
+    }
+
+    /** @return {@code base} with the engine's heuristic (informed engines) and goal perimeters applied. */
+    public SolveOptions optionsFor(Engine engine, SolveOptions base) {
+        if (engine.getHeuristic() == null) return base;
+        SolveOptions options = base.withHeuristic(heuristicFactory.getHeuristic(engine.getHeuristic()));
+        if (engine == Engine.ASTAR_PERIMETER || engine == Engine.IDASTAR_PERIMETER) {
+            options = options.withPerimeters(goalPerimeters);
+        }
+        return options;
+    }
+
+    /** @return true if {@code engine} can solve boards of this width in reasonable time and memory. */
+    public boolean supportsWidth(Engine engine, int width) {
+        if (engine == Engine.INDEX) {
+            return distanceIndexSolver.supportsWidth(width);
+        }
+        if (engine == Engine.BFS || engine == Engine.BIDIRECTIONAL_BFS || engine == Engine.PARALLEL_BFS) {
+            return width <= UNINFORMED_MAX_WIDTH;
+        }
+        if (engine == Engine.ASTAR_PERIMETER || engine == Engine.IDASTAR_PERIMETER) {
+            return goalPerimeters.supportsWidth(width);
+        }
+        if (engine.getHeuristic() != null) {
+            Heuristic heuristic = heuristicFactory.getHeuristic(engine.getHeuristic());
+            return heuristic.supportsWidth(width);
+        }
+        return true;
+    }
+}
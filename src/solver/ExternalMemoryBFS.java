@@ -0,0 +1,513 @@
+package solver;
+
+import heuristic.Heuristic;
+import heuristic.NibbleTable;
+import heuristic.PatternDatabaseHeuristic;
+import model.Move;
+import model.PuzzleState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import util.FlatBoard;
+import util.StateCodec;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Properties;
+
+/**
+ * Breadth-first enumeration that keeps its layers on disk, for state spaces that do not fit in the heap
+ * (4×4 and its pattern abstractions, where {@link BFSSolver}'s in-heap queue and visited set cannot).
+ *
+ * Core idea (delayed duplicate detection):
+ *  - Each depth layer is a file of packed boards ({@link StateCodec#pack(int[])}), sorted and free of
+ *    duplicates. There is no visited set.
+ *  - Expanding layer d streams it from disk. Successors collect in a fixed in-heap buffer, which is
+ *    sorted, deduplicated and written out as a sorted run whenever it fills.
+ *  - The runs are k-way merged and, in the same streaming pass, subtracted from layers d and d-1.
+ *    Moves are reversible, so every successor of layer d lies in layer d-1, d or d+1: what is left is
+ *    exactly layer d+1.
+ *  - Every file is read and written sequentially through large direct NIO buffers.
+ *
+ * Bounds:
+ *  - RAM: the successor buffer plus one I/O buffer per open file. At most {@value #MAX_FAN_IN} runs are
+ *    merged at once; more runs are first merged in passes.
+ *  - Disk: every layer (8 bytes per state; the layers are the output) plus the runs of the layer in progress.
+ *
+ * Resuming: a layer file is renamed into place only once complete, then recorded in the manifest
+ * ({@value #MANIFEST}). A run restarted on the same directory drops leftover runs and continues with the
+ * layer after the last recorded one.
+ *
+ * Abstractions: given a pattern, tiles outside it are relabelled to one shared "don't care" value, so the
+ * search enumerates the positions of the pattern tiles and the blank (a pattern-database space).
+ */
+public class ExternalMemoryBFS {
+
+    private static final Logger log = LoggerFactory.getLogger(ExternalMemoryBFS.class);
+
+    public static final String MANIFEST = "manifest.properties";
+
+    /** Runs merged in one pass; each open run holds one {@link #IO_BUFFER_BYTES} buffer. */
+    static final int MAX_FAN_IN = 32;
+
+    private static final int IO_BUFFER_BYTES = 1 << 20;
+    private static final int MIN_BUFFER_STATES = 1 << 10;
+    private static final Move[] MOVES = Move.values();
+
+    private final Path directory;
+    private final int width;
+    private final int tileCount;
+    private final int[] pattern;
+    /** Tile value → value in the abstract space (identity without a pattern). */
+    private final int[] relabel;
+    private final int bufferStates;
+
+    /**
+     * @param directory     holds layers, runs and the manifest; created if missing
+     * @param width         board width, 2 to 4 (packed keys hold 16 tiles)
+     * @param pattern       tiles that keep their identity, or null for the full state space
+     * @param bufferStates  successors held in the heap before a run is written (8 bytes each)
+     */
+    public ExternalMemoryBFS(Path directory, int width, int[] pattern, int bufferStates) {
+        if (width < PuzzleState.MIN_WIDTH || width * width > StateCodec.MAX_PACKED_TILES) {
+            throw new IllegalArgumentException("External BFS supports widths 2 to 4, not " + width + ".");
+        }
+        this.directory = directory;
+        this.width = width;
+        this.tileCount = width * width;
+        this.pattern = pattern == null ? null : pattern.clone();
+        this.relabel = buildRelabel(tileCount, this.pattern);
+        this.bufferStates = Math.max(MIN_BUFFER_STATES, bufferStates);
+    }
+
+    /**
+     * Enumerate layers from the goal until a layer comes out empty or {@code maxDepth} is reached,
+     * resuming from the manifest if the directory holds an earlier run with the same width and pattern.
+     *
+     * @return number of states in each layer, by depth
+     * @throws IllegalStateException if the directory holds a run with another width or pattern
+     */
+    public List<Long> run(int maxDepth) throws IOException {
+        Files.createDirectories(directory);
+        List<Long> layerSizes = readManifest();
+        deleteLeftovers();
+        if (layerSizes.isEmpty()) {
+            long goal = StateCodec.pack(abstractTiles(PuzzleState.goal(width).toArray()));
+            try (LongWriter writer = new LongWriter(tempFile(0))) {
+                writer.write(goal);
+            }
+            commitLayer(0, 1L, layerSizes);
+        } else {
+            log.info("Resuming external BFS in {} after layer {}.", directory, layerSizes.size() - 1);
+        }
+
+        while (layerSizes.get(layerSizes.size() - 1) > 0 && layerSizes.size() <= maxDepth) {
+            int depth = layerSizes.size() - 1;
+            long t0 = System.nanoTime();
+            List<Path> runs = expand(depth);
+            long size = mergeNextLayer(depth, runs);
+            commitLayer(depth + 1, size, layerSizes);
+            log.info("External BFS layer {}: {} states from {} runs in {} ms.", depth + 1, size, runs.size(),
+                    (System.nanoTime() - t0) / 1_000_000L);
+        }
+        return layerSizes;
+    }
+
+    /**
+     * Depth of a board after {@link #run}, by binary search over the layer files.
+     *
+     * @return distance to the goal (of the abstraction, with a pattern), or -1 if no layer holds it
+     */
+    public int depthOf(int[] tiles) throws IOException {
+        if (tiles == null || tiles.length != tileCount) {
+            throw new IllegalArgumentException("Expected " + tileCount + " tiles.");
+        }
+        long key = StateCodec.pack(abstractTiles(tiles));
+        List<Long> layerSizes = readManifest();
+        for (int depth = 0; depth < layerSizes.size(); depth++) {
+            try (FileChannel channel = FileChannel.open(layerFile(depth), StandardOpenOption.READ)) {
+                long low = 0;
+                long high = layerSizes.get(depth) - 1;
+                while (low <= high) {
+                    long middle = (low + high) >>> 1;
+                    int comparison = Long.compare(readAt(channel, middle), key);
+                    if (comparison == 0) return depth;
+                    if (comparison < 0) low = middle + 1; else high = middle - 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Pattern database over the finished layers of a pattern run: each abstract board's depth, stored as
+     * 4-bit remainders over the pattern tiles' Manhattan distance (see {@link PatternDatabaseHeuristic}).
+     *
+     * @param base       combined with the table by {@link PatternDatabaseHeuristic} (larger estimate wins)
+     * @param groupShift 0 for the exact table, k > 0 to keep only the minimum of each 2^k entries
+     * @throws IllegalStateException if this run has no pattern or its layers are not all on disk yet
+     */
+    public PatternDatabaseHeuristic patternDatabase(Heuristic base, int groupShift) throws IOException {
+        if (pattern == null) {
+            throw new IllegalStateException("A pattern database needs a run with a pattern.");
+        }
+        List<Long> layerSizes = readManifest();
+        if (layerSizes.isEmpty() || layerSizes.get(layerSizes.size() - 1) != 0) {
+            throw new IllegalStateException(directory + " does not hold a finished enumeration; run it to the end first.");
+        }
+        long length = PatternDatabaseHeuristic.tableLength(width, pattern.length);
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A " + pattern.length + "-tile pattern on " + width + "×" + width
+                    + " has " + length + " placements, too many for one table.");
+        }
+        byte[] remainders = new byte[(int) length];
+        Arrays.fill(remainders, (byte) -1);
+        int[] tiles = new int[tileCount];
+        for (int depth = 0; depth < layerSizes.size(); depth++) {
+            try (LongReader reader = new LongReader(layerFile(depth))) {
+                while (reader.hasNext()) {
+                    StateCodec.unpack(reader.next(), tiles);
+                    int remainder = depth - PatternDatabaseHeuristic.patternManhattan(tiles, width, pattern);
+                    remainders[(int) PatternDatabaseHeuristic.index(tiles, width, pattern)] =
+                            (byte) Math.min(remainder, NibbleTable.MAX_VALUE);
+                }
+            }
+        }
+        NibbleTable table = NibbleTable.of(remainders);
+        if (groupShift > 0) table = table.minCompressed(groupShift);
+        return new PatternDatabaseHeuristic(width, pattern, table, base);
+    }
+
+    private static long readAt(FileChannel channel, long index) throws IOException {
+        ByteBuffer slot = ByteBuffer.allocate(Long.BYTES);
+        while (slot.hasRemaining()) {
+            if (channel.read(slot, index * Long.BYTES + slot.position()) < 0) {
+                throw new IOException("Layer file is shorter than its manifest entry.");
+            }
+        }
+        return slot.flip().getLong();
+    }
+
+    /** @return the file holding the sorted, packed boards at {@code depth}. */
+    public Path layerFile(int depth) {
+        return directory.resolve(String.format("layer-%03d.bin", depth));
+    }
+
+    // ---------------------------------------------------------------------
+    // Layers
+    // ---------------------------------------------------------------------
+
+    /** Stream layer {@code depth} and write its successors as sorted, deduplicated runs. */
+    private List<Path> expand(int depth) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        long[] buffer = new long[bufferStates];
+        int count = 0;
+        int[] tiles = new int[tileCount];
+        try (LongReader reader = new LongReader(layerFile(depth))) {
+            while (reader.hasNext()) {
+                StateCodec.unpack(reader.next(), tiles);
+                int blank = FlatBoard.indexOfBlank(tiles);
+                for (Move move : MOVES) {
+                    int target = FlatBoard.targetIndex(blank, move, width);
+                    if (target < 0) continue;
+                    if (count == buffer.length) {
+                        runs.add(writeRun(buffer, count, runs.size()));
+                        count = 0;
+                    }
+                    FlatBoard.swap(tiles, blank, target);
+                    buffer[count++] = StateCodec.pack(tiles);
+                    FlatBoard.swap(tiles, blank, target);
+                }
+            }
+        }
+        if (count > 0) runs.add(writeRun(buffer, count, runs.size()));
+        return runs;
+    }
+
+    private Path writeRun(long[] buffer, int count, int index) throws IOException {
+        Arrays.sort(buffer, 0, count);
+        Path run = directory.resolve(String.format("run-%06d.bin", index));
+        try (LongWriter writer = new LongWriter(run)) {
+            long last = 0;
+            for (int i = 0; i < count; i++) {
+                if (i > 0 && buffer[i] == last) continue;
+                writer.write(buffer[i]);
+                last = buffer[i];
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Merge the runs into layer {@code depth + 1}, dropping boards already in layers depth and depth - 1.
+     *
+     * @return size of the new layer (written to its temp file)
+     */
+    private long mergeNextLayer(int depth, List<Path> runs) throws IOException {
+        List<Path> pending = new ArrayList<>(runs);
+        for (int pass = 0; pending.size() > MAX_FAN_IN; pass++) {
+            List<Path> merged = new ArrayList<>();
+            for (int from = 0; from < pending.size(); from += MAX_FAN_IN) {
+                List<Path> group = pending.subList(from, Math.min(from + MAX_FAN_IN, pending.size()));
+                Path output = directory.resolve(String.format("run-p%02d-%06d.bin", pass, merged.size()));
+                try (LongWriter writer = new LongWriter(output)) {
+                    merge(group, writer, null, null);
+                }
+                for (Path run : group) Files.delete(run);
+                merged.add(output);
+            }
+            pending = merged;
+        }
+
+        long size;
+        try (LongWriter writer = new LongWriter(tempFile(depth + 1));
+             LongReader current = new LongReader(layerFile(depth));
+             LongReader previous = depth > 0 ? new LongReader(layerFile(depth - 1)) : null) {
+            size = merge(pending, writer, current, previous);
+        }
+        for (Path run : pending) Files.delete(run);
+        return size;
+    }
+
+    /**
+     * K-way merge of sorted runs into {@code writer}, without duplicates and without boards present in
+     * the sorted {@code exclude} streams (either may be null).
+     *
+     * @return boards written
+     */
+    private static long merge(List<Path> runs, LongWriter writer, LongReader exclude, LongReader alsoExclude)
+            throws IOException {
+        PriorityQueue<LongReader> heap = new PriorityQueue<>((a, b) -> Long.compare(a.peek(), b.peek()));
+        List<LongReader> readers = new ArrayList<>();
+        try {
+            for (Path run : runs) {
+                LongReader reader = new LongReader(run);
+                readers.add(reader);
+                if (reader.hasNext()) heap.add(reader);
+            }
+            long written = 0;
+            boolean any = false;
+            long last = 0;
+            while (!heap.isEmpty()) {
+                LongReader reader = heap.poll();
+                long key = reader.next();
+                if (reader.hasNext()) heap.add(reader);
+                if (any && key == last) continue;
+                any = true;
+                last = key;
+                if (contains(exclude, key) || contains(alsoExclude, key)) continue;
+                writer.write(key);
+                written++;
+            }
+            return written;
+        } finally {
+            for (LongReader reader : readers) reader.close();
+        }
+    }
+
+    /** Advance a sorted stream up to {@code key}; keys arrive in increasing order. */
+    private static boolean contains(LongReader sorted, long key) throws IOException {
+        if (sorted == null) return false;
+        while (sorted.hasNext() && sorted.peek() < key) sorted.next();
+        return sorted.hasNext() && sorted.peek() == key;
+    }
+
+    // ---------------------------------------------------------------------
+    // Manifest and files
+    // ---------------------------------------------------------------------
+
+    /** Make the temp layer durable, move it into place, then record it. */
+    private void commitLayer(int depth, long size, List<Long> layerSizes) throws IOException {
+        try (FileChannel channel = FileChannel.open(tempFile(depth), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(tempFile(depth), layerFile(depth), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        layerSizes.add(size);
+
+        Properties manifest = new Properties();
+        manifest.setProperty("width", Integer.toString(width));
+        manifest.setProperty("pattern", patternSpec());
+        StringBuilder sizes = new StringBuilder();
+        for (long layerSize : layerSizes) {
+            if (sizes.length() > 0) sizes.append(',');
+            sizes.append(layerSize);
+        }
+        manifest.setProperty("layers", sizes.toString());
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp)) {
+            manifest.store(writer, "External BFS progress; layer sizes by depth");
+        }
+        Files.move(temp, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** @return recorded layer sizes, empty for a fresh directory. */
+    private List<Long> readManifest() throws IOException {
+        Path path = directory.resolve(MANIFEST);
+        List<Long> layerSizes = new ArrayList<>();
+        if (!Files.exists(path)) return layerSizes;
+        Properties manifest = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            manifest.load(reader);
+        }
+        if (!Integer.toString(width).equals(manifest.getProperty("width"))
+                || !patternSpec().equals(manifest.getProperty("pattern"))) {
+            throw new IllegalStateException(directory + " holds an external BFS with width " + manifest.getProperty("width")
+                    + " and pattern '" + manifest.getProperty("pattern") + "'; use another directory.");
+        }
+        for (String size : manifest.getProperty("layers", "").split(",")) {
+            if (!size.isEmpty()) layerSizes.add(Long.parseLong(size));
+        }
+        return layerSizes;
+    }
+
+    /** Runs and temp files of an interrupted layer; they are rebuilt from the committed layers. */
+    private void deleteLeftovers() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "{run-*.bin,*.tmp}")) {
+            for (Path file : files) Files.delete(file);
+        }
+    }
+
+    private Path tempFile(int depth) {
+        return directory.resolve(layerFile(depth).getFileName() + ".tmp");
+    }
+
+    private String patternSpec() {
+        if (pattern == null) return "";
+        StringBuilder spec = new StringBuilder();
+        for (int tile : pattern) {
+            if (spec.length() > 0) spec.append(',');
+            spec.append(tile);
+        }
+        return spec.toString();
+    }
+
+    // ---------------------------------------------------------------------
+    // Boards
+    // ---------------------------------------------------------------------
+
+    /**
+     * Tiles outside the pattern map to the largest of them, so they stay distinct from the blank and the
+     * pattern tiles while packing into the same 4 bits.
+     */
+    private static int[] buildRelabel(int tileCount, int[] pattern) {
+        int[] relabel = new int[tileCount];
+        for (int tile = 0; tile < tileCount; tile++) relabel[tile] = tile;
+        if (pattern == null) return relabel;
+
+        boolean[] kept = new boolean[tileCount];
+        kept[0] = true;
+        for (int tile : pattern) {
+            if (tile < 1 || tile >= tileCount) {
+                throw new IllegalArgumentException("Pattern tile " + tile + " is not in 1.." + (tileCount - 1) + ".");
+            }
+            kept[tile] = true;
+        }
+        int dontCare = -1;
+        for (int tile = tileCount - 1; tile > 0 && dontCare < 0; tile--) {
+            if (!kept[tile]) dontCare = tile;
+        }
+        for (int tile = 1; tile < tileCount; tile++) {
+            if (!kept[tile]) relabel[tile] = dontCare;
+        }
+        return relabel;
+    }
+
+    private int[] abstractTiles(int[] tiles) {
+        int[] abstracted = new int[tiles.length];
+        for (int index = 0; index < tiles.length; index++) {
+            abstracted[index] = relabel[tiles[index]];
+        }
+        return abstracted;
+    }
+
+    // ---------------------------------------------------------------------
+    // Sequential I/O
+    // ---------------------------------------------------------------------
+
+    /** Buffered sequential reader of a file of longs, with one-element lookahead. */
+    private static final class LongReader implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES);
+        private boolean hasNext;
+        private long next;
+
+        LongReader(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            buffer.limit(0);
+            advance();
+        }
+
+        boolean hasNext() {
+            return hasNext;
+        }
+
+        long peek() {
+            return next;
+        }
+
+        long next() throws IOException {
+            long current = next;
+            advance();
+            return current;
+        }
+
+        private void advance() throws IOException {
+            if (buffer.remaining() < Long.BYTES) {
+                buffer.compact();
+                int read = 0;
+                while (buffer.position() < Long.BYTES && read >= 0) {
+                    read = channel.read(buffer);
+                }
+                buffer.flip();
+            }
+            hasNext = buffer.remaining() >= Long.BYTES;
+            if (hasNext) next = buffer.getLong();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /** Buffered sequential writer of longs. */
+    private static final class LongWriter implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES);
+
+        LongWriter(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+        }
+
+        void write(long value) throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            buffer.putLong(value);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            channel.close();
+        }
+    }
+}
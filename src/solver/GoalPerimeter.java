@@ -0,0 +1,223 @@
+package solver;
+
+import heuristic.Heuristic;
+import model.Move;
+import model.PuzzleState;
+import util.FlatBoard;
+import util.StateCodec;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Every board within {@code depth} moves of the goal, with its exact distance and the first move of an
+ * optimal path back to the goal. Built once per width by a breadth-first search rooted at the goal.
+ *
+ * Core idea (perimeter search):
+ *  - A forward search no longer has to reach the goal itself. Once it touches the perimeter, the rest
+ *    of the path is a table walk, so the last {@code depth} plies are never searched again.
+ *  - Through {@link #heuristic(Heuristic)}, perimeter boards score their exact distance. Every other
+ *    board scores at least {@code depth + 1}, rounded up to the parity of its true distance (each move
+ *    shifts the blank one cell, so the distance has the parity of the blank's offset from its goal cell).
+ *    The result stays admissible and consistent when the base heuristic is.
+ *  - A score of at most {@code depth} therefore means "on the perimeter, and exact". A* can stop when it
+ *    pops such a node, and IDA* when it reaches one within the bound, without a second lookup.
+ *
+ * Storage: a {@link PackedStateTable} (packed boards, so widths up to 4) whose one-byte payload holds
+ * {@code distance << 2 | ordinal of the move toward the goal}. 4×4 at depth 16 has 241,707 boards in 4.5 MB.
+ *
+ * Notes:
+ *  - The "min over perimeter boards" heuristic from the literature (base estimate to each perimeter
+ *    board plus its distance) is stronger, but it costs one estimate per perimeter board per node.
+ *    The depth floor costs nothing, and the table is only probed when the base heuristic is at most
+ *    {@code depth}.
+ *  - Immutable after construction, so one instance is shared by all concurrent searches.
+ */
+public final class GoalPerimeter {
+
+    /** Widest board whose packed key fits in a long. */
+    public static final int MAX_WIDTH = 4;
+
+    /** Distances are stored in 6 bits next to the 2-bit move. */
+    public static final int MAX_DEPTH = 63;
+
+    private static final Move[] MOVES = Move.values();
+
+    private final int width;
+    private final int depth;
+    private final PackedStateTable table = new PackedStateTable();
+
+    private GoalPerimeter(int width, int depth) {
+        this.width = width;
+        this.depth = depth;
+    }
+
+    /**
+     * Enumerate the perimeter breadth-first from the goal.
+     *
+     * @param depth radius in moves (0 = the goal alone), at most {@link #MAX_DEPTH}
+     * @throws IllegalArgumentException on an unsupported width or depth, or a perimeter too large to store
+     */
+    public static GoalPerimeter build(int width, int depth) {
+        if (width < PuzzleState.MIN_WIDTH || width > MAX_WIDTH) {
+            throw new IllegalArgumentException("Perimeters cover widths " + PuzzleState.MIN_WIDTH + ".." + MAX_WIDTH
+                    + ", got " + width + ".");
+        }
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Perimeter depth must be 0.." + MAX_DEPTH + ", got " + depth + ".");
+        }
+        GoalPerimeter perimeter = new GoalPerimeter(width, depth);
+        int tileCount = width * width;
+        long goal = StateCodec.pack(PuzzleState.goal(width).toArray());
+        perimeter.insert(goal, 0, 0);
+
+        long[] layer = {goal};
+        int layerSize = 1;
+        int[] tiles = new int[tileCount];
+        for (int distance = 1; distance <= depth && layerSize > 0; distance++) {
+            long[] next = new long[Math.max(16, layerSize * 3)];
+            int nextSize = 0;
+            for (int i = 0; i < layerSize; i++) {
+                StateCodec.unpack(layer[i], tiles);
+                int blank = FlatBoard.indexOfBlank(tiles);
+                for (Move move : MOVES) {
+                    int target = FlatBoard.targetIndex(blank, move, width);
+                    if (target < 0) continue;
+                    FlatBoard.swap(tiles, blank, target);
+                    long key = StateCodec.pack(tiles);
+                    FlatBoard.swap(tiles, blank, target);
+                    // From the child, undoing this move leads back toward the goal.
+                    if (!perimeter.insert(key, distance, move.opposite().ordinal())) continue;
+                    if (nextSize == next.length) next = Arrays.copyOf(next, nextSize * 2);
+                    next[nextSize++] = key;
+                }
+            }
+            layer = next;
+            layerSize = nextSize;
+        }
+        return perimeter;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    /** @return the radius: every board at most this many moves from the goal is stored. */
+    public int depth() {
+        return depth;
+    }
+
+    /** @return number of stored boards. */
+    public int size() {
+        return (int) table.size();
+    }
+
+    /** @return bytes held by the key and entry arrays. */
+    public long sizeInBytes() {
+        return table.sizeInBytes();
+    }
+
+    /** @return the exact distance to the goal, or -1 if {@code state} lies outside the perimeter. */
+    public int distance(PuzzleState state) {
+        if (state.width() != width) return -1;
+        int entry = table.valueOf(key(state));
+        return entry < 0 ? -1 : entry >>> 2;
+    }
+
+    /**
+     * Append the table path from a perimeter board to the goal: its moves, and the boards after each
+     * move (the board itself is not repeated).
+     *
+     * @throws IllegalArgumentException if {@code state} is outside the perimeter
+     */
+    public void appendPathToGoal(PuzzleState state, List<Move> moves, List<int[]> pathStates) {
+        int[] tiles = state.toArray();
+        int blank = state.indexOfBlank();
+        while (true) {
+            int entry = table.valueOf(StateCodec.pack(tiles));
+            if (entry < 0) {
+                throw new IllegalArgumentException("Board is outside the perimeter: " + state);
+            }
+            if (entry >>> 2 == 0) return;
+            Move move = MOVES[entry & 3];
+            int target = FlatBoard.targetIndex(blank, move, width);
+            FlatBoard.swap(tiles, blank, target);
+            blank = target;
+            moves.add(move);
+            pathStates.add(tiles.clone());
+        }
+    }
+
+    /**
+     * @return {@code base} sharpened by this perimeter (see class notes); boards of another width are
+     *         scored by {@code base} alone
+     */
+    public Heuristic heuristic(Heuristic base) {
+        return new Bounded(base);
+    }
+
+    /**
+     * @return false if {@code key} was already stored (reached on a shorter or equal path)
+     * @throws IllegalArgumentException if the perimeter outgrows the largest table
+     */
+    private boolean insert(long key, int distance, int moveOrdinal) {
+        if (!table.ensureCapacity(table.size() + 1)) {
+            throw new IllegalArgumentException("A " + width + "×" + width + " perimeter of depth " + depth
+                    + " holds more than " + PackedStateTable.MAX_CAPACITY / 2 + " boards; lower puzzle.perimeter.depth.");
+        }
+        return table.claim(key, distance << 2 | moveOrdinal);
+    }
+
+    /** @return the smallest distance a board outside the perimeter can have, given its blank cell. */
+    private int floor(PuzzleState state) {
+        int blank = state.indexOfBlank();
+        int blankOffset = (width - 1 - blank / width) + (width - 1 - blank % width);
+        return depth + 1 + ((depth + 1 + blankOffset) & 1);
+    }
+
+    // ---------------------------------------------------------------------
+    // Board helpers
+    // ---------------------------------------------------------------------
+
+    /** Same layout as {@link StateCodec#pack}, read straight from the board (no copy). */
+    private static long key(PuzzleState state) {
+        long packed = 0L;
+        for (int i = 0; i < state.size(); i++) {
+            packed |= ((long) state.tileAt(i)) << (4 * i);
+        }
+        return packed;
+    }
+
+    /** The perimeter heuristic: exact inside, the base estimate floored at the perimeter outside. */
+    private final class Bounded implements Heuristic {
+
+        private final Heuristic base;
+
+        Bounded(Heuristic base) {
+            this.base = base;
+        }
+
+        @Override
+        public int estimate(PuzzleState state) {
+            return sharpen(state, base.estimate(state));
+        }
+
+        @Override
+        public void estimateAll(PuzzleState[] states, int count, int[] estimates) {
+            base.estimateAll(states, count, estimates);
+            for (int i = 0; i < count; i++) {
+                estimates[i] = sharpen(states[i], estimates[i]);
+            }
+        }
+
+        private int sharpen(PuzzleState state, int estimate) {
+            if (state.width() != width) return estimate;
+            // An admissible estimate above the depth already rules out the perimeter.
+            if (estimate <= depth) {
+                int distance = distance(state);
+                if (distance >= 0) return distance;
+            }
+            return Math.max(estimate, floor(state));
+        }
+    }
+}
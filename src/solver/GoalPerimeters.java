@@ -0,0 +1,59 @@
+package solver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * One shared {@link GoalPerimeter} per board width, built on first use.
+ *
+ * The radius comes from {@code puzzle.perimeter.depth} (0 turns perimeters off). Widths above
+ * {@link GoalPerimeter#MAX_WIDTH} have none.
+ */
+@Component
+public class GoalPerimeters {
+
+    /**
+     * Default radius. At 16, 4×4 holds 241,707 boards (4.5 MB, built in about 150 ms) and 3×3 holds 11,764.
+     */
+    public static final int DEFAULT_DEPTH = 16;
+
+    private static final Logger log = LoggerFactory.getLogger(GoalPerimeters.class);
+
+    private final int depth;
+    private final AtomicReferenceArray<GoalPerimeter> byWidth = new AtomicReferenceArray<>(GoalPerimeter.MAX_WIDTH + 1);
+
+    public GoalPerimeters(@Value("${puzzle.perimeter.depth:" + DEFAULT_DEPTH + "}") int depth) {
+        if (depth < 0 || depth > GoalPerimeter.MAX_DEPTH) {
+            throw new IllegalArgumentException("puzzle.perimeter.depth must be 0.." + GoalPerimeter.MAX_DEPTH
+                    + ", got " + depth + ".");
+        }
+        this.depth = depth;
+    }
+
+    /** @return the perimeter for this width, or null if perimeters are off or the width is too large. */
+    public GoalPerimeter forWidth(int width) {
+        if (depth == 0 || width > GoalPerimeter.MAX_WIDTH) return null;
+        GoalPerimeter perimeter = byWidth.get(width);
+        if (perimeter != null) return perimeter;
+        synchronized (byWidth) {
+            perimeter = byWidth.get(width);
+            if (perimeter == null) {
+                long t0 = System.nanoTime();
+                perimeter = GoalPerimeter.build(width, depth);
+                byWidth.set(width, perimeter);
+                log.info("Built {}x{} goal perimeter: depth {}, {} boards, {} KiB in {} ms.", width, width, depth,
+                        perimeter.size(), perimeter.sizeInBytes() / 1024, (System.nanoTime() - t0) / 1_000_000L);
+            }
+            return perimeter;
+        }
+    }
+
+    /** @return true if boards of this width get a perimeter. */
+    public boolean supportsWidth(int width) {
+        return depth > 0 && width <= GoalPerimeter.MAX_WIDTH;
+    }
+}
@@ -0,0 +1,159 @@
+package solver;
+
+import heuristic.Heuristic;
+import model.Move;
+import model.MovePruningAutomaton;
+import model.PuzzleState;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Iterative-deepening A* (IDA*): optimal like A*, with memory linear in the solution depth.
+ *
+ * Core idea:
+ *  - Depth-first search bounded by f = g + h; a pass that finds no goal raises the bound to the
+ *    smallest f that exceeded it and starts over from the root.
+ *  - With an admissible heuristic the first goal found is optimal.
+ *
+ * Notes:
+ *  - Tree search (no closed set), so the node cap does not apply. The move-pruning automaton cuts
+ *    reversals and short redundant cycles; remaining transpositions are re-expanded, which makes it
+ *    slower than A* on easy boards but immune to A*'s memory growth on deep 4×4 boards.
+ *  - Not a user-selectable algorithm; used as a portfolio engine (see {@code model.Engine}).
+ *  - With {@link SolveOptions#withPerimeters} a pass ends at the first perimeter board within the bound
+ *    (its h is exact, so g + h is the solution length) and the table supplies the rest of the path.
+ */
+@Component
+public class IDAStarSolver implements Solver {
+
+    /** Cancellation is polled every 1024 expansions. */
+    private static final int CANCELLATION_CHECK_MASK = 1023;
+
+    private static final int FOUND = -1;
+
+    private static final MovePruningAutomaton MOVE_PRUNING = MovePruningAutomaton.standard();
+
+    private final Heuristic heuristic;
+
+    public IDAStarSolver(Heuristic heuristic) {
+        this.heuristic = Objects.requireNonNull(heuristic, "heuristic");
+    }
+
+    @Override
+    public SolveResult solve(PuzzleState startState) {
+        return solve(startState, SolveOptions.defaults());
+    }
+
+    /**
+     * @param options heuristic override and cancellation (the node cap is ignored)
+     * @throws SolveCancelledException if {@code options.isCancelled()} turns true mid-search
+     */
+    @Override
+    public SolveResult solve(PuzzleState startState, SolveOptions options) {
+        if (startState == null) {
+            throw new IllegalArgumentException("startState cannot be null.");
+        }
+        Heuristic heuristic = (options != null && options.getHeuristic() != null) ? options.getHeuristic() : this.heuristic;
+        GoalPerimeter perimeter = (options != null) ? options.perimeterFor(startState.width()) : null;
+        if (perimeter != null) {
+            heuristic = perimeter.heuristic(heuristic);
+        }
+
+        Search search = new Search(heuristic, perimeter, options);
+        search.path.add(startState);
+        int bound = heuristic.estimate(startState);
+        while (true) {
+            int next = search.run(startState, 0, bound, bound, MovePruningAutomaton.START);
+            if (next == FOUND) {
+                return search.result();
+            }
+            if (next == Integer.MAX_VALUE) {
+                // Exhausted without a goal: unreachable (the service validates solvability first).
+                return new SolveResult(Collections.emptyList(), Collections.emptyList(), search.expandedCount);
+            }
+            bound = next;
+        }
+    }
+
+    /** One IDA* run: the current path plus counters, shared by all deepening passes. */
+    private static final class Search {
+
+        private final Heuristic heuristic;
+        private final GoalPerimeter perimeter;
+        /** h at or below this marks a perimeter board; -1 without a perimeter. */
+        private final int perimeterDepth;
+        private final SolveOptions options;
+        private final SearchProfile profile;
+        private final List<PuzzleState> path = new ArrayList<>();
+        private final List<Move> moves = new ArrayList<>();
+        /** Boards after {@link #path} taken from the perimeter table (empty unless it ended on the perimeter). */
+        private final List<int[]> tail = new ArrayList<>();
+        private int expandedCount;
+
+        Search(Heuristic heuristic, GoalPerimeter perimeter, SolveOptions options) {
+            this.heuristic = heuristic;
+            this.perimeter = perimeter;
+            this.perimeterDepth = (perimeter != null) ? perimeter.depth() : -1;
+            this.options = options;
+            this.profile = (options != null) ? options.getProfile() : null;
+        }
+
+        /**
+         * @param h the state's heuristic value, scored with its siblings by the parent
+         * @return FOUND if a goal was reached under {@code bound}, otherwise the smallest f above it
+         */
+        int run(PuzzleState state, int g, int h, int bound, int pruningState) {
+            int f = g + h;
+            if (f > bound) return f;
+            if (state.isGoal()) return FOUND;
+            if (h <= perimeterDepth) {
+                perimeter.appendPathToGoal(state, moves, tail);
+                return FOUND;
+            }
+
+            expandedCount++;
+            if (profile != null) {
+                profile.onExpanded(f);
+                profile.observeSizes(path.size(), 0);
+            }
+            if ((expandedCount & CANCELLATION_CHECK_MASK) == 0 && options != null && options.isCancelled()) {
+                throw new SolveCancelledException(expandedCount);
+            }
+
+            List<PuzzleState.Neighbor> neighbors = state.neighbors(MOVE_PRUNING, pruningState);
+            PuzzleState[] children = new PuzzleState[neighbors.size()];
+            for (int child = 0; child < children.length; child++) {
+                children[child] = neighbors.get(child).state();
+            }
+            int[] estimates = new int[children.length];
+            heuristic.estimateAll(children, children.length, estimates);
+
+            int minimum = Integer.MAX_VALUE;
+            for (int child = 0; child < children.length; child++) {
+                Move move = neighbors.get(child).move();
+                if (profile != null) profile.onGenerated();
+                path.add(children[child]);
+                moves.add(move);
+                int next = run(children[child], g + 1, estimates[child], bound, MOVE_PRUNING.next(pruningState, move));
+                if (next == FOUND) return FOUND;
+                path.remove(path.size() - 1);
+                moves.remove(moves.size() - 1);
+                minimum = Math.min(minimum, next);
+            }
+            return minimum;
+        }
+
+        SolveResult result() {
+            List<int[]> pathStates = new ArrayList<>(path.size() + tail.size());
+            for (PuzzleState state : path) {
+                pathStates.add(state.toArray());
+            }
+            pathStates.addAll(tail);
+            return new SolveResult(new ArrayList<>(moves), pathStates, expandedCount);
+        }
+    }
+}
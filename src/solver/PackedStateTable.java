@@ -0,0 +1,103 @@
+package solver;
+
+import util.StateCodec;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Open-addressing set of packed boards ({@link StateCodec#pack}, so up to 16 tiles) with one byte of
+ * payload per board: the move that reached it in {@link ParallelBFSSolver}, the distance and move back
+ * to the goal in {@link GoalPerimeter}.
+ *
+ * Concurrency: {@link #claim} may run concurrently (a CAS on the key slot). Growing and lookups must not
+ * overlap claims, so callers grow between layers, when no claim is running.
+ */
+final class PackedStateTable {
+
+    /** Largest table (entries); {@link #ensureCapacity} refuses to grow past it. */
+    static final int MAX_CAPACITY = 1 << 30;
+
+    /** Packed boards are never 0 (tiles are distinct), so 0 marks a free slot. */
+    private static final long EMPTY = 0L;
+
+    private AtomicLongArray keys = new AtomicLongArray(0);
+    private byte[] values = new byte[0];
+    private int mask = -1;
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * @param value payload stored with {@code key}, read back as {@code value & 0xFF}
+     * @return true if {@code key} was absent and now belongs to the caller
+     */
+    boolean claim(long key, int value) {
+        int slot = (int) StateCodec.mix(key) & mask;
+        while (true) {
+            long current = keys.get(slot);
+            if (current == key) return false;
+            if (current == EMPTY) {
+                if (keys.compareAndSet(slot, EMPTY, key)) {
+                    values[slot] = (byte) value;
+                    size.increment();
+                    return true;
+                }
+                continue;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    long size() {
+        return size.sum();
+    }
+
+    boolean contains(long key) {
+        return slotOf(key) >= 0;
+    }
+
+    /** @return the payload stored with {@code key} (0..255), or -1 if it is absent. */
+    int valueOf(long key) {
+        int slot = slotOf(key);
+        return slot < 0 ? -1 : values[slot] & 0xFF;
+    }
+
+    /** @return bytes held by the key and payload arrays. */
+    long sizeInBytes() {
+        return (long) keys.length() * (Long.BYTES + 1);
+    }
+
+    /**
+     * Grow (never during claims) so that {@code expected} entries keep the load factor at most 1/2.
+     *
+     * @return false if that would exceed {@link #MAX_CAPACITY}
+     */
+    boolean ensureCapacity(long expected) {
+        if (expected * 2 <= keys.length()) return true;
+        if (expected * 2 > MAX_CAPACITY) return false;
+        int capacity = (int) Long.highestOneBit(Math.max(8, expected * 2 - 1)) << 1;
+        AtomicLongArray oldKeys = keys;
+        byte[] oldValues = values;
+        keys = new AtomicLongArray(capacity);
+        values = new byte[capacity];
+        mask = capacity - 1;
+        for (int slot = 0; slot < oldKeys.length(); slot++) {
+            long key = oldKeys.get(slot);
+            if (key == EMPTY) continue;
+            int target = (int) StateCodec.mix(key) & mask;
+            while (keys.get(target) != EMPTY) target = (target + 1) & mask;
+            keys.set(target, key);
+            values[target] = oldValues[slot];
+        }
+        return true;
+    }
+
+    private int slotOf(long key) {
+        int slot = (int) StateCodec.mix(key) & mask;
+        while (true) {
+            long current = keys.get(slot);
+            if (current == key) return slot;
+            if (current == EMPTY) return -1;
+            slot = (slot + 1) & mask;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package solver;
+
+import model.Move;
+import model.PuzzleState;
+import org.springframework.stereotype.Component;
+import util.FlatBoard;
+import util.PermutationRank;
+import util.StateCodec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Level-synchronous parallel breadth-first search on a fork-join pool.
+ *
+ * Core idea:
+ *  - The frontier (one depth layer, boards packed into longs) is expanded as a batch: fork-join tasks
+ *    split it into slices, each slice writes its successors into a private buffer, and the buffers are
+ *    concatenated into the next layer once every task has joined.
+ *  - Deduplication is a lock-free open-addressing table ({@link PackedStateTable}): a successor belongs
+ *    to the one task whose CAS claims its slot, which also records the move that reached it (the parent
+ *    pointer).
+ *  - The table only grows between layers, when no task is running, so the hot path never resizes.
+ *  - The goal's layer is always finished, so expansion counts do not depend on thread scheduling
+ *    (which of several equally short paths is returned can).
+ *
+ * Full enumeration: {@link #distancesByRank(int)} runs the same layer loop from the goal over
+ * permutation ranks, filling the distance of every reachable board (2×2 and 3×3). The 3×3 table is
+ * what {@code heuristic.DistanceIndex} is built from (see {@link DistanceIndexConfig}).
+ *
+ * Notes:
+ *  - Optimal; uninformed, so practical up to 3×3 like {@link BFSSolver}. Boards up to 4×4 are accepted
+ *    (packed keys hold 16 tiles) under the node cap.
+ *  - Not a user-selectable algorithm; available as an engine (see {@code model.Engine}).
+ */
+@Component
+public class ParallelBFSSolver implements Solver {
+
+    /** Frontier states per leaf task; smaller slices cost more in task overhead than they gain. */
+    private static final int LEAF_SIZE = 512;
+
+    private static final Move[] MOVES = Move.values();
+    private static final int ROOT = -1;
+    private static final byte UNREACHABLE = -1;
+
+    private final ForkJoinPool pool;
+
+    /** Runs on the common fork-join pool (one worker per core, minus one). */
+    public ParallelBFSSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelBFSSolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public SolveResult solve(PuzzleState startState) {
+        return solve(startState, SolveOptions.defaults());
+    }
+
+    /**
+     * @param options node cap (visited states) and cancellation, polled once per slice
+     * @throws SearchLimitExceededException if more than {@code options.getMaxNodes()} states are visited
+     * @throws SolveCancelledException if {@code options.isCancelled()} turns true mid-search
+     */
+    @Override
+    public SolveResult solve(PuzzleState startState, SolveOptions options) {
+        if (startState == null) {
+            throw new IllegalArgumentException("startState cannot be null.");
+        }
+        if (startState.size() > StateCodec.MAX_PACKED_TILES) {
+            throw new IllegalArgumentException("Parallel BFS supports boards up to 4×4.");
+        }
+        if (startState.isGoal()) {
+            return new SolveResult(Collections.emptyList(), Collections.singletonList(startState.toArray()), 0);
+        }
+        int maxNodes = (options != null && options.getMaxNodes() > 0) ? options.getMaxNodes() : Integer.MAX_VALUE;
+        SearchProfile profile = (options != null) ? options.getProfile() : null;
+        if (profile != null) profile.setLayer(SearchProfile.Layer.DEPTH);
+
+        int width = startState.width();
+        long startKey = StateCodec.pack(startState.toArray());
+        long goalKey = StateCodec.pack(PuzzleState.goal(width).toArray());
+        PackedStateTable visited = new PackedStateTable();
+        visited.ensureCapacity(1);
+        visited.claim(startKey, ROOT);
+
+        long[] frontier = { startKey };
+        int expandedCount = 0;
+        for (int depth = 0; frontier.length > 0; depth++) {
+            if (options != null && options.isCancelled()) {
+                throw new SolveCancelledException(expandedCount);
+            }
+            if (!visited.ensureCapacity(visited.size() + (long) frontier.length * MOVES.length)) {
+                throw new SearchLimitExceededException(maxNodes, expandedCount);
+            }
+            Layer layer = new Layer(frontier, width, PACKED, visited::claim, options);
+            long[] next = layer.expand(pool);
+            expandedCount += frontier.length;
+            if (layer.cancelled) {
+                throw new SolveCancelledException(expandedCount);
+            }
+            if (profile != null) {
+                profile.onExpanded(depth, frontier.length);
+                profile.onGenerated(next.length);
+                profile.onDuplicate(layer.duplicates.sum());
+                profile.observeSizes(frontier.length, visited.size());
+            }
+            if (visited.contains(goalKey)) {
+                return buildSolveResult(startState, startKey, goalKey, visited, expandedCount);
+            }
+            if (visited.size() > maxNodes) {
+                throw new SearchLimitExceededException(maxNodes, expandedCount);
+            }
+            frontier = next;
+        }
+
+        // For a valid, solvable start this should not happen.
+        return new SolveResult(Collections.emptyList(), Collections.emptyList(), expandedCount);
+    }
+
+    /**
+     * Distance to the goal of every board of this width, by parallel BFS from the goal.
+     *
+     * @param width 2 or 3 (the rank space of 4×4, 16!, does not fit an array)
+     * @return one byte per permutation, indexed by {@link PermutationRank#rank(int[])}; -1 = unreachable
+     */
+    public byte[] distancesByRank(int width) {
+        int tileCount = width * width;
+        if (width < PuzzleState.MIN_WIDTH || PermutationRank.factorial(tileCount) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Full enumeration supports widths 2 and 3, not " + width + ".");
+        }
+        byte[] distances = new byte[(int) PermutationRank.factorial(tileCount)];
+        Arrays.fill(distances, UNREACHABLE);
+        AtomicIntegerArray seen = new AtomicIntegerArray((distances.length + 31) / 32);
+
+        long goalRank = PermutationRank.rank(PuzzleState.goal(width).toArray());
+        distances[(int) goalRank] = 0;
+        seen.set((int) (goalRank >>> 5), 1 << (goalRank & 31));
+
+        long[] frontier = { goalRank };
+        for (int depth = 0; frontier.length > 0; depth++) {
+            byte nextDistance = (byte) (depth + 1);
+            Visited claimRank = (rank, move) -> {
+                int word = (int) (rank >>> 5);
+                int bit = 1 << (rank & 31);
+                while (true) {
+                    int current = seen.get(word);
+                    if ((current & bit) != 0) return false;
+                    if (seen.compareAndSet(word, current, current | bit)) {
+                        distances[(int) rank] = nextDistance;
+                        return true;
+                    }
+                }
+            };
+            frontier = new Layer(frontier, width, RANKED, claimRank, null).expand(pool);
+        }
+        return distances;
+    }
+
+    // ---------------------------------------------------------------------
+    // Layer expansion
+    // ---------------------------------------------------------------------
+
+    /** How a board is encoded in a long: packed nibbles for searches, permutation ranks for enumeration. */
+    private interface Encoding {
+        void decode(long key, int[] tiles);
+
+        long encode(int[] tiles);
+    }
+
+    private static final Encoding PACKED = new Encoding() {
+        @Override
+        public void decode(long key, int[] tiles) {
+            StateCodec.unpack(key, tiles);
+        }
+
+        @Override
+        public long encode(int[] tiles) {
+            return StateCodec.pack(tiles);
+        }
+    };
+
+    private static final Encoding RANKED = new Encoding() {
+        @Override
+        public void decode(long key, int[] tiles) {
+            System.arraycopy(PermutationRank.unrank(key, tiles.length), 0, tiles, 0, tiles.length);
+        }
+
+        @Override
+        public long encode(int[] tiles) {
+            return PermutationRank.rank(tiles);
+        }
+    };
+
+    /** Deduplication shared by the tasks of a layer. */
+    private interface Visited {
+        /** @return true if {@code key} was unseen and now belongs to the caller (reached via {@code move}). */
+        boolean claim(long key, int move);
+    }
+
+    /** One frontier expanded by a fork-join task tree; leaves queue their successor buffers. */
+    private static final class Layer {
+
+        private final long[] frontier;
+        private final int width;
+        private final Encoding encoding;
+        private final Visited visited;
+        private final SolveOptions options;
+        private final ConcurrentLinkedQueue<long[]> successors = new ConcurrentLinkedQueue<>();
+        private final LongAdder duplicates = new LongAdder();
+        private volatile boolean cancelled;
+
+        Layer(long[] frontier, int width, Encoding encoding, Visited visited, SolveOptions options) {
+            this.frontier = frontier;
+            this.width = width;
+            this.encoding = encoding;
+            this.visited = visited;
+            this.options = options;
+        }
+
+        /** @return the next layer (every successor claimed by this layer, in no particular order). */
+        long[] expand(ForkJoinPool pool) {
+            pool.invoke(new Slice(0, frontier.length));
+            int total = 0;
+            for (long[] buffer : successors) total += buffer.length;
+            long[] next = new long[total];
+            int offset = 0;
+            for (long[] buffer : successors) {
+                System.arraycopy(buffer, 0, next, offset, buffer.length);
+                offset += buffer.length;
+            }
+            return next;
+        }
+
+        private void expandRange(int from, int to) {
+            if (cancelled || (options != null && options.isCancelled())) {
+                cancelled = true;
+                return;
+            }
+            int[] tiles = new int[width * width];
+            long[] buffer = new long[(to - from) * MOVES.length];
+            int count = 0;
+            long duplicateCount = 0;
+            for (int index = from; index < to; index++) {
+                encoding.decode(frontier[index], tiles);
+                int blank = FlatBoard.indexOfBlank(tiles);
+                for (Move move : MOVES) {
+                    int target = FlatBoard.targetIndex(blank, move, width);
+                    if (target < 0) continue;
+                    FlatBoard.swap(tiles, blank, target);
+                    long child = encoding.encode(tiles);
+                    FlatBoard.swap(tiles, blank, target);
+                    if (visited.claim(child, move.ordinal())) {
+                        buffer[count++] = child;
+                    } else {
+                        duplicateCount++;
+                    }
+                }
+            }
+            successors.add(Arrays.copyOf(buffer, count));
+            duplicates.add(duplicateCount);
+        }
+
+        private final class Slice extends RecursiveAction {
+
+            private static final long serialVersionUID = 1L;
+
+            private final int from;
+            private final int to;
+
+            Slice(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from <= LEAF_SIZE) {
+                    expandRange(from, to);
+                    return;
+                }
+                int middle = (from + to) >>> 1;
+                invokeAll(new Slice(from, middle), new Slice(middle, to));
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Helpers
+    // ---------------------------------------------------------------------
+
+    /** Walk the recorded moves back from the goal, then replay them forward for the path states. */
+    private static SolveResult buildSolveResult(PuzzleState startState, long startKey, long goalKey,
+                                                PackedStateTable visited, int expandedCount) {
+        int width = startState.width();
+        int[] tiles = new int[startState.size()];
+        List<Move> moves = new ArrayList<>();
+        for (long key = goalKey; key != startKey; ) {
+            Move move = MOVES[visited.valueOf(key)];
+            moves.add(move);
+            PACKED.decode(key, tiles);
+            int blank = FlatBoard.indexOfBlank(tiles);
+            FlatBoard.swap(tiles, blank, FlatBoard.targetIndex(blank, move.opposite(), width));
+            key = PACKED.encode(tiles);
+        }
+        Collections.reverse(moves);
+
+        List<int[]> pathStates = new ArrayList<>(moves.size() + 1);
+        tiles = startState.toArray();
+        pathStates.add(tiles.clone());
+        for (Move move : moves) {
+            int blank = FlatBoard.indexOfBlank(tiles);
+            FlatBoard.swap(tiles, blank, FlatBoard.targetIndex(blank, move, width));
+            pathStates.add(tiles.clone());
+        }
+        return new SolveResult(moves, pathStates, expandedCount);
+    }
+}
@@ -0,0 +1,41 @@
+package solver;
+
+import heuristic.PatternDatabaseHeuristic;
+import heuristic.WalkingDistanceHeuristic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Loads the "pattern-database" heuristic when {@code puzzle.heuristic.pattern-db.dir} is set.
+ *
+ * The directory holds the layers of an {@link ExternalMemoryBFS} pattern run (the same layout
+ * {@code application.ExternalBFSCli} writes). Missing layers are enumerated at startup, which resumes
+ * an interrupted run and is a no-op once the run is finished; the table is then read from the layers
+ * and combined with walking distance.
+ */
+@Configuration
+public class PatternDatabaseConfig {
+
+    /** Successors buffered in the heap per sorted run when layers still have to be enumerated (32 MB). */
+    private static final int BUFFER_STATES = 1 << 22;
+
+    @Bean
+    @ConditionalOnProperty("puzzle.heuristic.pattern-db.dir")
+    public PatternDatabaseHeuristic patternDatabaseHeuristic(
+            WalkingDistanceHeuristic walkingDistanceHeuristic,
+            @Value("${puzzle.heuristic.pattern-db.dir}") String directory,
+            @Value("${puzzle.heuristic.pattern-db.width:4}") int width,
+            @Value("${puzzle.heuristic.pattern-db.pattern:1,2,3,4,5}") String pattern,
+            @Value("${puzzle.heuristic.pattern-db.compress-shift:0}") int compressShift) throws IOException {
+        int[] patternTiles = Arrays.stream(pattern.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        ExternalMemoryBFS bfs = new ExternalMemoryBFS(Paths.get(directory), width, patternTiles, BUFFER_STATES);
+        bfs.run(Integer.MAX_VALUE);
+        return bfs.patternDatabase(walkingDistanceHeuristic, compressShift);
+    }
+}
@@ -0,0 +1,392 @@
+package solver;
+
+import model.Move;
+import model.PuzzleState;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fast, suboptimal solver for large boards: solve the top row and the left column tile by tile, shrink
+ * the board by one, and repeat until a 3×3 corner is left; that residual is solved optimally by A*.
+ *
+ * Core idea (the constructive method people use by hand):
+ *  - A tile is walked to its goal cell one step at a time along a shortest route that avoids the
+ *    finished cells. For each step the blank is routed (BFS over cells) to the cell in front of the
+ *    tile without passing through the tile or finished cells, and then swapped with it.
+ *  - The last two tiles of a row cannot be placed this way: once one is fixed, the corner next to it
+ *    is a dead end that can trap the other. Instead both tiles and the blank are brought into the 3×3
+ *    window at the row's end, and a precomputed macro finishes them there (see {@link LastTwoMacros}).
+ *    Columns use the same window, transposed.
+ *  - Every placement is O(w) tile steps, each with an O(w²) blank route, so a board costs O(w⁴) cell
+ *    visits in the worst case. In practice a 10×10 board takes about a millisecond and 16×16 under ten.
+ *
+ * Notes:
+ *  - Solutions are legal but not optimal. Random 4×4 boards come out at about twice the optimal
+ *    length, and 10×10 boards at about 2,600 moves. Only the residual is optimal. Boards of width 3
+ *    or less go to the residual solver directly.
+ *  - Deterministic: the same board always gives the same moves.
+ *  - The expanded count reports the residual search's expansions (the reduction itself expands nothing).
+ */
+@Component
+public class ReductionSolver implements Solver {
+
+    /** Width of the corner left for the optimal search (3×3 solves in well under a millisecond). */
+    static final int RESIDUAL_WIDTH = 3;
+
+    private static final Move[] MOVES = Move.values();
+
+    private final Solver residualSolver;
+
+    /**
+     * @param residualSolver optimal solver for the final {@value #RESIDUAL_WIDTH}×{@value #RESIDUAL_WIDTH}
+     *                       corner (and for boards that small to begin with)
+     */
+    public ReductionSolver(AStarSolver residualSolver) {
+        this.residualSolver = residualSolver;
+    }
+
+    @Override
+    public SolveResult solve(PuzzleState startState) {
+        return solve(startState, SolveOptions.defaults());
+    }
+
+    /**
+     * Same as {@link #solve(PuzzleState)}; {@code options} (heuristic, cancellation, profile) apply to the
+     * residual search. Cancellation is also checked before each row and column is reduced.
+     *
+     * @throws SolveCancelledException if {@code options.isCancelled()} turns true
+     */
+    @Override
+    public SolveResult solve(PuzzleState startState, SolveOptions options) {
+        if (startState == null) {
+            throw new IllegalArgumentException("startState cannot be null.");
+        }
+        if (startState.width() <= RESIDUAL_WIDTH) {
+            return residualSolver.solve(startState, options);
+        }
+        Board board = new Board(startState);
+        int width = board.width;
+        for (int top = 0; top < width - RESIDUAL_WIDTH; top++) {
+            if (options != null && options.isCancelled()) {
+                throw new SolveCancelledException(0);
+            }
+            board.solveRow(top);
+            board.solveColumn(top);
+        }
+        return board.finishResidual(residualSolver, options);
+    }
+
+    /** Mutable board plus the moves and states recorded so far. */
+    private static final class Board {
+
+        private final int width;
+        private final int[] tiles;
+        /** Cell of every tile (index = tile value, 0 = blank). */
+        private final int[] cellOf;
+        /** Finished cells, never entered again by the blank or a moving tile. */
+        private final boolean[] locked;
+
+        private final List<Move> moves = new ArrayList<>();
+        private final List<int[]> pathStates = new ArrayList<>();
+
+        /** BFS scratch, reused across routes; a cell is visited if {@code seen[cell] == stamp}. */
+        private final int[] queue;
+        private final int[] parent;
+        private final int[] seen;
+        private int stamp;
+
+        Board(PuzzleState startState) {
+            this.width = startState.width();
+            this.tiles = startState.toArray();
+            int cellCount = tiles.length;
+            this.cellOf = new int[cellCount];
+            for (int cell = 0; cell < cellCount; cell++) {
+                cellOf[tiles[cell]] = cell;
+            }
+            this.locked = new boolean[cellCount];
+            this.queue = new int[cellCount];
+            this.parent = new int[cellCount];
+            this.seen = new int[cellCount];
+            pathStates.add(tiles.clone());
+        }
+
+        /** Place the tiles of row {@code row}, columns row..width-1; the rows above are finished. */
+        void solveRow(int row) {
+            int last = row * width + width - 1;
+            for (int cell = row * width + row; cell < last - 1; cell++) {
+                place(goalTile(cell), cell);
+            }
+            int secondLast = last - 1;
+            if (tiles[secondLast] == goalTile(secondLast) && tiles[last] == goalTile(last)) {
+                locked[secondLast] = true;
+                locked[last] = true;
+                return;
+            }
+            finishLastTwo(row, width - RESIDUAL_WIDTH, false);
+        }
+
+        /** Place the tiles of column {@code col}, rows col+1..width-1; its row is finished. */
+        void solveColumn(int col) {
+            int last = (width - 1) * width + col;
+            for (int cell = (col + 1) * width + col; cell < last - width; cell += width) {
+                place(goalTile(cell), cell);
+            }
+            int secondLast = last - width;
+            if (tiles[secondLast] == goalTile(secondLast) && tiles[last] == goalTile(last)) {
+                locked[secondLast] = true;
+                locked[last] = true;
+                return;
+            }
+            finishLastTwo(col, width - RESIDUAL_WIDTH, true);
+        }
+
+        /**
+         * Place the last two tiles of a row (or, transposed, a column) with the window macro. Window cell
+         * (r, c) is board cell (line + r, start + c), or (start + c, line + r) when transposed; cells
+         * (0, 1) and (0, 2) are the two targets and (0, 0) is already finished.
+         */
+        private void finishLastTwo(int line, int start, boolean transposed) {
+            int first = windowCell(line, start, transposed, 0, 1);
+            int second = windowCell(line, start, transposed, 0, 2);
+            int firstTile = goalTile(first);
+            int secondTile = goalTile(second);
+            // Park both tiles in the middle column (no dead ends while only the lower one is fixed) and
+            // bring the blank into the window.
+            int parkSecond = windowCell(line, start, transposed, 2, 1);
+            int parkFirst = windowCell(line, start, transposed, 1, 1);
+            place(secondTile, parkSecond);
+            place(firstTile, parkFirst);
+            int blankWindowCell = windowCell(line, start, transposed, 1, 2);
+            if (windowIndex(cellOf[0], line, start, transposed) < 0) {
+                routeBlank(blankWindowCell, -1);
+            }
+            locked[parkSecond] = false;
+            locked[parkFirst] = false;
+            while (true) {
+                Move move = LastTwoMacros.nextMove(windowIndex(cellOf[0], line, start, transposed),
+                        windowIndex(cellOf[firstTile], line, start, transposed),
+                        windowIndex(cellOf[secondTile], line, start, transposed));
+                if (move == null) break;
+                step(transposed ? LastTwoMacros.transpose(move) : move);
+            }
+            locked[first] = true;
+            locked[second] = true;
+        }
+
+        private int windowCell(int line, int start, boolean transposed, int r, int c) {
+            return transposed ? (start + c) * width + line + r : (line + r) * width + start + c;
+        }
+
+        /** @return the window index (r·3 + c) of a board cell, or -1 if the cell is outside the window. */
+        private int windowIndex(int cell, int line, int start, boolean transposed) {
+            int r = transposed ? cell % width - line : cell / width - line;
+            int c = transposed ? cell / width - start : cell % width - start;
+            if (r < 0 || r >= LastTwoMacros.SIZE || c < 0 || c >= LastTwoMacros.SIZE) return -1;
+            return r * LastTwoMacros.SIZE + c;
+        }
+
+        /** Solve the bottom-right corner with {@code solver} and replay its moves on the full board. */
+        SolveResult finishResidual(Solver solver, SolveOptions options) {
+            int offset = width - RESIDUAL_WIDTH;
+            int[] corner = new int[RESIDUAL_WIDTH * RESIDUAL_WIDTH];
+            for (int row = 0; row < RESIDUAL_WIDTH; row++) {
+                for (int col = 0; col < RESIDUAL_WIDTH; col++) {
+                    int tile = tiles[(offset + row) * width + offset + col];
+                    corner[row * RESIDUAL_WIDTH + col] = tile == 0 ? 0 : residualLabel(tile, offset);
+                }
+            }
+            SolveResult residual = solver.solve(new PuzzleState(corner), options);
+            for (Move move : residual.getMoves()) {
+                step(move);
+            }
+            if (!Arrays.equals(tiles, PuzzleState.goal(width).toArray())) {
+                // Only reachable for an unsolvable board (the service validates solvability first).
+                return new SolveResult(new ArrayList<>(), new ArrayList<>(), residual.getExpandedNodeCount());
+            }
+            return new SolveResult(moves, pathStates, residual.getExpandedNodeCount());
+        }
+
+        // ---------------------------------------------------------------------
+        // Tile and blank routing
+        // ---------------------------------------------------------------------
+
+        /** Walk {@code tile} to {@code target} without disturbing finished cells, then finish that cell. */
+        private void place(int tile, int target) {
+            while (cellOf[tile] != target) {
+                int from = cellOf[tile];
+                int next = firstStep(from, target);
+                routeBlank(next, from);
+                step(directionOf(next, from));
+            }
+            locked[target] = true;
+        }
+
+        /** Move the blank to {@code target} along a shortest route that avoids finished cells and {@code avoid}. */
+        private void routeBlank(int target, int avoid) {
+            int blank = cellOf[0];
+            if (blank == target) return;
+            if (!search(target, blank, avoid)) {
+                throw new IllegalStateException("No route for the blank to cell " + target + " on " + Arrays.toString(tiles));
+            }
+            // The search ran from the target, so parents lead from the blank back to it.
+            for (int cell = blank; cell != target; cell = parent[cell]) {
+                step(directionOf(cell, parent[cell]));
+            }
+        }
+
+        /** @return the first cell on a shortest route from {@code from} to {@code target} over open cells. */
+        private int firstStep(int from, int target) {
+            if (!search(target, from, -1)) {
+                throw new IllegalStateException("No route for a tile to cell " + target + " on " + Arrays.toString(tiles));
+            }
+            return parent[from];
+        }
+
+        /**
+         * BFS over open cells from {@code target} until {@code source} is reached; afterwards
+         * {@code parent[cell]} is the next cell toward {@code target}.
+         */
+        private boolean search(int target, int source, int avoid) {
+            stamp++;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = target;
+            seen[target] = stamp;
+            while (head < tail) {
+                int cell = queue[head++];
+                if (cell == source) return true;
+                int row = cell / width;
+                int col = cell % width;
+                for (Move move : MOVES) {
+                    int nextRow = row + move.getRowDelta();
+                    int nextCol = col + move.getColDelta();
+                    if (nextRow < 0 || nextRow >= width || nextCol < 0 || nextCol >= width) continue;
+                    int next = nextRow * width + nextCol;
+                    if (seen[next] == stamp || locked[next] || next == avoid) continue;
+                    seen[next] = stamp;
+                    parent[next] = cell;
+                    queue[tail++] = next;
+                }
+            }
+            return false;
+        }
+
+        /** Slide the blank one cell in {@code move}'s direction and record the move and the new board. */
+        private void step(Move move) {
+            int blank = cellOf[0];
+            int target = blank + move.getRowDelta() * width + move.getColDelta();
+            int tile = tiles[target];
+            tiles[blank] = tile;
+            cellOf[tile] = blank;
+            tiles[target] = 0;
+            cellOf[0] = target;
+            moves.add(move);
+            pathStates.add(tiles.clone());
+        }
+
+        /** @return the move that takes the blank from {@code from} to the adjacent cell {@code to}. */
+        private Move directionOf(int from, int to) {
+            int delta = to - from;
+            if (delta == -width) return Move.UP;
+            if (delta == width) return Move.DOWN;
+            return delta < 0 ? Move.LEFT : Move.RIGHT;
+        }
+
+        /** @return the tile that belongs in {@code cell} on the solved board. */
+        private int goalTile(int cell) {
+            return cell == tiles.length - 1 ? 0 : cell + 1;
+        }
+
+        /** @return the tile's label on the residual board (its goal cell in corner coordinates, plus one). */
+        private int residualLabel(int tile, int offset) {
+            int goalRow = (tile - 1) / width - offset;
+            int goalCol = (tile - 1) % width - offset;
+            return goalRow * RESIDUAL_WIDTH + goalCol + 1;
+        }
+    }
+
+    /**
+     * Precomputed finishing macros for the last two tiles of a row, in a 3×3 window whose top-left cell
+     * is finished: for every placement of the blank and the two tiles, the blank move that starts a
+     * shortest sequence putting them on window cells 1 and 2. The other window tiles are don't-cares,
+     * so every placement is solvable; built once by a backward BFS over the 8·7·6 placements.
+     */
+    static final class LastTwoMacros {
+
+        static final int SIZE = 3;
+        private static final int CELLS = SIZE * SIZE;
+        private static final int FIRST_TARGET = 1;
+        private static final int SECOND_TARGET = 2;
+
+        /** Move ordinal + 1 toward the goal; 0 = solved (or not a placement). Index: (blank·9 + first)·9 + second. */
+        private static final byte[] NEXT = new byte[CELLS * CELLS * CELLS];
+
+        static {
+            int[] queue = new int[NEXT.length];
+            boolean[] seen = new boolean[NEXT.length];
+            int tail = 0;
+            for (int blank = 1; blank < CELLS; blank++) {
+                if (blank == FIRST_TARGET || blank == SECOND_TARGET) continue;
+                int goal = index(blank, FIRST_TARGET, SECOND_TARGET);
+                seen[goal] = true;
+                queue[tail++] = goal;
+            }
+            for (int head = 0; head < tail; head++) {
+                int state = queue[head];
+                int blank = state / (CELLS * CELLS);
+                int first = state / CELLS % CELLS;
+                int second = state % CELLS;
+                for (Move move : MOVES) {
+                    // Predecessor: the blank came from the neighbor cell, so the forward move is the opposite.
+                    int from = neighbor(blank, move);
+                    if (from <= 0) continue;
+                    int prevFirst = first == from ? blank : first;
+                    int prevSecond = second == from ? blank : second;
+                    int previous = index(from, prevFirst, prevSecond);
+                    if (seen[previous]) continue;
+                    seen[previous] = true;
+                    NEXT[previous] = (byte) (move.opposite().ordinal() + 1);
+                    queue[tail++] = previous;
+                }
+            }
+            if (tail != (CELLS - 1) * (CELLS - 2) * (CELLS - 3)) {
+                throw new IllegalStateException("Last-two macros cover " + tail + " placements.");
+            }
+        }
+
+        /** @return the next blank move, or null once both tiles are on their targets */
+        static Move nextMove(int blank, int first, int second) {
+            if (blank < 0 || first < 0 || second < 0) {
+                throw new IllegalStateException("Blank and tiles must be inside the window.");
+            }
+            int code = NEXT[index(blank, first, second)];
+            return code == 0 ? null : MOVES[code - 1];
+        }
+
+        /** @return the move mirrored across the main diagonal (for columns). */
+        static Move transpose(Move move) {
+            switch (move) {
+                case UP:    return Move.LEFT;
+                case DOWN:  return Move.RIGHT;
+                case LEFT:  return Move.UP;
+                case RIGHT: return Move.DOWN;
+                default:    throw new IllegalStateException("Unexpected move: " + move);
+            }
+        }
+
+        private static int index(int blank, int first, int second) {
+            return (blank * CELLS + first) * CELLS + second;
+        }
+
+        /** @return the window cell next to {@code cell} in {@code move}'s direction, or -1 off the window. */
+        private static int neighbor(int cell, Move move) {
+            int row = cell / SIZE + move.getRowDelta();
+            int col = cell % SIZE + move.getColDelta();
+            if (row < 0 || row >= SIZE || col < 0 || col >= SIZE) return -1;
+            return row * SIZE + col;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package solver;
+
+import heuristic.Heuristic;
+import model.Move;
+import model.MovePruningAutomaton;
+import model.PuzzleState;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Simplified Memory-bounded A* (SMA*): optimal like A*, but never holds more than
+ * {@link SolveOptions#getMaxNodes()} search nodes.
+ *
+ * Core idea:
+ *  - Generate one successor at a time from the best node (lowest f, deepest on ties).
+ *  - When memory is full, forget the worst leaf (highest f, shallowest on ties) and back its f-value
+ *    up into its parent, which remembers it per successor slot and returns to the open set.
+ *  - A forgotten subtree is regenerated only when its remembered f becomes the best option again,
+ *    so the first goal selected is still optimal (as long as the cap exceeds the solution depth).
+ *  - Once every successor of a node has been generated, its f is raised to the minimum of its
+ *    children's (or remembered) f-values and the change propagates to its ancestors.
+ *
+ * Notes:
+ *  - Tree search (no closed set), so memory is bounded by the cap alone; the move-pruning automaton
+ *    skips reversals and short redundant cycles, so fewer slots per node need remembering.
+ *  - Slower than A* because forgotten subtrees are re-expanded; used as the fallback when A* would
+ *    outgrow its node budget (see SolverService), not as a user-selectable algorithm.
+ */
+@Component
+public class SMAStarSolver implements Solver {
+
+    /** Node cap used when the options do not set one. */
+    public static final int DEFAULT_MAX_NODES = 1_000_000;
+
+    private static final int INFINITE_F = Integer.MAX_VALUE;
+
+    /** Cancellation is polled every 1024 generated nodes. */
+    private static final int CANCELLATION_CHECK_MASK = 1023;
+
+    private static final MovePruningAutomaton MOVE_PRUNING = MovePruningAutomaton.standard();
+
+    private final Heuristic heuristic;
+
+    public SMAStarSolver(Heuristic heuristic) {
+        this.heuristic = Objects.requireNonNull(heuristic, "heuristic");
+    }
+
+    @Override
+    public SolveResult solve(PuzzleState startState) {
+        return solve(startState, SolveOptions.defaults());
+    }
+
+    /**
+     * @param options heuristic override, node cap ({@link #DEFAULT_MAX_NODES} when unset) and cancellation
+     * @throws SolveCancelledException if {@code options.isCancelled()} turns true mid-search
+     */
+    @Override
+    public SolveResult solve(PuzzleState startState, SolveOptions options) {
+        if (startState == null) {
+            throw new IllegalArgumentException("startState cannot be null.");
+        }
+        Heuristic heuristic = (options != null && options.getHeuristic() != null) ? options.getHeuristic() : this.heuristic;
+        int maxNodes = (options != null && options.getMaxNodes() > 0) ? options.getMaxNodes() : DEFAULT_MAX_NODES;
+        SearchProfile profile = (options != null) ? options.getProfile() : null;
+
+        // Open set holds every node that still has a successor slot to (re)generate.
+        TreeSet<Node> open = new TreeSet<>(Node.BEST_FIRST);
+        long sequence = 0;
+        Node root = new Node(startState, null, null, MovePruningAutomaton.START, -1, 0, sequence++);
+        root.f = heuristic.estimate(startState);
+        open.add(root);
+        int nodesInMemory = 1;
+        int expandedCount = 0;
+
+        while (!open.isEmpty()) {
+            Node best = open.first();
+            if (best.f == INFINITE_F) {
+                break; // Every remaining path needs more memory than the cap allows.
+            }
+            if (best.state.isGoal()) {
+                return buildSolveResult(best, expandedCount);
+            }
+
+            // ---- Generate the next successor of the best node ----
+            int slot = best.nextSlot();
+            PuzzleState.Neighbor neighbor = best.successor(slot);
+            Node child = new Node(neighbor.state(), best, neighbor.move(),
+                    MOVE_PRUNING.next(best.pruningState, neighbor.move()), slot, best.g + 1, sequence++);
+            if (!child.state.isGoal() && (child.depth() >= maxNodes - 1 || child.children.length == 0)) {
+                child.f = INFINITE_F; // Too deep to ever be completed within the cap, or every move pruned.
+            } else {
+                int fromHeuristic = child.g + heuristic.estimate(child.state);
+                child.f = Math.max(Math.max(best.f, fromHeuristic), best.forgottenF[slot]);
+            }
+            open.remove(best);
+            best.children[slot] = child;
+            best.forgottenF[slot] = 0;
+            best.childrenInMemory++;
+            nodesInMemory++;
+            expandedCount++;
+            if (profile != null) {
+                profile.onGenerated();
+                profile.onExpanded(best.f);
+                profile.observeSizes(open.size(), nodesInMemory);
+            }
+            if ((expandedCount & CANCELLATION_CHECK_MASK) == 0 && options != null && options.isCancelled()) {
+                throw new SolveCancelledException(expandedCount);
+            }
+
+            // ---- Back up f once every successor has been seen, then requeue if slots remain ----
+            backUp(best, open);
+            if (best.hasSlotToGenerate()) {
+                open.add(best);
+            }
+
+            // ---- Enforce the memory bound by forgetting the worst leaves ----
+            while (nodesInMemory > maxNodes) {
+                Node worst = worstLeaf(open, root);
+                if (worst == null) break;
+                forget(worst, open);
+                nodesInMemory--;
+            }
+            open.add(child);
+        }
+
+        // Either unsolvable (should not happen after validation) or the cap is below the solution depth.
+        return new SolveResult(Collections.emptyList(), Collections.emptyList(), expandedCount);
+    }
+
+    // ---------------------------------------------------------------------
+    // Helpers
+    // ---------------------------------------------------------------------
+
+    /** Raise f of {@code node} and its ancestors to the best value still reachable below them. */
+    private void backUp(Node node, TreeSet<Node> open) {
+        for (Node current = node; current != null && current.allSlotsSeen(); current = current.parent) {
+            int lowest = INFINITE_F;
+            for (int slot = 0; slot < current.children.length; slot++) {
+                int slotF = (current.children[slot] != null) ? current.children[slot].f : current.forgottenF[slot];
+                lowest = Math.min(lowest, slotF);
+            }
+            if (lowest <= current.f) return;
+            boolean queued = open.remove(current);
+            current.f = lowest;
+            if (queued) open.add(current);
+        }
+    }
+
+    /** @return the highest-f, shallowest node without children in memory (never the root). */
+    private Node worstLeaf(TreeSet<Node> open, Node root) {
+        Iterator<Node> descending = open.descendingIterator();
+        while (descending.hasNext()) {
+            Node candidate = descending.next();
+            if (candidate != root && candidate.childrenInMemory == 0) return candidate;
+        }
+        return null;
+    }
+
+    /** Drop a leaf, remembering its f in the parent's slot; the parent becomes expandable again. */
+    private void forget(Node leaf, TreeSet<Node> open) {
+        open.remove(leaf);
+        Node parent = leaf.parent;
+        open.remove(parent);
+        parent.children[leaf.slot] = null;
+        parent.forgottenF[leaf.slot] = leaf.f;
+        parent.childrenInMemory--;
+        open.add(parent);
+    }
+
+    /** Reconstruct moves and states from the goal node back to the root. */
+    private SolveResult buildSolveResult(Node goalNode, int expandedCount) {
+        List<Move> movesReversed = new ArrayList<>();
+        List<int[]> statesReversed = new ArrayList<>();
+        for (Node node = goalNode; node != null; node = node.parent) {
+            statesReversed.add(node.state.toArray());
+            if (node.moveApplied != null) {
+                movesReversed.add(node.moveApplied);
+            }
+        }
+        Collections.reverse(statesReversed);
+        Collections.reverse(movesReversed);
+        return new SolveResult(movesReversed, statesReversed, expandedCount);
+    }
+
+    /**
+     * SMA* node: one successor slot per legal move the automaton allows, each either in memory
+     * ({@code children[slot]}), forgotten with a remembered f ({@code forgottenF[slot] > 0}),
+     * or not generated yet.
+     */
+    private static final class Node {
+
+        /** Best first: lowest f, then deepest, then oldest. */
+        static final Comparator<Node> BEST_FIRST = Comparator
+                .comparingInt((Node node) -> node.f)
+                .thenComparing(Comparator.comparingInt((Node node) -> node.g).reversed())
+                .thenComparingLong(node -> node.sequence);
+
+        final PuzzleState state;
+        final Node parent;
+        final Move moveApplied;
+        final int pruningState;
+        final int slot;
+        final int g;
+        final long sequence;
+        int f;
+
+        Node[] children;
+        int[] forgottenF;
+        int childrenInMemory;
+        private int generatedSlots;
+
+        Node(PuzzleState state, Node parent, Move moveApplied, int pruningState, int slot, int g, long sequence) {
+            this.state = state;
+            this.parent = parent;
+            this.moveApplied = moveApplied;
+            this.pruningState = pruningState;
+            this.slot = slot;
+            this.g = g;
+            this.sequence = sequence;
+            int slotCount = successorCount(state, pruningState);
+            this.children = new Node[slotCount];
+            this.forgottenF = new int[slotCount];
+        }
+
+        /**
+         * Successor states are rebuilt on demand rather than kept per node, so memory stays
+         * proportional to the node cap. Slot k is the k-th unpruned neighbor in PuzzleState order.
+         */
+        PuzzleState.Neighbor successor(int slot) {
+            List<PuzzleState.Neighbor> successors = state.neighbors(MOVE_PRUNING, pruningState);
+            if (slot >= successors.size()) {
+                throw new IllegalStateException("No successor slot " + slot + " for " + state);
+            }
+            return successors.get(slot);
+        }
+
+        private static int successorCount(PuzzleState state, int pruningState) {
+            int width = state.width();
+            int row = state.indexOfBlank() / width;
+            int col = state.indexOfBlank() % width;
+            int count = 0;
+            for (Move move : Move.values()) {
+                int nextRow = row + move.getRowDelta();
+                int nextCol = col + move.getColDelta();
+                if (nextRow >= 0 && nextRow < width && nextCol >= 0 && nextCol < width
+                        && MOVE_PRUNING.allows(pruningState, move)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        int depth() {
+            return g;
+        }
+
+        boolean allSlotsSeen() {
+            return generatedSlots == children.length;
+        }
+
+        /** True while some slot is either never generated or forgotten. */
+        boolean hasSlotToGenerate() {
+            return childrenInMemory < children.length;
+        }
+
+        /** Next slot to fill: a never-generated one first, else the forgotten one with the lowest f. */
+        int nextSlot() {
+            if (generatedSlots < children.length) {
+                return generatedSlots++;
+            }
+            int chosen = -1;
+            for (int candidate = 0; candidate < children.length; candidate++) {
+                if (children[candidate] == null
+                        && (chosen < 0 || forgottenF[candidate] < forgottenF[chosen])) {
+                    chosen = candidate;
+                }
+            }
+            return chosen;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package solver;
+
+/**
+ * Thrown by a solver that stops because the search outgrew {@link SolveOptions#getMaxNodes()}.
+ * The service layer treats it as "retry with a memory-bounded engine", not as a client error.
+ */
+public class SearchLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int maxNodes;
+    private final int expandedNodeCount;
+
+    public SearchLimitExceededException(int maxNodes, int expandedNodeCount) {
+        super("Search exceeded its node budget of " + maxNodes + " after " + expandedNodeCount + " expansions.");
+        this.maxNodes = maxNodes;
+        this.expandedNodeCount = expandedNodeCount;
+    }
+
+    public int getMaxNodes() {
+        return maxNodes;
+    }
+
+    public int getExpandedNodeCount() {
+        return expandedNodeCount;
+    }
+}
@@ -0,0 +1,136 @@
+package solver;
+
+import java.util.Arrays;
+
+/**
+ * Search counters collected for one solve when diagnostics are requested
+ * (see {@link SolveOptions#withProfile}).
+ *
+ * Solvers hold the profile in a local that is null unless diagnostics were asked for, and guard every
+ * update with a null check. Java cannot compile the counters out, but the branch is never taken on
+ * normal solves, so the JIT keeps it off the hot path and the cost is one predictable compare per event.
+ *
+ * "Layer" is what the solver orders its work by: the f-value for A*-family searches, the depth for
+ * BFS/DFS. Not thread-safe: one profile belongs to one running search.
+ */
+public final class SearchProfile {
+
+    /** What the per-layer expansion counts are keyed by. */
+    public enum Layer {
+        F_VALUE("f"),
+        DEPTH("depth");
+
+        private final String wireName;
+
+        Layer(String wireName) {
+            this.wireName = wireName;
+        }
+
+        public String getWireName() {
+            return wireName;
+        }
+    }
+
+    private Layer layer = Layer.F_VALUE;
+    private long generated;
+    private long expanded;
+    private long duplicates;
+    private long peakOpen;
+    private long peakClosed;
+    private long[] expandedByLayer = new long[64];
+    private int maxLayer = -1;
+
+    /** Declare what this solver's layers are (A*-family searches keep the default, f-values). */
+    public void setLayer(Layer layer) {
+        this.layer = layer;
+    }
+
+    /** A successor board was created. */
+    public void onGenerated() {
+        generated++;
+    }
+
+    /** {@code count} successor boards were created (batch form for layer-parallel searches). */
+    public void onGenerated(long count) {
+        generated += count;
+    }
+
+    /** A node at {@code layer} was expanded. */
+    public void onExpanded(int layer) {
+        onExpanded(layer, 1);
+    }
+
+    /** {@code count} nodes at {@code layer} were expanded. */
+    public void onExpanded(int layer, long count) {
+        expanded += count;
+        if (layer < 0) return;
+        if (layer >= expandedByLayer.length) {
+            expandedByLayer = Arrays.copyOf(expandedByLayer, Math.max(layer + 1, expandedByLayer.length * 2));
+        }
+        expandedByLayer[layer] += count;
+        maxLayer = Math.max(maxLayer, layer);
+    }
+
+    /** A generated or dequeued board was dropped because it was already seen. */
+    public void onDuplicate() {
+        duplicates++;
+    }
+
+    /** {@code count} boards were dropped as already seen. */
+    public void onDuplicate(long count) {
+        duplicates += count;
+    }
+
+    /** Record the current open (frontier) and closed (visited) sizes; peaks are kept. */
+    public void observeSizes(long openSize, long closedSize) {
+        if (openSize > peakOpen) peakOpen = openSize;
+        if (closedSize > peakClosed) peakClosed = closedSize;
+    }
+
+    /** Add another profile's counters (e.g., the engine that won a portfolio race). */
+    public void add(SearchProfile other) {
+        layer = other.layer;
+        generated += other.generated;
+        expanded += other.expanded;
+        duplicates += other.duplicates;
+        peakOpen = Math.max(peakOpen, other.peakOpen);
+        peakClosed = Math.max(peakClosed, other.peakClosed);
+        for (int index = 0; index <= other.maxLayer; index++) {
+            if (other.expandedByLayer[index] == 0) continue;
+            if (index >= expandedByLayer.length) {
+                expandedByLayer = Arrays.copyOf(expandedByLayer, Math.max(index + 1, expandedByLayer.length * 2));
+            }
+            expandedByLayer[index] += other.expandedByLayer[index];
+        }
+        maxLayer = Math.max(maxLayer, other.maxLayer);
+    }
+
+    public Layer getLayer() {
+        return layer;
+    }
+
+    public long getGenerated() {
+        return generated;
+    }
+
+    public long getExpanded() {
+        return expanded;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getPeakOpen() {
+        return peakOpen;
+    }
+
+    public long getPeakClosed() {
+        return peakClosed;
+    }
+
+    /** @return expansions per layer, index = layer, trimmed to the deepest layer reached. */
+    public long[] getExpandedByLayer() {
+        return Arrays.copyOf(expandedByLayer, maxLayer + 1);
+    }
+}
@@ -0,0 +1,20 @@
+package solver;
+
+/**
+ * Thrown by a solver that stopped early because {@link SolveOptions#isCancelled()} turned true.
+ */
+public class SolveCancelledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int expandedNodeCount;
+
+    public SolveCancelledException(int expandedNodeCount) {
+        super("Search cancelled after " + expandedNodeCount + " expansions.");
+        this.expandedNodeCount = expandedNodeCount;
+    }
+
+    public int getExpandedNodeCount() {
+        return expandedNodeCount;
+    }
+}
@@ -0,0 +1,104 @@
+package solver;
+
+import heuristic.Heuristic;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Per-request knobs passed to {@link Solver#solve(model.PuzzleState, SolveOptions)}.
+ *
+ * Immutable; start from {@link #defaults()} and derive variants with the {@code with*} methods.
+ * A null/zero field means "use the solver's own default".
+ */
+public final class SolveOptions {
+
+    private static final SolveOptions DEFAULTS = new SolveOptions(null, 0, null, null, null);
+
+    /** Heuristic override for informed solvers (ignored by BFS/DFS); null = solver default. */
+    private final Heuristic heuristic;
+
+    /**
+     * Cap on search nodes held in memory (0 = unbounded). A* gives up with
+     * {@link SearchLimitExceededException} past it; SMA* uses it as its memory bound.
+     */
+    private final int maxNodes;
+
+    /**
+     * Polled by long-running solvers (A*, SMA*); once it returns true they stop with
+     * {@link SolveCancelledException}. Null = not cancellable.
+     */
+    private final BooleanSupplier cancellation;
+
+    /** Diagnostics counters filled in by the solver; null = no diagnostics (the normal case). */
+    private final SearchProfile profile;
+
+    /**
+     * Goal perimeters for A* and IDA*: the search stops at the first perimeter board it settles and
+     * finishes from the table. Null (or no perimeter for the board's width) = search all the way to the goal.
+     */
+    private final GoalPerimeters perimeters;
+
+    private SolveOptions(Heuristic heuristic, int maxNodes, BooleanSupplier cancellation, SearchProfile profile,
+                         GoalPerimeters perimeters) {
+        this.heuristic = heuristic;
+        this.maxNodes = maxNodes;
+        this.cancellation = cancellation;
+        this.profile = profile;
+        this.perimeters = perimeters;
+    }
+
+    /** @return options that leave every solver at its defaults. */
+    public static SolveOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /** @return a copy of these options with the given heuristic override. */
+    public SolveOptions withHeuristic(Heuristic heuristic) {
+        return new SolveOptions(heuristic, maxNodes, cancellation, profile, perimeters);
+    }
+
+    /** @return a copy of these options with the given node cap (0 = unbounded). */
+    public SolveOptions withMaxNodes(int maxNodes) {
+        if (maxNodes < 0) {
+            throw new IllegalArgumentException("maxNodes must be >= 0.");
+        }
+        return new SolveOptions(heuristic, maxNodes, cancellation, profile, perimeters);
+    }
+
+    /** @return a copy of these options that stops the search once {@code cancellation} returns true. */
+    public SolveOptions withCancellation(BooleanSupplier cancellation) {
+        return new SolveOptions(heuristic, maxNodes, cancellation, profile, perimeters);
+    }
+
+    /** @return a copy of these options whose solver records its search counters into {@code profile}. */
+    public SolveOptions withProfile(SearchProfile profile) {
+        return new SolveOptions(heuristic, maxNodes, cancellation, profile, perimeters);
+    }
+
+    /** @return a copy of these options whose A* or IDA* search targets the goal perimeter of its width. */
+    public SolveOptions withPerimeters(GoalPerimeters perimeters) {
+        return new SolveOptions(heuristic, maxNodes, cancellation, profile, perimeters);
+    }
+
+    /** @return true if the caller asked the running search to stop. */
+    public boolean isCancelled() {
+        return cancellation != null && cancellation.getAsBoolean();
+    }
+
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    public int getMaxNodes() {
+        return maxNodes;
+    }
+
+    public SearchProfile getProfile() {
+        return profile;
+    }
+
+    /** @return the perimeter the search should target for boards of {@code width}, or null for the goal. */
+    public GoalPerimeter perimeterFor(int width) {
+        return perimeters == null ? null : perimeters.forWidth(width);
+    }
+}
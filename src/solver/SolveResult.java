@@ -1,5 +1,6 @@
 package solver;
 
+import model.Engine;
 import model.Move;
 
 import java.util.List;
@@ -9,17 +10,24 @@ import java.util.List;
  *  - moves: ordered list of moves from start → goal
  *  - pathStates: optional list of int[9] states along that path (start → goal)
  *  - expandedNodeCount: diagnostic metric (# of expanded nodes)
+ *  - engine: the engine that actually produced the result, when the solver delegates (portfolio racing)
  */
 public class SolveResult {
 
     private final List<Move> moves;
     private final List<int[]> pathStates;       // may be null if not collected
     private final Integer expandedNodeCount;    // may be null
+    private final Engine engine;                // null = the solver that was called
 
     public SolveResult(List<Move> moves, List<int[]> pathStates, Integer expandedNodeCount) {
+        this(moves, pathStates, expandedNodeCount, null);
+    }
+
+    public SolveResult(List<Move> moves, List<int[]> pathStates, Integer expandedNodeCount, Engine engine) {
         this.moves = moves;
         this.pathStates = pathStates;
         this.expandedNodeCount = expandedNodeCount;
+        this.engine = engine;
     }
 
     public List<Move> getMoves() {
@@ -33,4 +41,8 @@ public class SolveResult {
     public Integer getExpandedNodeCount() {
         return expandedNodeCount;
     }
+
+    public Engine getEngine() {
+        return engine;
+    }
 }
@@ -3,7 +3,7 @@ package solver;
 import model.PuzzleState;
 
 /**
- * Strategy interface for 8-puzzle solvers.
+ * Strategy interface for sliding-puzzle solvers.
  *
  * Implementations (A*, BFS, DFS) take a valid, solvable {@link PuzzleState} start state and
  * return a {@link SolveResult} containing the move sequence to the goal (and optional metrics).
@@ -17,11 +17,22 @@ import model.PuzzleState;
 public interface Solver {
 
     /**
-     * Compute a solution path from the provided start state to the canonical goal [1,2,3; 4,5,6; 7,8,0].
+     * Compute a solution path from the provided start state to the canonical goal (e.g. [1,2,3; 4,5,6; 7,8,0]).
      *
-     * @param startState a valid and solvable 3×3 board
+     * @param startState a valid and solvable board
      * @return a SolveResult containing the move list and optional diagnostics
      * @throws IllegalArgumentException if startState is null
      */
     SolveResult solve(PuzzleState startState);
+
+    /**
+     * Same as {@link #solve(PuzzleState)} with per-request options (e.g., a heuristic override).
+     * Solvers that have nothing to configure can rely on this default, which ignores the options.
+     *
+     * @param startState a valid and solvable board
+     * @param options non-null options; see {@link SolveOptions#defaults()}
+     */
+    default SolveResult solve(PuzzleState startState, SolveOptions options) {
+        return solve(startState);
+    }
 }
@@ -11,7 +11,7 @@ import java.util.Set;
  * Factory that maps an {@link Algorithm} selection to a concrete {@link Solver} implementation.
  *
  * Design:
- * - Uses constructor injection of the three solver beans (A*, BFS, DFS).
+ * - Uses constructor injection of the solver beans (A*, BFS, DFS, reduction).
  * - Stores them in an {@link EnumMap} for O(1) lookup by Algorithm.
  * - Kept simple and explicit so adding/removing algorithms is trivial.
  */
@@ -27,11 +27,13 @@ public class SolverFactory {
      */
     public SolverFactory(AStarSolver aStarSolver,
                          BFSSolver bfsSolver,
-                         DFSSolver dfsSolver) {
+                         DFSSolver dfsSolver,
+                         ReductionSolver reductionSolver) {
 
         algorithmToSolverMap.put(Algorithm.ASTAR, aStarSolver);
         algorithmToSolverMap.put(Algorithm.BFS, bfsSolver);
         algorithmToSolverMap.put(Algorithm.DFS, dfsSolver);
+        algorithmToSolverMap.put(Algorithm.REDUCTION, reductionSolver);
     }
 
     /**
@@ -43,6 +45,17 @@ public class SolverFactory {
         return algorithmToSolverMap.get(selectedAlgorithm);
     }
 
+    /**
+     * @return true if {@code algorithm} can solve boards of this width in reasonable time and memory:
+     *         BFS and DFS stop at {@link EngineFactory#UNINFORMED_MAX_WIDTH}, like the uninformed engines
+     */
+    public boolean supportsWidth(Algorithm algorithm, int width) {
+        if (algorithm == Algorithm.BFS || algorithm == Algorithm.DFS) {
+            return width <= EngineFactory.UNINFORMED_MAX_WIDTH;
+        }
+        return true;
+    }
+
     /**
      * @return the set of algorithms currently supported by this backend.
      *         Useful for diagnostics or exposing capabilities.
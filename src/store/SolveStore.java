@@ -0,0 +1,382 @@
+package store;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import model.Algorithm;
+import model.HeuristicType;
+import model.Move;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import solver.SolveResult;
+import util.StateCodec;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent, append-only store of solved (start state, algorithm, heuristic) → moves records.
+ *
+ * File layout:
+ *  - Header "PZS1", then records back to back:
+ *    u8 tileCount, u8 algorithm ordinal, u8 heuristic (0 = solver default, else ordinal + 1),
+ *    i64 packed start state ({@link StateCodec#pack(int[])}), i32 expanded node count,
+ *    u16 move count, moves at 2 bits each (Move ordinal, 4 per byte), i32 CRC32 of the preceding bytes.
+ *  - Enum ordinals are persisted, so new Algorithm/HeuristicType/Move constants must be appended.
+ *
+ * Lifecycle:
+ *  - Startup memory-maps the log and rebuilds the in-memory index in one sequential scan.
+ *    A torn or corrupt tail (crash mid-append) fails its length/CRC check; the file is truncated
+ *    back to the last good record and appending continues from there.
+ *  - Appends are not fsync'ed one by one; a crash loses at most the unflushed tail, which the next
+ *    startup truncates. Compaction and shutdown force the file to disk.
+ *  - Compaction periodically rewrites the live index into a fresh file (atomic rename) once
+ *    duplicate/superseded records make up a large enough share of the log.
+ *
+ * Only boards up to {@value StateCodec#MAX_PACKED_TILES} tiles are stored; wider boards are ignored.
+ */
+@Component
+public class SolveStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SolveStore.class);
+
+    private static final byte[] MAGIC = {'P', 'Z', 'S', '1'};
+
+    /** Fixed bytes per record: 3 × u8 + i64 + i32 + u16 + i32 (CRC). */
+    private static final int FIXED_RECORD_BYTES = 3 + 8 + 4 + 2 + 4;
+
+    private static final int MAX_MOVES = 0xFFFF;
+
+    /** Compact when dead records exceed this share of the file ... */
+    private static final double COMPACTION_DEAD_RATIO = 0.25;
+
+    /** ... and at least this many bytes (avoid rewriting tiny files). */
+    private static final long COMPACTION_MIN_DEAD_BYTES = 64 * 1024;
+
+    private final boolean enabled;
+    private final Path path;
+
+    private final Map<StoreKey, StoredSolution> index = new ConcurrentHashMap<>();
+
+    /** Guards the append channel and the byte counters (appends, compaction). */
+    private final Object writeLock = new Object();
+    private FileChannel appendChannel;
+    private long fileBytes;
+    private long liveBytes;
+
+    public SolveStore(@Value("${puzzle.store.enabled:true}") boolean enabled,
+                      @Value("${puzzle.store.path:data/solve-store.bin}") String path) {
+        this.enabled = enabled;
+        this.path = Paths.get(path);
+    }
+
+    /** Rebuild the index from the log (truncating a torn tail) and open it for appending. */
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) return;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        long t0 = System.nanoTime();
+        synchronized (writeLock) {
+            appendChannel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = appendChannel.size();
+            long goodEnd = scan(appendChannel, size);
+            if (goodEnd < size) {
+                log.warn("Solve store {}: truncating {} bytes of incomplete/corrupt tail.", path, size - goodEnd);
+                appendChannel.truncate(goodEnd);
+                appendChannel.force(true);
+            }
+            if (goodEnd == 0) {
+                goodEnd = writeHeader(appendChannel);
+            }
+            appendChannel.position(goodEnd);
+            fileBytes = goodEnd;
+        }
+        log.info("Solve store {}: loaded {} solutions in {} ms.",
+                path, index.size(), (System.nanoTime() - t0) / 1_000_000L);
+    }
+
+    /**
+     * @return the stored result (moves, replayed path states, original expanded count), or null on a miss
+     */
+    public SolveResult lookup(int[] startTiles, Algorithm algorithm, HeuristicType heuristic) {
+        if (!enabled || startTiles.length > StateCodec.MAX_PACKED_TILES) return null;
+        StoredSolution solution = index.get(new StoreKey(StateCodec.pack(startTiles), startTiles.length, algorithm, heuristic));
+        return solution == null ? null : solution.toSolveResult(startTiles);
+    }
+
+    /**
+     * Persist a fresh result. Already-stored keys and unstorable boards/paths are ignored.
+     */
+    public void record(int[] startTiles, Algorithm algorithm, HeuristicType heuristic, SolveResult result) {
+        if (!enabled || startTiles.length > StateCodec.MAX_PACKED_TILES) return;
+        List<Move> moves = result.getMoves();
+        if (moves == null || moves.size() > MAX_MOVES) return;
+
+        StoreKey key = new StoreKey(StateCodec.pack(startTiles), startTiles.length, algorithm, heuristic);
+        int expandedNodeCount = result.getExpandedNodeCount() == null ? 0 : result.getExpandedNodeCount();
+        StoredSolution solution = StoredSolution.of(moves, expandedNodeCount);
+        if (index.putIfAbsent(key, solution) != null) return;
+
+        ByteBuffer record = encode(key, solution);
+        synchronized (writeLock) {
+            try {
+                int recordBytes = record.remaining();
+                while (record.hasRemaining()) {
+                    appendChannel.write(record);
+                }
+                fileBytes += recordBytes;
+                liveBytes += recordBytes;
+            } catch (IOException e) {
+                // The in-memory entry still serves this process; the log just misses it.
+                log.warn("Solve store {}: append failed: {}", path, e.toString());
+            }
+        }
+    }
+
+    /** Rewrite the live records into a fresh log when enough of the file is dead weight. */
+    @Scheduled(fixedDelayString = "${puzzle.store.compaction-interval-ms:600000}",
+               initialDelayString = "${puzzle.store.compaction-interval-ms:600000}")
+    public void compactIfWorthwhile() {
+        if (!enabled) return;
+        synchronized (writeLock) {
+            long deadBytes = fileBytes - MAGIC.length - liveBytes;
+            if (deadBytes < COMPACTION_MIN_DEAD_BYTES || deadBytes < fileBytes * COMPACTION_DEAD_RATIO) return;
+            try {
+                compact();
+            } catch (IOException e) {
+                log.warn("Solve store {}: compaction failed: {}", path, e.toString());
+            }
+        }
+    }
+
+    /** Rewrite the log so it holds exactly one record per live key. */
+    public void compact() throws IOException {
+        if (!enabled) return;
+        synchronized (writeLock) {
+            Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+            long written;
+            try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                written = writeHeader(out);
+                for (Map.Entry<StoreKey, StoredSolution> entry : index.entrySet()) {
+                    ByteBuffer record = encode(entry.getKey(), entry.getValue());
+                    while (record.hasRemaining()) {
+                        written += out.write(record);
+                    }
+                }
+                out.force(true);
+            }
+            appendChannel.close();
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            appendChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            appendChannel.position(written);
+            log.info("Solve store {}: compacted {} -> {} bytes.", path, fileBytes, written);
+            fileBytes = written;
+            liveBytes = written - MAGIC.length;
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            if (appendChannel != null && appendChannel.isOpen()) {
+                appendChannel.force(true);
+                appendChannel.close();
+            }
+        }
+    }
+
+    /** @return number of stored solutions. */
+    public int size() {
+        return index.size();
+    }
+
+    // ---------------------------------------------------------------------
+    // Encoding
+    // ---------------------------------------------------------------------
+
+    private static long writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.wrap(MAGIC);
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        return MAGIC.length;
+    }
+
+    /**
+     * Load every intact record into the index.
+     *
+     * @return end offset of the last intact record (everything after it is a torn/corrupt tail);
+     *         0 if even the header is missing
+     */
+    private long scan(FileChannel channel, long size) throws IOException {
+        if (size < MAGIC.length) return 0L;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Solve store " + path + " exceeds 2 GB; compact or move it aside.");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Solve store " + path + " has an unknown header.");
+        }
+
+        CRC32 crc = new CRC32();
+        long goodEnd = MAGIC.length;
+        while (buffer.hasRemaining()) {
+            int recordStart = buffer.position();
+            try {
+                int tileCount = buffer.get() & 0xFF;
+                int algorithmCode = buffer.get() & 0xFF;
+                int heuristicCode = buffer.get() & 0xFF;
+                long packedStart = buffer.getLong();
+                int expandedNodeCount = buffer.getInt();
+                int moveCount = buffer.getShort() & 0xFFFF;
+                byte[] packedMoves = new byte[(moveCount + 3) / 4];
+                buffer.get(packedMoves);
+                int bodyEnd = buffer.position();
+                int storedCrc = buffer.getInt();
+
+                crc.reset();
+                crc.update(buffer.duplicate().position(recordStart).limit(bodyEnd));
+                if ((int) crc.getValue() != storedCrc
+                        || tileCount > StateCodec.MAX_PACKED_TILES
+                        || algorithmCode >= Algorithm.values().length
+                        || heuristicCode > HeuristicType.values().length) {
+                    break;
+                }
+
+                StoreKey key = new StoreKey(packedStart, tileCount, Algorithm.values()[algorithmCode],
+                        heuristicCode == 0 ? null : HeuristicType.values()[heuristicCode - 1]);
+                int recordBytes = buffer.position() - recordStart;
+                // Later records win; the earlier copy becomes dead weight for compaction.
+                StoredSolution previous = index.put(key, new StoredSolution(moveCount, packedMoves, expandedNodeCount));
+                if (previous != null) {
+                    liveBytes -= FIXED_RECORD_BYTES + previous.packedMoves.length;
+                }
+                liveBytes += recordBytes;
+                goodEnd = buffer.position();
+            } catch (BufferUnderflowException torn) {
+                break;
+            }
+        }
+        return goodEnd;
+    }
+
+    private static ByteBuffer encode(StoreKey key, StoredSolution solution) {
+        ByteBuffer record = ByteBuffer.allocate(FIXED_RECORD_BYTES + solution.packedMoves.length);
+        record.put((byte) key.tileCount);
+        record.put((byte) key.algorithm.ordinal());
+        record.put((byte) (key.heuristic == null ? 0 : key.heuristic.ordinal() + 1));
+        record.putLong(key.packedStart);
+        record.putInt(solution.expandedNodeCount);
+        record.putShort((short) solution.moveCount);
+        record.put(solution.packedMoves);
+
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, record.position());
+        record.putInt((int) crc.getValue());
+        return record.flip();
+    }
+
+    /** Identity of a stored solve. */
+    private static final class StoreKey {
+
+        private final long packedStart;
+        private final int tileCount;
+        private final Algorithm algorithm;
+        private final HeuristicType heuristic;
+
+        StoreKey(long packedStart, int tileCount, Algorithm algorithm, HeuristicType heuristic) {
+            this.packedStart = packedStart;
+            this.tileCount = tileCount;
+            this.algorithm = algorithm;
+            this.heuristic = heuristic;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof StoreKey)) return false;
+            StoreKey that = (StoreKey) other;
+            return packedStart == that.packedStart
+                    && tileCount == that.tileCount
+                    && algorithm == that.algorithm
+                    && heuristic == that.heuristic;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Long.hashCode(packedStart * 0x9E3779B97F4A7C15L);
+            result = 31 * result + tileCount;
+            result = 31 * result + algorithm.hashCode();
+            result = 31 * result + (heuristic == null ? 0 : heuristic.hashCode());
+            return result;
+        }
+    }
+
+    /** Moves kept 2 bits each in memory, exactly as on disk. */
+    private static final class StoredSolution {
+
+        private final int moveCount;
+        private final byte[] packedMoves;
+        private final int expandedNodeCount;
+
+        StoredSolution(int moveCount, byte[] packedMoves, int expandedNodeCount) {
+            this.moveCount = moveCount;
+            this.packedMoves = packedMoves;
+            this.expandedNodeCount = expandedNodeCount;
+        }
+
+        static StoredSolution of(List<Move> moves, int expandedNodeCount) {
+            byte[] packed = new byte[(moves.size() + 3) / 4];
+            for (int i = 0; i < moves.size(); i++) {
+                packed[i >> 2] |= (byte) (moves.get(i).ordinal() << (2 * (i & 3)));
+            }
+            return new StoredSolution(moves.size(), packed, expandedNodeCount);
+        }
+
+        /** Decode the moves and replay them from {@code startTiles} to rebuild the path states. */
+        SolveResult toSolveResult(int[] startTiles) {
+            Move[] allMoves = Move.values();
+            int width = (int) Math.round(Math.sqrt(startTiles.length));
+            int[] tiles = startTiles.clone();
+            int blank = 0;
+            while (tiles[blank] != 0) blank++;
+
+            List<Move> moves = new ArrayList<>(moveCount);
+            List<int[]> pathStates = new ArrayList<>(moveCount + 1);
+            pathStates.add(tiles.clone());
+            for (int i = 0; i < moveCount; i++) {
+                Move move = allMoves[(packedMoves[i >> 2] >> (2 * (i & 3))) & 3];
+                int target = blank + move.getRowDelta() * width + move.getColDelta();
+                tiles[blank] = tiles[target];
+                tiles[target] = 0;
+                blank = target;
+                moves.add(move);
+                pathStates.add(tiles.clone());
+            }
+            return new SolveResult(moves, pathStates, expandedNodeCount);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package util;
+
+import model.Move;
+
+/**
+ * In-place move helpers for flat row-major boards of any width, for the table-driven searches that work
+ * on raw int arrays instead of {@link model.PuzzleState} (perimeters, parallel and external-memory BFS).
+ *
+ * Moves are blank-centric as in {@link Move}: the blank travels in the move's direction.
+ * {@code heuristic.DistanceIndex} keeps its own 3×3-only variants.
+ */
+public final class FlatBoard {
+
+    private FlatBoard() { /* no instances */ }
+
+    /**
+     * @return the cell the blank moves into for {@code move}, or -1 if the move leaves the board.
+     */
+    public static int targetIndex(int blank, Move move, int width) {
+        int row = blank / width + move.getRowDelta();
+        int col = blank % width + move.getColDelta();
+        if (row < 0 || row >= width || col < 0 || col >= width) return -1;
+        return row * width + col;
+    }
+
+    public static int indexOfBlank(int[] tiles) {
+        for (int index = 0; index < tiles.length; index++) {
+            if (tiles[index] == 0) return index;
+        }
+        throw new IllegalArgumentException("Blank tile (0) not found.");
+    }
+
+    public static void swap(int[] tiles, int a, int b) {
+        int tmp = tiles[a];
+        tiles[a] = tiles[b];
+        tiles[b] = tmp;
+    }
+}
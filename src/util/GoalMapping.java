@@ -0,0 +1,153 @@
+package util;
+
+import model.Move;
+import model.PuzzleState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps a puzzle with a custom goal layout onto the canonical goal [1..n-1, 0] and back.
+ *
+ * How:
+ *  - A board flip (rows and/or columns) brings the custom goal's blank to the bottom-right cell.
+ *    Flips map legal moves to legal moves (UP↔DOWN for a row flip, LEFT↔RIGHT for a column flip).
+ *  - Tiles are then relabeled so the flipped custom goal reads exactly [1..n-1, 0].
+ *  - Solving the mapped start against the canonical goal and mapping moves/states back gives a
+ *    solution of the same length, so every solver, heuristic table and cache keyed by canonical
+ *    states is reused unchanged.
+ *
+ * Limitation:
+ *  - Only goals with the blank in a corner can be mapped (flips cannot move the blank anywhere else,
+ *    and relabeling never moves the blank). {@link #forGoal(int[])} rejects other layouts.
+ */
+public final class GoalMapping {
+
+    private final int width;
+    private final boolean flipRows;
+    private final boolean flipCols;
+
+    /** custom tile value → canonical tile value (blank stays 0). */
+    private final int[] toCanonicalLabel;
+
+    /** canonical tile value → custom tile value. */
+    private final int[] fromCanonicalLabel;
+
+    private GoalMapping(int width, boolean flipRows, boolean flipCols, int[] toCanonicalLabel) {
+        this.width = width;
+        this.flipRows = flipRows;
+        this.flipCols = flipCols;
+        this.toCanonicalLabel = toCanonicalLabel;
+        this.fromCanonicalLabel = new int[toCanonicalLabel.length];
+        for (int tile = 0; tile < toCanonicalLabel.length; tile++) {
+            fromCanonicalLabel[toCanonicalLabel[tile]] = tile;
+        }
+    }
+
+    /**
+     * @return true if {@code goalTiles} already is the canonical goal (no mapping needed).
+     */
+    public static boolean isCanonical(int[] goalTiles) {
+        return goalTiles != null && new PuzzleState(goalTiles).isGoal();
+    }
+
+    /**
+     * Build the mapping for a structurally valid custom goal.
+     *
+     * @param goalTiles flat row-major goal board (values 0..n-1 each once)
+     * @throws IllegalArgumentException if the goal's blank is not in a corner
+     */
+    public static GoalMapping forGoal(int[] goalTiles) {
+        PuzzleState goal = new PuzzleState(goalTiles);
+        int width = goal.width();
+        int blankRow = goal.indexOfBlank() / width;
+        int blankCol = goal.indexOfBlank() % width;
+        boolean rowCorner = blankRow == 0 || blankRow == width - 1;
+        boolean colCorner = blankCol == 0 || blankCol == width - 1;
+        if (!rowCorner || !colCorner) {
+            throw new IllegalArgumentException("Custom goal must have the blank in a corner.");
+        }
+
+        boolean flipRows = blankRow == 0;
+        boolean flipCols = blankCol == 0;
+        int tileCount = goalTiles.length;
+        int[] label = new int[tileCount];
+        for (int index = 0; index < tileCount; index++) {
+            int mappedIndex = mapIndex(index, width, flipRows, flipCols);
+            // The canonical goal holds (mappedIndex + 1) at mappedIndex, except the last cell (blank).
+            label[goalTiles[index]] = (mappedIndex == tileCount - 1) ? 0 : mappedIndex + 1;
+        }
+        return new GoalMapping(width, flipRows, flipCols, label);
+    }
+
+    /** Translate a board in custom coordinates/labels into the canonical frame. */
+    public int[] toCanonical(int[] tiles) {
+        int[] mapped = new int[tiles.length];
+        for (int index = 0; index < tiles.length; index++) {
+            mapped[mapIndex(index, width, flipRows, flipCols)] = toCanonicalLabel[tiles[index]];
+        }
+        return mapped;
+    }
+
+    /** Translate a canonical-frame board back into custom coordinates/labels. */
+    public int[] fromCanonical(int[] canonicalTiles) {
+        int[] mapped = new int[canonicalTiles.length];
+        for (int index = 0; index < canonicalTiles.length; index++) {
+            // Flips are involutions, so the same index map works in both directions.
+            mapped[mapIndex(index, width, flipRows, flipCols)] = fromCanonicalLabel[canonicalTiles[index]];
+        }
+        return mapped;
+    }
+
+    /** Translate a canonical-frame move back into the custom frame. */
+    public Move fromCanonical(Move move) {
+        switch (move) {
+            case UP:
+            case DOWN:
+                return flipRows ? move.opposite() : move;
+            case LEFT:
+            case RIGHT:
+                return flipCols ? move.opposite() : move;
+            default:
+                throw new IllegalStateException("Unexpected move: " + move);
+        }
+    }
+
+    /** Translate a canonical-frame move list back into the custom frame. */
+    public List<Move> movesFromCanonical(List<Move> moves) {
+        if (moves == null) return null;
+        List<Move> mapped = new ArrayList<>(moves.size());
+        for (Move move : moves) {
+            mapped.add(fromCanonical(move));
+        }
+        return mapped;
+    }
+
+    /** Translate canonical-frame path states back into the custom frame. */
+    public List<int[]> statesFromCanonical(List<int[]> states) {
+        if (states == null) return null;
+        List<int[]> mapped = new ArrayList<>(states.size());
+        for (int[] state : states) {
+            mapped.add(fromCanonical(state));
+        }
+        return mapped;
+    }
+
+    private static int mapIndex(int index, int width, boolean flipRows, boolean flipCols) {
+        int row = index / width;
+        int col = index % width;
+        if (flipRows) row = width - 1 - row;
+        if (flipCols) col = width - 1 - col;
+        return row * width + col;
+    }
+
+    @Override
+    public String toString() {
+        return "GoalMapping{" +
+                "flipRows=" + flipRows +
+                ", flipCols=" + flipCols +
+                ", toCanonicalLabel=" + Arrays.toString(toCanonicalLabel) +
+                '}';
+    }
+}
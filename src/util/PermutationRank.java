@@ -0,0 +1,75 @@
+package util;
+
+/**
+ * Perfect, dense ranking of board permutations (Lehmer code), used to index flat lookup tables.
+ *
+ * Conventions:
+ *  - A board of n cells is treated as a permutation of 0..n-1 (0 = blank).
+ *  - rank() maps it to 0..n!-1; unrank() is the inverse. Ranks are dense, so a table of n! entries
+ *    needs no hashing (3×3: 362,880 entries).
+ *  - O(n²) per call with tiny constants; for n = 9 that is a fixed ~36 comparisons.
+ */
+public final class PermutationRank {
+
+    private PermutationRank() { /* no instances */ }
+
+    /** Largest n whose n! fits in a long. */
+    public static final int MAX_LENGTH = 20;
+
+    private static final long[] FACTORIALS = new long[MAX_LENGTH + 1];
+    static {
+        FACTORIALS[0] = 1L;
+        for (int i = 1; i <= MAX_LENGTH; i++) {
+            FACTORIALS[i] = FACTORIALS[i - 1] * i;
+        }
+    }
+
+    /** @return n! for 0 <= n <= {@value #MAX_LENGTH}. */
+    public static long factorial(int n) {
+        return FACTORIALS[n];
+    }
+
+    /**
+     * @param permutation values 0..n-1 each once (not checked)
+     * @return dense rank in 0..n!-1
+     */
+    public static long rank(int[] permutation) {
+        int n = permutation.length;
+        long rank = 0L;
+        for (int i = 0; i < n - 1; i++) {
+            int value = permutation[i];
+            int smallerToTheRight = 0;
+            for (int j = i + 1; j < n; j++) {
+                if (permutation[j] < value) smallerToTheRight++;
+            }
+            rank += smallerToTheRight * FACTORIALS[n - 1 - i];
+        }
+        return rank;
+    }
+
+    /**
+     * Inverse of {@link #rank(int[])}.
+     *
+     * @param rank dense rank in 0..n!-1
+     * @param n permutation length
+     * @return new permutation array
+     */
+    public static int[] unrank(long rank, int n) {
+        int[] permutation = new int[n];
+        boolean[] used = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            long block = FACTORIALS[n - 1 - i];
+            int skip = (int) (rank / block);
+            rank %= block;
+            for (int value = 0; value < n; value++) {
+                if (used[value]) continue;
+                if (skip-- == 0) {
+                    permutation[i] = value;
+                    used[value] = true;
+                    break;
+                }
+            }
+        }
+        return permutation;
+    }
+}
@@ -14,6 +14,9 @@ import model.PuzzleState;
  *  - Use {@link #toKey(PuzzleState)} or {@link #toKey(int[])} for visited/closed-set keys.
  *  - Use {@link #fromKey(String)} to reconstruct a flat int[9] from a key.
  *  - Use {@link #pretty(int[])} to print a human-readable 3×3 layout for logs/debugging.
+ *  - Use {@link #pack(int[])} / {@link #unpack(long, int)} for a 64-bit key (4 bits per tile, boards up to 16 tiles)
+ *    where a String key would be too heavy (binary exports, hash indexes); {@link #unpack(long, int[])} decodes
+ *    into a reused array on hot paths, and {@link #mix(long)} before masking a packed key into a hash table or range.
  */
 public final class StateCodec {
 
@@ -95,4 +98,62 @@ public final class StateCodec {
         }
         return sb.toString();
     }
+
+    /** Largest board (in tiles) that fits in a packed 64-bit key at 4 bits per tile. */
+    public static final int MAX_PACKED_TILES = 16;
+
+    /**
+     * Pack a flat board into a 64-bit key, 4 bits per tile, index 0 in the lowest nibble.
+     * @param tiles flat row-major array with at most 16 entries, values 0..15
+     * @return packed key (the board length is not encoded; callers keep it alongside)
+     */
+    public static long pack(int[] tiles) {
+        if (tiles == null) throw new IllegalArgumentException("tiles cannot be null.");
+        if (tiles.length > MAX_PACKED_TILES) {
+            throw new IllegalArgumentException("Cannot pack " + tiles.length + " tiles (max " + MAX_PACKED_TILES + ").");
+        }
+        long packed = 0L;
+        for (int i = 0; i < tiles.length; i++) {
+            packed |= ((long) (tiles[i] & 0xF)) << (4 * i);
+        }
+        return packed;
+    }
+
+    /**
+     * Inverse of {@link #pack(int[])}.
+     * @param packed key produced by {@link #pack(int[])}
+     * @param length number of tiles on the board (e.g., 9 for 3×3, 16 for 4×4)
+     * @return new flat row-major array
+     */
+    public static int[] unpack(long packed, int length) {
+        if (length < 0 || length > MAX_PACKED_TILES) {
+            throw new IllegalArgumentException("Cannot unpack " + length + " tiles (max " + MAX_PACKED_TILES + ").");
+        }
+        int[] tiles = new int[length];
+        unpack(packed, tiles);
+        return tiles;
+    }
+
+    /**
+     * Same as {@link #unpack(long, int)}, but decodes into {@code tiles} (its length is the tile count), so
+     * per-state loops need no allocation.
+     */
+    public static void unpack(long packed, int[] tiles) {
+        if (tiles.length > MAX_PACKED_TILES) {
+            throw new IllegalArgumentException("Cannot unpack " + tiles.length + " tiles (max " + MAX_PACKED_TILES + ").");
+        }
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = (int) ((packed >>> (4 * i)) & 0xF);
+        }
+    }
+
+    /**
+     * SplitMix64 finalizer: packed boards differ in few bits, so they need mixing before masking
+     * (hash-table slots) or splitting into ranges (cluster shards).
+     */
+    public static long mix(long packed) {
+        packed = (packed ^ (packed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        packed = (packed ^ (packed >>> 27)) * 0x94D049BB133111EBL;
+        return packed ^ (packed >>> 31);
+    }
 }